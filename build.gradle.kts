@@ -6,6 +6,7 @@ plugins {
 
     // `maven-publish`
     id("me.modmuss50.mod-publish-plugin")
+    id("me.champeau.jmh")
 }
 
 fun loadDotEnv(file: File): Map<String, String> {
@@ -129,6 +130,18 @@ loom {
     }
 }
 
+// Microbenchmarks live in src/jmh and run without Minecraft via `gradlew jmh`.
+// Narrow a run with -PjmhIncludes=<regex>, e.g. -PjmhIncludes=StageBenchmark.
+jmh {
+    jmhVersion = "1.37"
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    profilers.add("gc")
+    resultFormat = "JSON"
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
 java {
     toolchain {
         languageVersion.set(JavaLanguageVersion.of(requiredJava.majorVersion.toInt()))
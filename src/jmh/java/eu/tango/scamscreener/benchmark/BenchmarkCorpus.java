@@ -0,0 +1,126 @@
+package eu.tango.scamscreener.benchmark;
+
+import eu.tango.scamscreener.chat.ChatLineClassifier;
+import eu.tango.scamscreener.pipeline.data.ChatEvent;
+import eu.tango.scamscreener.pipeline.data.ChatSourceType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Checked-in benign and scam chat lines shared by all benchmarks.
+ */
+final class BenchmarkCorpus {
+    private static final String RESOURCE = "/benchmark/chat-corpus.txt";
+    private static final long BASE_TIMESTAMP_MS = 1_700_000_000_000L;
+    private static final long LINE_SPACING_MS = 1_500L;
+
+    private BenchmarkCorpus() {
+    }
+
+    /**
+     * Returns the visible chat lines of one corpus selection.
+     *
+     * @param selection {@code benign}, {@code scam} or {@code mixed}
+     * @return the raw lines in file order
+     */
+    static List<String> rawLines(String selection) {
+        String safeSelection = selection == null ? "mixed" : selection.trim().toLowerCase(Locale.ROOT);
+        List<String> lines = new ArrayList<>();
+        String section = "";
+        for (String line : readResource()) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            if (trimmed.equals("[benign]") || trimmed.equals("[scam]")) {
+                section = trimmed.substring(1, trimmed.length() - 1);
+                continue;
+            }
+            if (safeSelection.equals("mixed") || safeSelection.equals(section)) {
+                lines.add(trimmed);
+            }
+        }
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("Unknown or empty corpus selection: " + selection);
+        }
+
+        return List.copyOf(lines);
+    }
+
+    /**
+     * Returns the parsed player lines of one corpus selection, parsed like the live listener does.
+     *
+     * @param selection {@code benign}, {@code scam} or {@code mixed}
+     * @return sender and message of every player line, in file order
+     */
+    static List<PlayerLine> playerLines(String selection) {
+        List<PlayerLine> playerLines = new ArrayList<>();
+        for (String line : rawLines(selection)) {
+            ChatLineClassifier.Analysis analysis = ChatLineClassifier.analyze(line);
+            if (analysis.type() == ChatLineClassifier.ChatLineType.PLAYER) {
+                ChatLineClassifier.ParsedPlayerLine parsed = analysis.parsedPlayerLine();
+                playerLines.add(new PlayerLine(parsed.senderName(), parsed.message()));
+            }
+        }
+
+        return List.copyOf(playerLines);
+    }
+
+    private static List<String> readResource() {
+        InputStream stream = BenchmarkCorpus.class.getResourceAsStream(RESOURCE);
+        if (stream == null) {
+            throw new IllegalStateException("Missing benchmark corpus " + RESOURCE);
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Sender and message of one player line.
+     *
+     * @param senderName the parsed sender name
+     * @param message the parsed message text
+     */
+    record PlayerLine(String senderName, String message) {
+    }
+
+    /**
+     * Turns player lines into new chat events with timestamps that only ever increase.
+     *
+     * <p>Every call hands out fresh events, so no memo computed on an earlier event is reused,
+     * and the clock keeps running across calls, so stateful stores never see two lines recorded
+     * at the same instant.
+     */
+    static final class EventClock {
+        private long nextTimestampMs = BASE_TIMESTAMP_MS;
+
+        /**
+         * Creates one new event per line, spaced like lines arriving in a busy lobby.
+         *
+         * @param playerLines the lines to turn into events
+         * @return new player events, in line order
+         */
+        List<ChatEvent> events(List<PlayerLine> playerLines) {
+            ChatEvent[] events = new ChatEvent[playerLines.size()];
+            for (int index = 0; index < events.length; index++) {
+                PlayerLine playerLine = playerLines.get(index);
+                events[index] = new ChatEvent(playerLine.message(), null, playerLine.senderName(), nextTimestampMs, ChatSourceType.PLAYER);
+                nextTimestampMs += LINE_SPACING_MS;
+            }
+
+            return List.of(events);
+        }
+    }
+}
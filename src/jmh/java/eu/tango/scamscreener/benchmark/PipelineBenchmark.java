@@ -0,0 +1,100 @@
+package eu.tango.scamscreener.benchmark;
+
+import eu.tango.scamscreener.chat.RecentChatCache;
+import eu.tango.scamscreener.config.data.RulesConfig;
+import eu.tango.scamscreener.lists.Blacklist;
+import eu.tango.scamscreener.lists.Whitelist;
+import eu.tango.scamscreener.pipeline.core.PipelineEngine;
+import eu.tango.scamscreener.pipeline.core.ScamScreenerPipelineFactory;
+import eu.tango.scamscreener.pipeline.data.ChatEvent;
+import eu.tango.scamscreener.pipeline.data.PipelineDecision;
+import eu.tango.scamscreener.pipeline.state.BehaviorStore;
+import eu.tango.scamscreener.pipeline.state.FunnelStore;
+import eu.tango.scamscreener.pipeline.state.TrendStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full default pipeline over one pass of the benchmark corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PipelineBenchmark {
+    @Param({"benign", "scam", "mixed"})
+    public String corpus;
+
+    private List<BenchmarkCorpus.PlayerLine> playerLines;
+    private BenchmarkCorpus.EventClock clock;
+    private List<ChatEvent> events;
+    private RecentChatCache recentChatCache;
+    private PipelineEngine engine;
+
+    @Setup(Level.Trial)
+    public void loadCorpus() {
+        playerLines = BenchmarkCorpus.playerLines(corpus);
+        clock = new BenchmarkCorpus.EventClock();
+    }
+
+    /**
+     * Starts every iteration from empty stores, so behavior, trend and funnel state
+     * grow along the same path in every iteration and fork.
+     */
+    @Setup(Level.Iteration)
+    public void resetPipeline() {
+        recentChatCache = new RecentChatCache();
+        engine = ScamScreenerPipelineFactory.createDefaultEngine(
+            new Whitelist(),
+            new Blacklist(),
+            new RulesConfig(),
+            new BehaviorStore(),
+            new TrendStore(),
+            new FunnelStore(),
+            recentChatCache
+        );
+    }
+
+    /**
+     * Hands every invocation new events whose timestamps continue after the previous ones,
+     * so no memo carries over and the stores never record the same instant twice. One pass
+     * over the corpus takes well over the timing overhead of a per-invocation setup.
+     */
+    @Setup(Level.Invocation)
+    public void nextEvents() {
+        events = clock.events(playerLines);
+    }
+
+    /**
+     * Mirrors the live listener: records each line in the recent chat cache, then evaluates it.
+     *
+     * @param blackhole sink for the produced decisions
+     */
+    @Benchmark
+    public void evaluate(Blackhole blackhole) {
+        for (ChatEvent event : events) {
+            recentChatCache.record(event);
+            blackhole.consume(engine.evaluate(event));
+        }
+    }
+
+    /**
+     * Evaluates the corpus through the batch API.
+     *
+     * @return the produced decisions
+     */
+    @Benchmark
+    public List<PipelineDecision> evaluateAll() {
+        return engine.evaluateAll(events);
+    }
+}
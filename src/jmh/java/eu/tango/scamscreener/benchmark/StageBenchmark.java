@@ -0,0 +1,97 @@
+package eu.tango.scamscreener.benchmark;
+
+import eu.tango.scamscreener.chat.RecentChatCache;
+import eu.tango.scamscreener.config.data.RulesConfig;
+import eu.tango.scamscreener.lists.Blacklist;
+import eu.tango.scamscreener.lists.Whitelist;
+import eu.tango.scamscreener.pipeline.core.ScamScreenerPipelineFactory;
+import eu.tango.scamscreener.pipeline.core.Stage;
+import eu.tango.scamscreener.pipeline.data.ChatEvent;
+import eu.tango.scamscreener.pipeline.state.BehaviorStore;
+import eu.tango.scamscreener.pipeline.state.FunnelStore;
+import eu.tango.scamscreener.pipeline.state.TrendStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures each core stage in isolation over one pass of the benchmark corpus.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StageBenchmark {
+    @Param({"MuteStage", "PlayerListStage", "RuleStage", "LevenshteinStage", "BehaviorStage", "TrendStage", "FunnelStage", "ContextStage"})
+    public String stageName;
+
+    @Param({"benign", "scam"})
+    public String corpus;
+
+    private List<BenchmarkCorpus.PlayerLine> playerLines;
+    private BenchmarkCorpus.EventClock clock;
+    private List<ChatEvent> events;
+    private Stage stage;
+
+    @Setup(Level.Trial)
+    public void loadCorpus() {
+        playerLines = BenchmarkCorpus.playerLines(corpus);
+        clock = new BenchmarkCorpus.EventClock();
+    }
+
+    /**
+     * Rebuilds the stages for every iteration, so stateful stages start from the same stores each time.
+     */
+    @Setup(Level.Iteration)
+    public void resetStage() {
+        RecentChatCache recentChatCache = new RecentChatCache();
+        // Give the context stage the same sender history it would see after the corpus was received once.
+        for (ChatEvent event : clock.events(playerLines)) {
+            recentChatCache.record(event);
+        }
+
+        List<Stage> stages = ScamScreenerPipelineFactory.createDefaultStages(
+            new Whitelist(),
+            new Blacklist(),
+            new RulesConfig(),
+            new BehaviorStore(),
+            new TrendStore(),
+            new FunnelStore(),
+            recentChatCache
+        );
+        stage = stages.stream()
+            .filter(candidate -> candidate.name().equals(stageName))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException("Unknown stage " + stageName));
+    }
+
+    /**
+     * Hands every invocation new events whose timestamps continue after the previous ones,
+     * so no memo carries over and stateful stages never record the same instant twice.
+     */
+    @Setup(Level.Invocation)
+    public void nextEvents() {
+        events = clock.events(playerLines);
+    }
+
+    /**
+     * Applies the selected stage to every corpus line.
+     *
+     * @param blackhole sink for the produced stage results
+     */
+    @Benchmark
+    public void apply(Blackhole blackhole) {
+        for (ChatEvent event : events) {
+            blackhole.consume(stage.apply(event));
+        }
+    }
+}
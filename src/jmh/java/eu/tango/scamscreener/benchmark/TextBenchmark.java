@@ -0,0 +1,86 @@
+package eu.tango.scamscreener.benchmark;
+
+import eu.tango.scamscreener.chat.ChatLineClassifier;
+import eu.tango.scamscreener.chat.TextNormalization;
+import eu.tango.scamscreener.config.data.RulesConfig;
+import eu.tango.scamscreener.pipeline.data.ChatEvent;
+import eu.tango.scamscreener.pipeline.rule.Rule;
+import eu.tango.scamscreener.pipeline.rule.RuleCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the text helpers that run before and inside the stages.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TextBenchmark {
+    @Param({"benign", "scam"})
+    public String corpus;
+
+    private List<String> rawLines;
+    private List<String> messages;
+    private List<String> normalizedMessages;
+    private Rule trust;
+    private Rule urgency;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rawLines = BenchmarkCorpus.rawLines(corpus);
+        List<ChatEvent> events = new BenchmarkCorpus.EventClock().events(BenchmarkCorpus.playerLines(corpus));
+        messages = events.stream().map(ChatEvent::getRawMessage).toList();
+        normalizedMessages = events.stream().map(ChatEvent::getNormalizedMessage).toList();
+        RuleCatalog rules = new RuleCatalog(new RulesConfig());
+        trust = rules.trust();
+        urgency = rules.urgency();
+    }
+
+    /**
+     * Classifies every visible corpus line.
+     *
+     * @param blackhole sink for the analyses
+     */
+    @Benchmark
+    public void classifyLine(Blackhole blackhole) {
+        for (String rawLine : rawLines) {
+            blackhole.consume(ChatLineClassifier.analyze(rawLine));
+        }
+    }
+
+    /**
+     * Normalizes every parsed player message for similarity matching.
+     *
+     * @param blackhole sink for the normalized text
+     */
+    @Benchmark
+    public void normalizeForSimilarity(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(TextNormalization.normalizeForSimilarity(message));
+        }
+    }
+
+    /**
+     * Runs the trust and urgency keyword plus phrase scoring on every normalized message.
+     *
+     * @param blackhole sink for the phrase scores
+     */
+    @Benchmark
+    public void phraseMatch(Blackhole blackhole) {
+        for (String normalizedMessage : normalizedMessages) {
+            blackhole.consume(trust.phraseMatch(normalizedMessage));
+            blackhole.consume(urgency.phraseMatch(normalizedMessage));
+        }
+    }
+}
@@ -32,6 +32,7 @@ public class ScamScreenerMod implements ClientModInitializer {
         ChatPipelineListener.initialize();
         DisabledJoinNotifier.initialize();
         UpdateJoinNotifier.initialize();
+        WarmStateHandler.initialize();
     }
 
     public static Identifier id(String namespace, String path) {
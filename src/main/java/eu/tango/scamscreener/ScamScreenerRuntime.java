@@ -16,6 +16,7 @@ import eu.tango.scamscreener.config.migration.LegacyV1ConfigMigration;
 import eu.tango.scamscreener.config.store.ReviewConfigStore;
 import eu.tango.scamscreener.config.store.RulesConfigStore;
 import eu.tango.scamscreener.config.store.RuntimeConfigStore;
+import eu.tango.scamscreener.config.store.WarmStateStore;
 import eu.tango.scamscreener.config.store.WhitelistConfigStore;
 import eu.tango.scamscreener.pipeline.core.PipelineEngine;
 import eu.tango.scamscreener.pipeline.core.ScamScreenerPipelineFactory;
@@ -32,6 +33,7 @@ import net.fabricmc.loader.api.FabricLoader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Central runtime container for shared ScamScreener services.
@@ -47,6 +49,7 @@ public final class ScamScreenerRuntime {
     private final RuntimeConfigStore runtimeConfigStore;
     private final RulesConfigStore rulesConfigStore;
     private final ReviewConfigStore reviewConfigStore;
+    private final WarmStateStore warmStateStore;
     @Getter
     @Accessors(fluent = true)
     private final Whitelist whitelist;
@@ -88,6 +91,7 @@ public final class ScamScreenerRuntime {
         runtimeConfigStore = new RuntimeConfigStore();
         rulesConfigStore = new RulesConfigStore();
         reviewConfigStore = new ReviewConfigStore();
+        warmStateStore = new WarmStateStore();
         runtimeConfig = runtimeConfigStore.loadOrCreate();
         rulesConfig = rulesConfigStore.loadOrCreate();
         whitelist = new Whitelist(this::saveWhitelist);
@@ -98,6 +102,7 @@ public final class ScamScreenerRuntime {
         trendStore = new TrendStore();
         funnelStore = new FunnelStore();
         recentChatCache = new RecentChatCache();
+        applyChatCacheSettings();
         mutePatternManager = new MutePatternManager();
         trainingCaseExportService = new TrainingCaseExportService();
         stageContributions = loadStageContributions();
@@ -106,6 +111,9 @@ public final class ScamScreenerRuntime {
         whitelistConfigStore.loadInto(whitelist);
         blacklistConfigStore.loadInto(blacklist);
         reviewConfigStore.loadInto(reviewStore);
+        if (runtimeConfig.pipeline().isPersistWarmState()) {
+            warmStateStore.loadInto(warmStateStores(), System.currentTimeMillis());
+        }
         pipelineEngine = ScamScreenerPipelineFactory.createDefaultEngine(
             whitelist,
             blacklist,
@@ -115,6 +123,8 @@ public final class ScamScreenerRuntime {
             funnelStore,
             recentChatCache,
             runtimeConfig.pipeline().reviewThreshold(),
+            runtimeConfig.pipeline().isParallelStages(),
+            runtimeConfig.pipeline().isFastDecisions(),
             stageContributions
         );
     }
@@ -187,6 +197,7 @@ public final class ScamScreenerRuntime {
         reviewConfigStore.reload();
         reviewConfigStore.loadInto(reviewStore);
         reviewStore.setMaxEntries(runtimeConfig.review().maxEntries());
+        applyChatCacheSettings();
         mutePatternManager.reloadFromConfig(runtimeConfig);
 
         rebuildPipelineEngine();
@@ -198,9 +209,26 @@ public final class ScamScreenerRuntime {
     public synchronized void saveConfig() {
         runtimeConfigStore.saveAsync(runtimeConfig);
         reviewStore.setMaxEntries(runtimeConfig.review().maxEntries());
+        applyChatCacheSettings();
+        if (!runtimeConfig.pipeline().isPersistWarmState()) {
+            warmStateStore.deleteAsync();
+        }
         rebuildPipelineEngine();
     }
 
+    /**
+     * Writes the detection warm state in the background when persistence is enabled.
+     *
+     * @return a future completed once the snapshot is on disk, or at once when persistence is off
+     */
+    public synchronized CompletableFuture<Void> saveWarmState() {
+        if (!runtimeConfig.pipeline().isPersistWarmState()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        return warmStateStore.saveAsync(warmStateStores(), System.currentTimeMillis());
+    }
+
     /**
      * Saves the current in-memory rules config and reapplies the pipeline.
      */
@@ -233,14 +261,33 @@ public final class ScamScreenerRuntime {
         reviewConfigStore.saveFromAsync(reviewStore);
     }
 
+    private WarmStateStore.Stores warmStateStores() {
+        return new WarmStateStore.Stores(behaviorStore, trendStore, funnelStore, recentChatCache);
+    }
+
+    private void applyChatCacheSettings() {
+        RuntimeConfig.ChatCacheSettings chatCache = runtimeConfig.chatCache();
+        recentChatCache.configure(
+            chatCache.maxEntries(),
+            chatCache.retentionMs(),
+            chatCache.maxEntriesPerSender(),
+            chatCache.maxMemoryBytes()
+        );
+    }
+
     private void applyRuleStoreSettings() {
         RuleCatalog ruleCatalog = new RuleCatalog(rulesConfig);
         behaviorStore.configure(ruleCatalog.behavior().windowMs(), ruleCatalog.behavior().maxHistory());
-        trendStore.configure(ruleCatalog.trend().windowMs(), ruleCatalog.trend().maxHistory());
+        trendStore.configure(
+            ruleCatalog.trend().windowMs(),
+            ruleCatalog.trend().maxHistory(),
+            ruleCatalog.trend().nearDuplicateSimilarityPercent()
+        );
         funnelStore.configure(ruleCatalog.funnel().windowMs(), ruleCatalog.funnel().maxHistory());
     }
 
     private void rebuildPipelineEngine() {
+        PipelineEngine previousEngine = pipelineEngine;
         pipelineEngine = ScamScreenerPipelineFactory.createDefaultEngine(
             whitelist,
             blacklist,
@@ -250,8 +297,14 @@ public final class ScamScreenerRuntime {
             funnelStore,
             recentChatCache,
             runtimeConfig.pipeline().reviewThreshold(),
+            runtimeConfig.pipeline().isParallelStages(),
+            runtimeConfig.pipeline().isFastDecisions(),
             stageContributions
         );
+        if (previousEngine != null) {
+            // Releases the old stages' registrations, such as context signal windows on the shared chat cache.
+            previousEngine.close();
+        }
     }
 
     private static List<StageContribution> loadStageContributions() {
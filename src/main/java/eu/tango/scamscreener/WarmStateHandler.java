@@ -0,0 +1,54 @@
+package eu.tango.scamscreener;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+
+import java.util.concurrent.CompletionException;
+
+/**
+ * Writes the detection warm state periodically and once more when the client stops.
+ */
+public final class WarmStateHandler {
+    private static final long SAVE_INTERVAL_MS = 60_000L;
+    private static boolean initialized;
+    private static long nextSaveMs;
+
+    private WarmStateHandler() {
+    }
+
+    /**
+     * Registers the warm-state save hooks once.
+     */
+    public static void initialize() {
+        if (initialized) {
+            return;
+        }
+
+        initialized = true;
+        nextSaveMs = System.currentTimeMillis() + SAVE_INTERVAL_MS;
+        ClientTickEvents.END_CLIENT_TICK.register(client -> savePeriodically());
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> saveBeforeShutdown());
+    }
+
+    private static void savePeriodically() {
+        long nowMs = System.currentTimeMillis();
+        if (nowMs < nextSaveMs) {
+            return;
+        }
+
+        nextSaveMs = nowMs + SAVE_INTERVAL_MS;
+        ScamScreenerRuntime.getInstance().saveWarmState().exceptionally(throwable -> {
+            ScamScreenerMod.LOGGER.warn("Failed to write detection warm state.", throwable);
+            return null;
+        });
+    }
+
+    private static void saveBeforeShutdown() {
+        try {
+            // The file worker is a daemon thread, so wait for the last snapshot before the JVM exits.
+            ScamScreenerRuntime.getInstance().saveWarmState().join();
+        } catch (CompletionException | IllegalStateException exception) {
+            ScamScreenerMod.LOGGER.warn("Failed to write detection warm state on shutdown.", exception);
+        }
+    }
+}
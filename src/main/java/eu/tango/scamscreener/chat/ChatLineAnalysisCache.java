@@ -0,0 +1,96 @@
+package eu.tango.scamscreener.chat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of {@link ChatLineClassifier} results keyed by the raw line text.
+ *
+ * <p>Servers repeat the same system and broadcast lines many times per session, so those
+ * lines skip classification after their first sighting. Analyses are immutable and only
+ * depend on the line text, which makes sharing one result between repeats safe.
+ */
+public final class ChatLineAnalysisCache {
+    public static final int DEFAULT_MAX_ENTRIES = 512;
+    // Long lines are rarely repeated verbatim and would dominate the cache footprint.
+    static final int MAX_CACHED_LINE_LENGTH = 256;
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, ChatLineClassifier.Analysis> entries;
+    private long hits;
+    private long misses;
+
+    public ChatLineAnalysisCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public ChatLineAnalysisCache(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new LinkedHashMap<>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ChatLineClassifier.Analysis> eldest) {
+                return size() > ChatLineAnalysisCache.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the analysis of one raw line, classifying it only when it is not cached.
+     *
+     * @param rawLine the visible line text
+     * @return the line analysis
+     */
+    public synchronized ChatLineClassifier.Analysis analyze(String rawLine) {
+        String key = rawLine == null ? "" : rawLine;
+        ChatLineClassifier.Analysis cached = entries.get(key);
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+
+        misses++;
+        ChatLineClassifier.Analysis analysis = ChatLineClassifier.analyze(key);
+        if (key.length() <= MAX_CACHED_LINE_LENGTH) {
+            entries.put(key, analysis);
+        }
+        return analysis;
+    }
+
+    /**
+     * Drops all cached analyses and resets the counters.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        hits = 0L;
+        misses = 0L;
+    }
+
+    /**
+     * Returns the current size and hit counters.
+     *
+     * @return cache statistics
+     */
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), maxEntries, hits, misses);
+    }
+
+    /**
+     * Size and hit counters of the analysis cache.
+     *
+     * @param entryCount the cached line count
+     * @param maxEntries the configured capacity
+     * @param hits lookups answered from the cache
+     * @param misses lookups that ran the classifier
+     */
+    public record Stats(int entryCount, int maxEntries, long hits, long misses) {
+        /**
+         * Returns the share of lookups answered from the cache.
+         *
+         * @return the hit rate between {@code 0} and {@code 1}
+         */
+        public double hitRate() {
+            long lookups = hits + misses;
+            return lookups == 0L ? 0.0D : (double) hits / lookups;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package eu.tango.scamscreener.chat;
 
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
@@ -26,6 +27,12 @@ public final class ChatLineClassifier {
         "[skyhanni]",
         "Profile"
     );
+    private static final Set<String> CHANNEL_PREFIXES = Set.of(
+        "From:",
+        "Guild >",
+        "Party >"
+    );
+    private static final PrefixTrie LINE_PREFIXES = PrefixTrie.compile(SYSTEM_PREFIXES, CHANNEL_PREFIXES);
 
     private ChatLineClassifier() {
     }
@@ -99,6 +106,10 @@ public final class ChatLineClassifier {
     /**
      * Performs one single-pass analysis of a visible line for the hot GAME callback path.
      *
+     * <p>Known line prefixes are matched through a compiled trie, then the sender section is
+     * tokenized while scanning for its separator, so the line is read left to right once and
+     * only the returned strings are allocated.
+     *
      * @param rawLine the visible raw line
      * @return the combined analysis result
      */
@@ -111,105 +122,146 @@ public final class ChatLineClassifier {
         if (cleaned.isBlank()) {
             return Analysis.unknown("");
         }
-        if (isSystemPrefix(cleaned)) {
+
+        long prefix = LINE_PREFIXES.match(cleaned);
+        if (PrefixTrie.kind(prefix) == PrefixTrie.SYSTEM) {
             return Analysis.system(cleaned);
         }
-
-        ParsedPlayerLine parsedPlayerLine = null;
-        if (mayBePlayerMessage(cleaned)) {
-            parsedPlayerLine = parseCleanedPlayerMessage(cleaned).orElse(null);
-            if (parsedPlayerLine != null) {
-                return Analysis.player(cleaned, parsedPlayerLine);
-            }
+        if (PrefixTrie.kind(prefix) == PrefixTrie.CHANNEL) {
+            return playerOrIgnored(cleaned, skipTrimmed(cleaned, PrefixTrie.length(prefix)));
         }
 
-        if (looksLikeIgnoredFormat(cleaned)) {
-            return Analysis.ignored(cleaned);
+        if (cleaned.charAt(0) == '[') {
+            // The first bracket decides between a public "[level]" prefix and any other tag.
+            int closingBracketIndex = 1;
+            boolean levelDigits = true;
+            while (closingBracketIndex < cleaned.length() && cleaned.charAt(closingBracketIndex) != ']') {
+                levelDigits &= Character.isDigit(cleaned.charAt(closingBracketIndex));
+                closingBracketIndex++;
+            }
+            if (closingBracketIndex > 1 && closingBracketIndex < cleaned.length()) {
+                if (levelDigits) {
+                    return playerOrIgnored(cleaned, 0);
+                }
+                return cleaned.indexOf(':') >= 0 ? Analysis.ignored(cleaned) : Analysis.system(cleaned);
+            }
         }
 
-        return looksLikeSystemMessage(cleaned)
-            ? Analysis.system(cleaned)
-            : Analysis.unknown(cleaned);
+        return classifySpeakerLine(cleaned);
     }
 
-    private static Optional<ParsedPlayerLine> parseCleanedPlayerMessage(String cleaned) {
-        Optional<ParsedPlayerLine> directMessage = parsePrefixedPlayerMessage(cleaned, "From:");
-        if (directMessage.isPresent()) {
-            return directMessage;
-        }
-
-        Optional<ParsedPlayerLine> guildMessage = parsePrefixedPlayerMessage(cleaned, "Guild >");
-        if (guildMessage.isPresent()) {
-            return guildMessage;
-        }
-
-        Optional<ParsedPlayerLine> partyMessage = parsePrefixedPlayerMessage(cleaned, "Party >");
-        if (partyMessage.isPresent()) {
-            return partyMessage;
-        }
-
-        if (!hasPublicLevelPrefix(cleaned)) {
-            return Optional.empty();
-        }
-
-        return parseSenderAndMessage(cleaned);
+    private static Analysis playerOrIgnored(String cleaned, int bodyStart) {
+        ParsedPlayerLine parsedPlayerLine = parseSenderAndMessage(cleaned, bodyStart);
+        return parsedPlayerLine == null ? Analysis.ignored(cleaned) : Analysis.player(cleaned, parsedPlayerLine);
     }
 
-    private static Optional<ParsedPlayerLine> parsePrefixedPlayerMessage(String rawLine, String prefix) {
-        if (!startsWithIgnoreCase(rawLine, prefix)) {
-            return Optional.empty();
-        }
-
-        String remainder = rawLine.substring(prefix.length()).trim();
-        if (remainder.isBlank()) {
-            return Optional.empty();
+    private static Analysis classifySpeakerLine(String cleaned) {
+        int length = cleaned.length();
+        int words = 0;
+        int visibleWords = 0;
+        boolean inWord = false;
+        boolean speakerHasChannelMarker = false;
+        for (int index = 0; index < length; index++) {
+            char character = cleaned.charAt(index);
+            if (character == ':') {
+                if (index == 0 || index >= length - 1) {
+                    return Analysis.unknown(cleaned);
+                }
+                if (speakerHasChannelMarker) {
+                    return Analysis.ignored(cleaned);
+                }
+                // Words after the last character above U+0020 are dropped by trim() and do not count.
+                return visibleWords > 1 ? Analysis.system(cleaned) : Analysis.unknown(cleaned);
+            }
+            boolean whitespace = Character.isWhitespace(character);
+            if (!whitespace && !inWord) {
+                words++;
+            }
+            inWord = !whitespace;
+            if (character > ' ') {
+                visibleWords = words;
+            }
+            speakerHasChannelMarker |= character == '>';
         }
 
-        return parseSenderAndMessage(remainder);
+        return Analysis.unknown(cleaned);
     }
 
-    private static boolean mayBePlayerMessage(String rawLine) {
-        if (rawLine == null || rawLine.isBlank()) {
-            return false;
+    /**
+     * Parses {@code sender: message} from the body of a line in one pass over the sender section.
+     *
+     * <p>The sender section must end in a valid player name; every token before it must be
+     * rank or emblem metadata, that is a non-empty bracketed tag or a token without name characters.
+     */
+    private static ParsedPlayerLine parseSenderAndMessage(String line, int bodyStart) {
+        int length = line.length();
+        int tokenStart = -1;
+        boolean tokenVisible = false;
+        int candidateStart = -1;
+        int candidateEnd = -1;
+        boolean metadataOnly = true;
+        int visibleEnd = bodyStart;
+        int separatorIndex = -1;
+        for (int index = bodyStart; index < length; index++) {
+            char character = line.charAt(index);
+            if (character == ':') {
+                separatorIndex = index;
+                break;
+            }
+            if (character > ' ') {
+                visibleEnd = index + 1;
+            }
+            if (Character.isWhitespace(character)) {
+                if (tokenStart >= 0 && tokenVisible) {
+                    if (candidateStart >= 0) {
+                        metadataOnly &= isAllowedSenderMetadataToken(line, candidateStart, candidateEnd);
+                    }
+                    candidateStart = tokenStart;
+                    candidateEnd = index;
+                }
+                tokenStart = -1;
+                continue;
+            }
+            if (tokenStart < 0) {
+                tokenStart = index;
+                tokenVisible = false;
+            }
+            tokenVisible |= character > ' ';
         }
-        if (rawLine.indexOf(':') <= 0) {
-            return false;
+        if (separatorIndex <= bodyStart || separatorIndex >= length - 1) {
+            return null;
         }
-
-        return startsWithIgnoreCase(rawLine, "From:")
-            || startsWithIgnoreCase(rawLine, "Guild >")
-            || startsWithIgnoreCase(rawLine, "Party >")
-            || hasPublicLevelPrefix(rawLine);
-    }
-
-    private static Optional<ParsedPlayerLine> parseSenderAndMessage(String rawLine) {
-        int separatorIndex = rawLine.indexOf(':');
-        if (separatorIndex <= 0 || separatorIndex >= rawLine.length() - 1) {
-            return Optional.empty();
+        if (tokenStart >= 0 && tokenVisible) {
+            if (candidateStart >= 0) {
+                metadataOnly &= isAllowedSenderMetadataToken(line, candidateStart, candidateEnd);
+            }
+            candidateStart = tokenStart;
+        }
+        // The name runs to the trimmed end of the section, so trailing wide spaces still invalidate it.
+        if (candidateStart < 0 || !metadataOnly || !isValidPlayerName(line, candidateStart, visibleEnd)) {
+            return null;
         }
 
-        String senderSection = rawLine.substring(0, separatorIndex).trim();
-        String message = rawLine.substring(separatorIndex + 1).trim();
-        String senderName = extractSenderName(senderSection);
-        if (senderName.isBlank() || message.isBlank()) {
-            return Optional.empty();
+        String message = line.substring(separatorIndex + 1).trim();
+        if (message.isBlank()) {
+            return null;
         }
 
-        return Optional.of(new ParsedPlayerLine(senderName, message));
+        return new ParsedPlayerLine(trimmedRegion(line, candidateStart, visibleEnd), message);
     }
 
-    private static boolean hasPublicLevelPrefix(String rawLine) {
-        if (rawLine == null || rawLine.isBlank() || rawLine.charAt(0) != '[') {
-            return false;
-        }
-
-        int closingBracketIndex = rawLine.indexOf(']');
-        if (closingBracketIndex <= 1) {
-            return false;
+    private static boolean isAllowedSenderMetadataToken(String line, int start, int end) {
+        int trimmedStart = skipTrimmed(line, start);
+        int trimmedEnd = trimmedEnd(line, trimmedStart, end);
+        if (trimmedEnd - trimmedStart >= 2 && line.charAt(trimmedStart) == '[' && line.charAt(trimmedEnd - 1) == ']') {
+            int innerStart = skipTrimmed(line, trimmedStart + 1);
+            if (innerStart < trimmedEnd - 1) {
+                return true;
+            }
         }
 
-        for (int index = 1; index < closingBracketIndex; index++) {
-            if (!Character.isDigit(rawLine.charAt(index))) {
+        for (int index = trimmedStart; index < trimmedEnd; index++) {
+            if (isValidPlayerNameCharacter(line.charAt(index))) {
                 return false;
             }
         }
@@ -217,56 +269,20 @@ public final class ChatLineClassifier {
         return true;
     }
 
-    private static String extractSenderName(String senderSection) {
-        if (senderSection == null || senderSection.isBlank()) {
-            return "";
-        }
-
-        String trimmedSection = senderSection.trim();
-        int candidateStart = lastTokenStart(trimmedSection);
-        if (candidateStart < 0 || candidateStart >= trimmedSection.length()) {
-            return "";
-        }
-
-        String candidateName = trimmedSection.substring(candidateStart);
-        if (!isValidPlayerName(candidateName)) {
-            return "";
-        }
-
-        int index = 0;
-        while (index < candidateStart) {
-            while (index < candidateStart && Character.isWhitespace(trimmedSection.charAt(index))) {
-                index++;
-            }
-            if (index >= candidateStart) {
-                break;
-            }
-
-            int tokenEnd = index;
-            while (tokenEnd < candidateStart && !Character.isWhitespace(trimmedSection.charAt(tokenEnd))) {
-                tokenEnd++;
-            }
-            if (!isAllowedSenderMetadataToken(trimmedSection.substring(index, tokenEnd))) {
-                return "";
-            }
-            index = tokenEnd;
-        }
-
-        return candidateName;
+    static boolean isValidPlayerName(String name) {
+        return name != null && isValidPlayerName(name, 0, name.length());
     }
 
-    private static boolean isAllowedSenderMetadataToken(String token) {
-        if (token == null || token.isBlank()) {
+    private static boolean isValidPlayerName(String line, int start, int end) {
+        int trimmedStart = skipTrimmed(line, start);
+        int trimmedEnd = trimmedEnd(line, trimmedStart, end);
+        int length = trimmedEnd - trimmedStart;
+        if (length < MIN_PLAYER_NAME_LENGTH || length > MAX_PLAYER_NAME_LENGTH) {
             return false;
         }
 
-        String trimmed = token.trim();
-        if (isBracketedMetadataToken(trimmed)) {
-            return true;
-        }
-
-        for (int index = 0; index < trimmed.length(); index++) {
-            if (isValidPlayerNameCharacter(trimmed.charAt(index))) {
+        for (int index = trimmedStart; index < trimmedEnd; index++) {
+            if (!isValidPlayerNameCharacter(line.charAt(index))) {
                 return false;
             }
         }
@@ -274,63 +290,24 @@ public final class ChatLineClassifier {
         return true;
     }
 
-    private static boolean isBracketedMetadataToken(String token) {
-        if (token == null || token.length() < 2 || token.charAt(0) != '[' || token.charAt(token.length() - 1) != ']') {
-            return false;
-        }
-
-        String inner = token.substring(1, token.length() - 1).trim();
-        return !inner.isEmpty();
+    private static String trimmedRegion(String line, int start, int end) {
+        int trimmedStart = skipTrimmed(line, start);
+        return line.substring(trimmedStart, trimmedEnd(line, trimmedStart, end));
     }
 
-    private static boolean looksLikeIgnoredFormat(String rawLine) {
-        if (rawLine == null || rawLine.isBlank()) {
-            return false;
-        }
-
-        if (startsWithBracketedTag(rawLine) && !hasPublicLevelPrefix(rawLine) && rawLine.contains(":")) {
-            return true;
-        }
-
-        if (startsWithIgnoreCase(rawLine, "From:")) {
-            return parseSenderAndMessage(rawLine.substring("From:".length()).trim()).isEmpty();
-        }
-        if (startsWithIgnoreCase(rawLine, "Guild >")) {
-            return parseSenderAndMessage(rawLine.substring("Guild >".length()).trim()).isEmpty();
-        }
-        if (startsWithIgnoreCase(rawLine, "Party >")) {
-            return parseSenderAndMessage(rawLine.substring("Party >".length()).trim()).isEmpty();
-        }
-        if (hasPublicLevelPrefix(rawLine)) {
-            return parseSenderAndMessage(rawLine).isEmpty();
-        }
-
-        int separatorIndex = rawLine.indexOf(':');
-        if (separatorIndex <= 0 || separatorIndex >= rawLine.length() - 1) {
-            return false;
+    private static int skipTrimmed(String line, int index) {
+        // Same character set as String.trim().
+        while (index < line.length() && line.charAt(index) <= ' ') {
+            index++;
         }
-
-        String speakerSection = rawLine.substring(0, separatorIndex).trim();
-        return speakerSection.contains(">");
+        return index;
     }
 
-    private static boolean isValidPlayerName(String value) {
-        if (value == null) {
-            return false;
-        }
-
-        String trimmed = value.trim();
-        if (trimmed.length() < MIN_PLAYER_NAME_LENGTH || trimmed.length() > MAX_PLAYER_NAME_LENGTH) {
-            return false;
+    private static int trimmedEnd(String line, int start, int end) {
+        while (end > start && line.charAt(end - 1) <= ' ') {
+            end--;
         }
-
-        for (int index = 0; index < trimmed.length(); index++) {
-            if (!isValidPlayerNameCharacter(trimmed.charAt(index))) {
-                return false;
-            }
-        }
-
-        return true;
+        return end;
     }
 
     private static boolean isValidPlayerNameCharacter(char value) {
@@ -341,44 +318,7 @@ public final class ChatLineClassifier {
     }
 
     private static boolean isSystemPrefix(String rawLine) {
-        String normalized = rawLine.toLowerCase(Locale.ROOT);
-        for (String prefix : SYSTEM_PREFIXES) {
-            if (normalized.startsWith(prefix)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private static boolean looksLikeSystemMessage(String rawLine) {
-        if (rawLine == null || rawLine.isBlank()) {
-            return false;
-        }
-
-        if (startsWithBracketedTag(rawLine) && !hasPublicLevelPrefix(rawLine)) {
-            return true;
-        }
-
-        int separatorIndex = rawLine.indexOf(':');
-        if (separatorIndex <= 0 || separatorIndex >= rawLine.length() - 1) {
-            return false;
-        }
-
-        String speakerSection = rawLine.substring(0, separatorIndex).trim();
-        if (speakerSection.isBlank()) {
-            return false;
-        }
-
-        return speakerWordCount(speakerSection) > 1;
-    }
-
-    private static boolean startsWithBracketedTag(String rawLine) {
-        if (rawLine == null || rawLine.isBlank() || rawLine.charAt(0) != '[') {
-            return false;
-        }
-
-        int closingBracketIndex = rawLine.indexOf(']');
-        return closingBracketIndex > 1;
+        return PrefixTrie.kind(LINE_PREFIXES.match(rawLine)) == PrefixTrie.SYSTEM;
     }
 
     private static int speakerWordCount(String value) {
@@ -403,37 +343,13 @@ public final class ChatLineClassifier {
         return count;
     }
 
-    private static int lastTokenStart(String value) {
-        if (value == null || value.isBlank()) {
-            return -1;
-        }
-
-        int index = value.length() - 1;
-        while (index >= 0 && Character.isWhitespace(value.charAt(index))) {
-            index--;
-        }
-        if (index < 0) {
-            return -1;
-        }
-        while (index >= 0 && !Character.isWhitespace(value.charAt(index))) {
-            index--;
-        }
-
-        return index + 1;
-    }
-
-    private static boolean startsWithIgnoreCase(String value, String prefix) {
-        if (value == null || prefix == null || value.length() < prefix.length()) {
-            return false;
-        }
-
-        return value.regionMatches(true, 0, prefix, 0, prefix.length());
-    }
-
     private static String stripFormatting(String rawLine) {
         if (rawLine == null || rawLine.isEmpty()) {
             return "";
         }
+        if (rawLine.indexOf('\u00A7') < 0) {
+            return rawLine;
+        }
 
         StringBuilder builder = new StringBuilder(rawLine.length());
         for (int index = 0; index < rawLine.length(); index++) {
@@ -449,6 +365,88 @@ public final class ChatLineClassifier {
         return builder.toString();
     }
 
+    /**
+     * Case-insensitive prefix trie over the known line prefixes.
+     *
+     * <p>Lines are matched by lowercasing each character as it is read, so a prefix written with
+     * uppercase letters never matches, exactly like {@code line.toLowerCase().startsWith(prefix)}.
+     */
+    private static final class PrefixTrie {
+        private static final int NONE = 0;
+        private static final int SYSTEM = 1;
+        private static final int CHANNEL = 2;
+        private static final int ALPHABET = 128;
+
+        private int[][] next = new int[1][];
+        private int[] kinds = new int[1];
+        private int size = 1;
+
+        private static PrefixTrie compile(Set<String> systemPrefixes, Set<String> channelPrefixes) {
+            PrefixTrie trie = new PrefixTrie();
+            for (String prefix : systemPrefixes) {
+                trie.add(prefix, SYSTEM);
+            }
+            for (String prefix : channelPrefixes) {
+                // Channel prefixes were always compared ignoring case.
+                trie.add(prefix.toLowerCase(Locale.ROOT), CHANNEL);
+            }
+            return trie;
+        }
+
+        /**
+         * Returns the kind and length of the first prefix the line starts with, packed into one long.
+         */
+        private long match(String line) {
+            int node = 0;
+            int limit = line.length();
+            for (int index = 0; index < limit; index++) {
+                char character = Character.toLowerCase(line.charAt(index));
+                int[] children = next[node];
+                if (character >= ALPHABET || children == null || (node = children[character]) == 0) {
+                    return NONE;
+                }
+                if (kinds[node] != NONE) {
+                    return ((long) kinds[node] << 32) | (index + 1);
+                }
+            }
+            return NONE;
+        }
+
+        private static int kind(long match) {
+            return (int) (match >>> 32);
+        }
+
+        private static int length(long match) {
+            return (int) match;
+        }
+
+        private void add(String prefix, int kind) {
+            int node = 0;
+            for (int index = 0; index < prefix.length(); index++) {
+                char character = prefix.charAt(index);
+                if (character >= ALPHABET) {
+                    throw new IllegalArgumentException("Line prefixes must be ASCII: " + prefix);
+                }
+                if (next[node] == null) {
+                    next[node] = new int[ALPHABET];
+                }
+                if (next[node][character] == 0) {
+                    next[node][character] = newNode();
+                }
+                node = next[node][character];
+            }
+            kinds[node] = kind;
+        }
+
+        private int newNode() {
+            if (size == kinds.length) {
+                next = Arrays.copyOf(next, size * 2);
+                kinds = Arrays.copyOf(kinds, size * 2);
+            }
+            return size++;
+        }
+    }
+
     /**
      * High-level source type for a visible chat line.
      */
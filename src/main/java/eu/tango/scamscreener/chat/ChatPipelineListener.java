@@ -4,10 +4,13 @@ import eu.tango.scamscreener.ScamScreenerMod;
 import eu.tango.scamscreener.ScamScreenerRuntime;
 import eu.tango.scamscreener.api.event.PipelineDecisionEvent;
 import eu.tango.scamscreener.message.MessageDispatcher;
+import eu.tango.scamscreener.pipeline.core.AsyncPipelineExecutor;
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.ChatSourceType;
 import eu.tango.scamscreener.pipeline.data.PipelineDecision;
 import eu.tango.scamscreener.profiler.ScamScreenerProfiler;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.message.v1.ClientReceiveMessageEvents;
 
 import java.time.Instant;
@@ -18,8 +21,12 @@ import java.util.Optional;
  */
 public final class ChatPipelineListener {
     private static final int MAX_CHAT_LENGTH = 32767;
+    private static final AsyncPipelineExecutor ASYNC_PIPELINE = new AsyncPipelineExecutor();
+    private static final long CHAT_CACHE_EXPIRY_INTERVAL_MS = 1_000L;
+    private static final ChatLineAnalysisCache LINE_ANALYSIS_CACHE = new ChatLineAnalysisCache();
 
     private static boolean initialized;
+    private static long nextChatCacheExpiryMs;
     private static ChatEvent lastChatEvent;
     private static PipelineDecision lastPipelineDecision;
 
@@ -56,6 +63,8 @@ public final class ChatPipelineListener {
                     return;
                 }
                 onChatMessage(classifiedEvent);
+            } finally {
+                InboundChatText.release(message);
             }
         });
         ClientReceiveMessageEvents.GAME.register((message, overlay) -> {
@@ -77,9 +86,17 @@ public final class ChatPipelineListener {
                         return;
                     }
                     onChatMessage(classifiedEvent);
+                } finally {
+                    InboundChatText.release(message);
                 }
             }
         });
+        ClientTickEvents.END_CLIENT_TICK.register(client -> {
+            deliverAsyncDecisions();
+            expireRecentChat();
+        });
+        // Later submissions are evaluated on the caller, so nothing is lost after the worker stops.
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> ASYNC_PIPELINE.close());
         ScamScreenerMod.LOGGER.info("ChatPipelineListener is listening for inbound chat messages.");
     }
 
@@ -122,6 +139,15 @@ public final class ChatPipelineListener {
         return Optional.of(lastPipelineDecision);
     }
 
+    /**
+     * Returns size and hit counters of the repeated-line classification cache.
+     *
+     * @return line analysis cache statistics
+     */
+    public static ChatLineAnalysisCache.Stats lineAnalysisCacheStats() {
+        return LINE_ANALYSIS_CACHE.stats();
+    }
+
     /**
      * Handles a single inbound chat event.
      *
@@ -143,17 +169,59 @@ public final class ChatPipelineListener {
             return;
         }
 
+        lastChatEvent = safeEvent;
+        if (shouldEvaluateAsync()) {
+            // Keep submitting while older work is queued so a mode switch never reorders events.
+            lastPipelineDecision = null;
+            ASYNC_PIPELINE.submit(safeEvent, ChatPipelineListener::recordAndEvaluate);
+            return;
+        }
+
+        deliverDecision(safeEvent, recordAndEvaluate(safeEvent));
+    }
+
+    private static boolean shouldEvaluateAsync() {
+        return ScamScreenerRuntime.getInstance().config().pipeline().isAsyncEvaluation() || ASYNC_PIPELINE.hasPending();
+    }
+
+    private static PipelineDecision recordAndEvaluate(ChatEvent chatEvent) {
+        // The cache is recorded right before evaluation, so context lookups never see lines that arrived later.
         try (ScamScreenerProfiler.Scope ignored = ScamScreenerProfiler.getInstance().scope("chat.cache_record", "  Recent Chat Cache")) {
-            ScamScreenerRuntime.getInstance().recentChatCache().record(safeEvent);
+            ScamScreenerRuntime.getInstance().recentChatCache().record(chatEvent);
         }
-        lastChatEvent = safeEvent;
-        PipelineDecision pipelineDecision = ScamScreenerRuntime.getInstance().pipelineEngine().evaluate(safeEvent);
+
+        return ScamScreenerRuntime.getInstance().pipelineEngine().evaluate(chatEvent);
+    }
+
+    private static void deliverAsyncDecisions() {
+        if (ASYNC_PIPELINE.hasPending()) {
+            ASYNC_PIPELINE.drain(ChatPipelineListener::deliverDecision);
+        }
+    }
+
+    private static void expireRecentChat() {
+        // Quiet servers record nothing new, so aged lines are also swept from the tick.
+        long nowMs = System.currentTimeMillis();
+        if (nowMs < nextChatCacheExpiryMs) {
+            return;
+        }
+
+        nextChatCacheExpiryMs = nowMs + CHAT_CACHE_EXPIRY_INTERVAL_MS;
+        ScamScreenerRuntime.getInstance().recentChatCache().expire(nowMs);
+    }
+
+    private static void deliverDecision(ChatEvent safeEvent, PipelineDecision pipelineDecision) {
+        boolean latestEvent = safeEvent == lastChatEvent;
         if (pipelineDecision == null) {
-            lastPipelineDecision = null;
+            if (latestEvent) {
+                lastPipelineDecision = null;
+            }
             ScamScreenerMod.LOGGER.warn("Pipeline returned null for chat message: {}", safeEvent.getRawMessage());
             return;
         }
-        lastPipelineDecision = pipelineDecision;
+        if (latestEvent) {
+            lastPipelineDecision = pipelineDecision;
+        }
         try (ScamScreenerProfiler.Scope ignored = ScamScreenerProfiler.getInstance().scope("decision.dispatch", "Decision Dispatch")) {
             PipelineDecisionEvent.EVENT.invoker().onPipelineDecision(safeEvent, pipelineDecision);
         }
@@ -174,7 +242,7 @@ public final class ChatPipelineListener {
     }
 
     static ChatEvent classifyGameMessage(net.minecraft.network.chat.Component message, int maxChatLength) {
-        String rawLine = message == null ? "" : message.getString(maxChatLength);
+        String rawLine = InboundChatText.of(message).text(maxChatLength);
         return classifyVisibleLine(rawLine, System.currentTimeMillis());
     }
 
@@ -186,7 +254,7 @@ public final class ChatPipelineListener {
         int maxChatLength
     ) {
         ChatEvent inboundEvent = ChatEvent.fromInboundChat(
-            message,
+            InboundChatText.of(message),
             sender,
             params,
             receptionTimestamp,
@@ -194,20 +262,14 @@ public final class ChatPipelineListener {
             ChatSourceType.UNKNOWN
         );
         if (inboundEvent.hasSender()) {
-            return new ChatEvent(
-                inboundEvent.getRawMessage(),
-                inboundEvent.getSenderUuid(),
-                inboundEvent.getSenderName(),
-                inboundEvent.getTimestampMs(),
-                ChatSourceType.PLAYER
-            );
+            return inboundEvent.withSourceType(ChatSourceType.PLAYER);
         }
 
         return classifyVisibleLine(inboundEvent.getRawMessage(), inboundEvent.getTimestampMs());
     }
 
     private static ChatEvent classifyVisibleLine(String rawLine, long timestampMs) {
-        ChatLineClassifier.Analysis analysis = ChatLineClassifier.analyze(rawLine);
+        ChatLineClassifier.Analysis analysis = LINE_ANALYSIS_CACHE.analyze(rawLine);
         if (analysis.type() == ChatLineClassifier.ChatLineType.PLAYER) {
             ChatLineClassifier.ParsedPlayerLine parsedPlayerLine = analysis.parsedPlayerLine();
             return new ChatEvent(
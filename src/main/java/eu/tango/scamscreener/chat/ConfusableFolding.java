@@ -0,0 +1,202 @@
+package eu.tango.scamscreener.chat;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Precomputed confusable folding used by {@link TextNormalization}.
+ *
+ * <p>Every BMP character maps to one table entry: its lowercase, de-accented,
+ * homoglyph-folded ASCII look-alike when there is one, {@link #SEPARATOR} for
+ * anything that is not a letter or digit, or {@link #STRIP} for invisible
+ * characters that must not split a word. Supplementary characters only fold
+ * when they are styled letters or digits; everything else there separates.
+ *
+ * <p>The BMP table is split into 256-character pages that are filled on first
+ * use, so a client that only ever sees Latin chat never builds the CJK pages.
+ */
+final class ConfusableFolding {
+    static final char SEPARATOR = ' ';
+    static final char STRIP = '\u0000';
+
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_MASK = (1 << PAGE_BITS) - 1;
+
+    private static final AtomicReferenceArray<char[]> PAGES = new AtomicReferenceArray<>((Character.MAX_VALUE + 1) >> PAGE_BITS);
+
+    private ConfusableFolding() {
+    }
+
+    /**
+     * Folds one BMP character.
+     *
+     * @param character the raw character
+     * @return the folded character, {@link #SEPARATOR} or {@link #STRIP}
+     */
+    static char fold(char character) {
+        char[] page = PAGES.get(character >>> PAGE_BITS);
+        if (page == null) {
+            page = buildPage(character >>> PAGE_BITS);
+        }
+        return page[character & PAGE_MASK];
+    }
+
+    /**
+     * Folds one supplementary code point.
+     *
+     * @param codePoint the raw code point
+     * @return the folded character or {@link #SEPARATOR}
+     */
+    static char foldSupplementary(int codePoint) {
+        if (codePoint >= Supplementary.MATH_FROM && codePoint <= Supplementary.MATH_TO) {
+            return Supplementary.MATH[codePoint - Supplementary.MATH_FROM];
+        }
+        if (codePoint >= Supplementary.ENCLOSED_FROM && codePoint <= Supplementary.ENCLOSED_TO) {
+            return Supplementary.ENCLOSED[codePoint - Supplementary.ENCLOSED_FROM];
+        }
+        return SEPARATOR;
+    }
+
+    private static char[] buildPage(int pageIndex) {
+        char[] page = new char[PAGE_MASK + 1];
+        int base = pageIndex << PAGE_BITS;
+        for (int offset = 0; offset <= PAGE_MASK; offset++) {
+            page[offset] = foldSlow((char) (base + offset));
+        }
+
+        // Racing builders produce identical pages, so whichever lands first is kept.
+        return PAGES.compareAndSet(pageIndex, null, page) ? page : PAGES.get(pageIndex);
+    }
+
+    private static char foldSlow(char character) {
+        if (isInvisible(character)) {
+            return STRIP;
+        }
+        if (Character.isSurrogate(character)) {
+            return SEPARATOR;
+        }
+
+        char folded = Character.toLowerCase(baseCharacter(character));
+        folded = homoglyph(folded);
+        folded = leetspeak(folded);
+        return Character.isLetterOrDigit(folded) ? folded : SEPARATOR;
+    }
+
+    private static boolean isInvisible(char character) {
+        int type = Character.getType(character);
+        return type == Character.FORMAT || type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK;
+    }
+
+    private static char baseCharacter(char character) {
+        if (!hasCompatibilityForms(character)) {
+            return character;
+        }
+
+        // Compatibility decomposition turns full-width, accented and ligature-free styled forms into their base letter.
+        String decomposed = Normalizer.normalize(String.valueOf(character), Normalizer.Form.NFKD);
+        char base = 0;
+        int visible = 0;
+        for (int index = 0; index < decomposed.length(); index++) {
+            char part = decomposed.charAt(index);
+            if (!isInvisible(part)) {
+                base = part;
+                visible++;
+            }
+        }
+        return visible == 1 ? base : character;
+    }
+
+    private static boolean hasCompatibilityForms(char character) {
+        // Only blocks with accented, styled or full-width letters are decomposed; this keeps table setup cheap.
+        return (character >= 0x00A0 && character <= 0x02FF)
+            || (character >= 0x0370 && character <= 0x04FF)
+            || (character >= 0x1D00 && character <= 0x1EFF)
+            || (character >= 0x2070 && character <= 0x24FF)
+            || (character >= 0xFB00 && character <= 0xFB4F)
+            || (character >= 0xFF00 && character <= 0xFFEF);
+    }
+
+    private static char homoglyph(char character) {
+        return switch (character) {
+            // Cyrillic
+            case 'а' -> 'a';
+            case 'в', 'ь' -> 'b';
+            case 'с' -> 'c';
+            case 'ԁ' -> 'd';
+            case 'е' -> 'e';
+            case 'н', 'һ' -> 'h';
+            case 'і' -> 'i';
+            case 'ј' -> 'j';
+            case 'к' -> 'k';
+            case 'ӏ' -> 'l';
+            case 'м' -> 'm';
+            case 'п' -> 'n';
+            case 'о' -> 'o';
+            case 'р' -> 'p';
+            case 'ԛ' -> 'q';
+            case 'ѕ' -> 's';
+            case 'т' -> 't';
+            case 'у' -> 'y';
+            case 'ԝ' -> 'w';
+            case 'х' -> 'x';
+            // Greek
+            case 'α' -> 'a';
+            case 'β' -> 'b';
+            case 'ϲ' -> 'c';
+            case 'ε' -> 'e';
+            case 'η' -> 'n';
+            case 'ι' -> 'i';
+            case 'κ' -> 'k';
+            case 'ν' -> 'v';
+            case 'ο' -> 'o';
+            case 'ρ' -> 'p';
+            case 'τ' -> 't';
+            case 'υ', 'μ' -> 'u';
+            case 'χ' -> 'x';
+            case 'ω' -> 'w';
+            case 'γ' -> 'y';
+            default -> character;
+        };
+    }
+
+    private static char leetspeak(char character) {
+        return switch (character) {
+            case '0' -> 'o';
+            case '1' -> 'i';
+            case '3' -> 'e';
+            case '4' -> 'a';
+            case '5' -> 's';
+            case '7' -> 't';
+            case '@' -> 'a';
+            case '$' -> 's';
+            default -> character;
+        };
+    }
+
+    private static final class Supplementary {
+        // Mathematical alphanumerics and enclosed letters are the styled alphabets seen in chat spam.
+        private static final int MATH_FROM = 0x1D400;
+        private static final int MATH_TO = 0x1D7FF;
+        private static final int ENCLOSED_FROM = 0x1F100;
+        private static final int ENCLOSED_TO = 0x1F1FF;
+
+        private static final char[] MATH = buildRange(MATH_FROM, MATH_TO);
+        private static final char[] ENCLOSED = buildRange(ENCLOSED_FROM, ENCLOSED_TO);
+
+        private static char[] buildRange(int from, int to) {
+            char[] range = new char[to - from + 1];
+            Arrays.fill(range, SEPARATOR);
+            for (int codePoint = from; codePoint <= to; codePoint++) {
+                String decomposed = Normalizer.normalize(Character.toString(codePoint), Normalizer.Form.NFKD);
+                if (decomposed.length() == 1 && decomposed.charAt(0) < 0x80) {
+                    char folded = fold(decomposed.charAt(0));
+                    if (folded != STRIP) {
+                        range[codePoint - from] = folded;
+                    }
+                }
+            }
+            return range;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package eu.tango.scamscreener.chat;
+
+import net.minecraft.network.chat.ClickEvent;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.Style;
+
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Flattened text of one inbound chat component together with the sender span found in its styles.
+ *
+ * <p>The component tree is visited once per message. The mute filter runs first and
+ * {@link #share(Component) shares} its extraction with the pipeline listener, which
+ * {@link #release(Component) releases} it once the message is handled, so the component is not
+ * kept alive past its message. Only one message is in flight at a time, so at most one
+ * extraction is pending.
+ *
+ * <p>The sender is taken from the styled segment whose click event opens a message or
+ * profile command for a valid player name. Hover events are not read: text hovers are free
+ * text that servers fill with ranks and stats, and entity hovers are not used on chat names
+ * by the servers this mod targets.
+ *
+ * @param text the full flattened text
+ * @param senderStart start of the sender name in {@code text}, or {@code -1}
+ * @param senderEnd end of the sender name in {@code text}, or {@code -1}
+ */
+public record InboundChatText(String text, int senderStart, int senderEnd) {
+    private static final InboundChatText EMPTY = new InboundChatText("", -1, -1);
+    // Click commands servers attach to player names; the first argument is the name.
+    private static final Set<String> SENDER_COMMANDS = Set.of("msg", "w", "tell", "message", "viewprofile", "socialoptions", "pv");
+    private static volatile PendingExtraction pending;
+
+    public InboundChatText {
+        text = text == null ? "" : text;
+        if (senderStart < 0 || senderEnd <= senderStart || senderEnd > text.length()) {
+            senderStart = -1;
+            senderEnd = -1;
+        }
+    }
+
+    /**
+     * Returns the extracted text of one inbound component, reusing a shared extraction of the same instance.
+     *
+     * @param message the inbound chat component
+     * @return the flattened text and sender span
+     */
+    public static InboundChatText of(Component message) {
+        if (message == null) {
+            return EMPTY;
+        }
+
+        PendingExtraction current = pending;
+        return current != null && current.message() == message ? current.text() : extract(message);
+    }
+
+    /**
+     * Extracts one inbound component and keeps the result for the later callbacks of the same message.
+     *
+     * @param message the inbound chat component
+     * @return the flattened text and sender span
+     */
+    public static InboundChatText share(Component message) {
+        if (message == null) {
+            return EMPTY;
+        }
+
+        InboundChatText extracted = of(message);
+        pending = new PendingExtraction(message, extracted);
+        return extracted;
+    }
+
+    /**
+     * Drops the shared extraction of one component once its message has been handled.
+     *
+     * @param message the handled inbound chat component
+     */
+    public static void release(Component message) {
+        PendingExtraction current = pending;
+        if (current != null && current.message() == message) {
+            pending = null;
+        }
+    }
+
+    /**
+     * Returns the flattened text cut to the given length, matching {@link Component#getString(int)}.
+     *
+     * @param maxLength the maximum text length
+     * @return the text prefix
+     */
+    public String text(int maxLength) {
+        return text.length() <= maxLength ? text : text.substring(0, Math.max(0, maxLength));
+    }
+
+    /**
+     * Returns whether a sender name was found in the component styles.
+     *
+     * @return {@code true} when the sender span is set
+     */
+    public boolean hasSender() {
+        return senderStart >= 0;
+    }
+
+    /**
+     * Returns the sender name found in the component styles.
+     *
+     * @return the sender name, or an empty string
+     */
+    public String senderName() {
+        return hasSender() ? text.substring(senderStart, senderEnd) : "";
+    }
+
+    static InboundChatText extract(Component message) {
+        StringBuilder builder = new StringBuilder();
+        int[] senderSpan = { -1, -1 };
+        message.visit((style, segment) -> {
+            if (senderSpan[0] < 0) {
+                String senderName = senderNameFromStyle(style);
+                int offset = senderName.isEmpty() ? -1 : indexOfName(segment, senderName);
+                if (offset >= 0) {
+                    senderSpan[0] = builder.length() + offset;
+                    senderSpan[1] = senderSpan[0] + senderName.length();
+                }
+            }
+            builder.append(segment);
+            return Optional.empty();
+        }, Style.EMPTY);
+
+        return new InboundChatText(builder.toString(), senderSpan[0], senderSpan[1]);
+    }
+
+    static String commandTarget(String command) {
+        if (command == null) {
+            return "";
+        }
+
+        String trimmed = command.trim();
+        if (trimmed.startsWith("/")) {
+            trimmed = trimmed.substring(1);
+        }
+        int verbEnd = trimmed.indexOf(' ');
+        if (verbEnd <= 0 || !SENDER_COMMANDS.contains(trimmed.substring(0, verbEnd).toLowerCase(Locale.ROOT))) {
+            return "";
+        }
+
+        String arguments = trimmed.substring(verbEnd + 1).trim();
+        int targetEnd = arguments.indexOf(' ');
+        String target = targetEnd < 0 ? arguments : arguments.substring(0, targetEnd);
+        return ChatLineClassifier.isValidPlayerName(target) ? target : "";
+    }
+
+    private static String senderNameFromStyle(Style style) {
+        ClickEvent clickEvent = style == null ? null : style.getClickEvent();
+        if (clickEvent instanceof ClickEvent.SuggestCommand(String command)) {
+            return commandTarget(command);
+        }
+        if (clickEvent instanceof ClickEvent.RunCommand(String command)) {
+            return commandTarget(command);
+        }
+
+        return "";
+    }
+
+    private static int indexOfName(String segment, String name) {
+        int offset = segment.indexOf(name);
+        while (offset >= 0) {
+            int end = offset + name.length();
+            // Only whole names count, so "Sam" never matches inside "Samuel".
+            if ((offset == 0 || !isNameCharacter(segment.charAt(offset - 1)))
+                && (end == segment.length() || !isNameCharacter(segment.charAt(end)))) {
+                return offset;
+            }
+            offset = segment.indexOf(name, offset + 1);
+        }
+
+        return -1;
+    }
+
+    private static boolean isNameCharacter(char value) {
+        return Character.isLetterOrDigit(value) || value == '_';
+    }
+
+    private record PendingExtraction(Component message, InboundChatText text) {
+    }
+}
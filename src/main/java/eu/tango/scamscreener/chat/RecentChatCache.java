@@ -2,40 +2,121 @@ package eu.tango.scamscreener.chat;
 
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.ChatSourceType;
+import eu.tango.scamscreener.pipeline.rule.SignalMemo;
+import eu.tango.scamscreener.pipeline.state.WarmStateCodec;
 
-import java.util.ArrayDeque;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.ToIntFunction;
 
 /**
  * Small in-memory cache of recent inbound chat lines for case review.
+ *
+ * <p>Lines live in append-only arrays whose filled slots are never rewritten, so the lists
+ * handed out are immutable views that readers can keep without copying or locking. The
+ * snapshot of all lines and of every sender's lines is only built when someone asks for a
+ * version it does not have yet, and the statistics are republished with every change, so
+ * reads of an unchanged cache never take the lock.
+ *
+ * <p>Retention is bounded by a line capacity, an optional age limit, a per-sender quota and
+ * an estimated memory budget. Whichever limit is hit first evicts the oldest lines.
+ *
+ * <p>Signal windows keep rolling per-sender signal aggregates next to the lines. Each window
+ * owns its aggregates, so several windows can be tracked at once. A window is updated until
+ * its owner hands it back through {@link #untrackSenderSignals(SignalWindow)}.
  */
 public final class RecentChatCache {
-    private static final int DEFAULT_MAX_ENTRIES = 200;
-
-    private final int maxEntries;
-    private final Deque<CachedChatMessage> entries = new ArrayDeque<>();
-    private final Map<String, Deque<CachedChatMessage>> playerEntriesBySender = new LinkedHashMap<>();
-    private long version;
+    public static final int DEFAULT_MAX_ENTRIES = 200;
+    public static final long DEFAULT_RETENTION_MS = 0L;
+    public static final long DEFAULT_MAX_MEMORY_BYTES = Long.MAX_VALUE;
+    private static final int MIN_SENDER_CAPACITY = 4;
+    // Rough per-line footprint: the record, its memo, and one slot in the global and sender arrays.
+    private static final int ENTRY_OVERHEAD_BYTES = 128;
+    private static final int STRING_OVERHEAD_BYTES = 40;
+    private static final WindowMasks NO_MASKS = new WindowMasks(new SignalWindow[0], new int[0]);
+
+    private int maxEntries;
+    private long retentionMs;
+    private int maxEntriesPerSender;
+    private long maxMemoryBytes;
+    private EntryBuffer entries;
+    private final Map<String, EntryBuffer> playerEntriesBySender = new LinkedHashMap<>();
+    // Replaced on every change, so record() can read the tracked windows without the lock.
+    private volatile List<SignalWindow> signalWindows = List.of();
+    private volatile long version;
+    private long nextSequence;
+    private long estimatedBytes;
+    private long expiredEvictions;
+    private long quotaEvictions;
+    private long capacityEvictions;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile Stats stats;
 
     public RecentChatCache() {
         this(DEFAULT_MAX_ENTRIES);
     }
 
     public RecentChatCache(int maxEntries) {
+        this(maxEntries, DEFAULT_RETENTION_MS, maxEntries, DEFAULT_MAX_MEMORY_BYTES);
+    }
+
+    /**
+     * Creates a cache with explicit retention limits.
+     *
+     * @param maxEntries the maximum number of cached lines
+     * @param retentionMs the maximum line age, or {@code 0} to keep lines until they are pushed out
+     * @param maxEntriesPerSender the maximum number of cached lines per player
+     * @param maxMemoryBytes the estimated memory budget in bytes
+     */
+    public RecentChatCache(int maxEntries, long retentionMs, int maxEntriesPerSender, long maxMemoryBytes) {
+        this.entries = new EntryBuffer(MIN_SENDER_CAPACITY);
+        configure(maxEntries, retentionMs, maxEntriesPerSender, maxMemoryBytes);
+    }
+
+    /**
+     * Updates the retention limits and trims the cached lines to them.
+     *
+     * @param maxEntries the maximum number of cached lines
+     * @param retentionMs the maximum line age, or {@code 0} to keep lines until they are pushed out
+     * @param maxEntriesPerSender the maximum number of cached lines per player
+     * @param maxMemoryBytes the estimated memory budget in bytes
+     */
+    public synchronized void configure(int maxEntries, long retentionMs, int maxEntriesPerSender, long maxMemoryBytes) {
         this.maxEntries = Math.max(1, maxEntries);
+        this.retentionMs = Math.max(0L, retentionMs);
+        this.maxEntriesPerSender = Math.max(1, Math.min(this.maxEntries, maxEntriesPerSender));
+        this.maxMemoryBytes = Math.max(1L, maxMemoryBytes);
+
+        List<CachedChatMessage> cachedLines = entries.newest(Integer.MAX_VALUE);
+        entries = new EntryBuffer(this.maxEntries * 2);
+        clearSenderIndex();
+        estimatedBytes = 0L;
+        for (int index = cachedLines.size() - 1; index >= 0; index--) {
+            insert(cachedLines.get(index), NO_MASKS);
+        }
+        if (cachedLines.isEmpty()) {
+            publishStats();
+        } else {
+            publish();
+        }
     }
 
     /**
      * Records one recent inbound chat line for later case selection.
      *
+     * <p>The line is matched against the tracked signal windows before the cache lock is taken,
+     * so rule matching never holds up readers or other recording threads.
+     *
      * @param chatEvent the inbound chat event
      */
-    public synchronized void record(ChatEvent chatEvent) {
+    public void record(ChatEvent chatEvent) {
         ChatEvent safeEvent = chatEvent == null ? ChatEvent.messageOnly("") : chatEvent;
         String cleanText = normalizeText(safeEvent);
         if (cleanText.isBlank()) {
@@ -48,14 +129,109 @@ public final class RecentChatCache {
             safeEvent.getSenderName(),
             displaySender(safeEvent.getSenderName(), sourceType),
             cleanText,
-            sourceType
+            sourceType,
+            signalMemoFor(safeEvent, cleanText)
         );
-        entries.addFirst(cachedChatMessage);
-        indexBySender(cachedChatMessage);
-        while (entries.size() > maxEntries) {
-            removeFromSenderIndex(entries.removeLast());
+        WindowMasks masks = windowMasks(cachedChatMessage);
+        synchronized (this) {
+            insert(cachedChatMessage, masks);
+            publish();
+        }
+    }
+
+    /**
+     * Drops lines that are older than the configured retention.
+     *
+     * @param nowMs the current wall-clock time
+     */
+    public synchronized void expire(long nowMs) {
+        if (expireBefore(nowMs)) {
+            publish();
+        }
+    }
+
+    /**
+     * Writes the cached lines into a warm-state section, oldest first.
+     *
+     * @param writer the section writer
+     */
+    public void writeState(WarmStateCodec.Writer writer) {
+        List<CachedChatMessage> cachedLines = snapshot().entries();
+        writer.writeInt(cachedLines.size());
+        for (int index = cachedLines.size() - 1; index >= 0; index--) {
+            CachedChatMessage entry = cachedLines.get(index);
+            writer.writeLong(entry.capturedAtMs());
+            writer.writeString(entry.senderName());
+            writer.writeString(entry.displaySender());
+            writer.writeString(entry.cleanText());
+            writer.writeString(entry.sourceType().name());
+        }
+    }
+
+    /**
+     * Replaces the cached lines with a warm-state section.
+     *
+     * <p>Lines past the retention at {@code nowMs} are dropped and the remaining ones go
+     * through the usual capacity, quota and memory limits. The section is decoded completely
+     * before anything is replaced, so a malformed section leaves the cache as is.
+     *
+     * @param reader the section reader
+     * @param nowMs the current wall-clock time
+     */
+    public synchronized void readState(WarmStateCodec.Reader reader, long nowMs) {
+        int lineCount = reader.readCount(Long.BYTES + Integer.BYTES * 4);
+        List<CachedChatMessage> restored = new ArrayList<>(lineCount);
+        for (int index = 0; index < lineCount; index++) {
+            long capturedAtMs = reader.readLong();
+            String senderName = reader.readString();
+            String displaySender = reader.readString();
+            String cleanText = reader.readString();
+            ChatSourceType sourceType = sourceTypeNamed(reader.readString());
+            if (!cleanText.isBlank() && (retentionMs <= 0L || nowMs - capturedAtMs <= retentionMs)) {
+                restored.add(new CachedChatMessage(capturedAtMs, senderName, displaySender, cleanText, sourceType));
+            }
+        }
+
+        entries.clear();
+        clearSenderIndex();
+        estimatedBytes = 0L;
+        for (CachedChatMessage entry : restored) {
+            insert(entry, NO_MASKS);
+        }
+        publish();
+    }
+
+    /**
+     * Returns the current size, memory estimate and eviction counters.
+     *
+     * <p>The statistics are published with every change, so this read never waits for the lock.
+     *
+     * @return the cache statistics
+     */
+    public Stats stats() {
+        return stats;
+    }
+
+    /**
+     * Returns the current cached lines together with the version they belong to.
+     *
+     * <p>The snapshot is immutable and stays valid while the cache keeps changing. It is built
+     * on the first read after a change, so recording lines does not pay for snapshots nobody reads.
+     *
+     * @return the current snapshot
+     */
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current.version() == version) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (snapshot.version() != version) {
+                snapshot = new Snapshot(version, entries.newest(Integer.MAX_VALUE), senderViews());
+            }
+            return snapshot;
         }
-        version++;
     }
 
     /**
@@ -63,39 +239,95 @@ public final class RecentChatCache {
      *
      * @return the cached chat lines
      */
-    public synchronized List<CachedChatMessage> entries() {
-        return List.copyOf(new ArrayList<>(entries));
+    public List<CachedChatMessage> entries() {
+        return snapshot().entries();
     }
 
     /**
      * Returns the cached player messages for one sender, newest first.
      *
+     * <p>The messages come from the current {@link #snapshot()}, so this read takes the lock
+     * only when the snapshot has to be rebuilt.
+     *
      * @param senderName the sender to look up
      * @param maxSenderEntries the maximum number of entries to return
      * @return the cached sender-local messages
      */
-    public synchronized List<CachedChatMessage> entriesForSender(String senderName, int maxSenderEntries) {
-        String senderKey = normalize(senderName);
-        if (senderKey.isBlank()) {
-            return List.of();
+    public List<CachedChatMessage> entriesForSender(String senderName, int maxSenderEntries) {
+        return snapshot().entriesForSender(senderName, maxSenderEntries);
+    }
+
+    /**
+     * Starts keeping a rolling signal aggregate over the newest messages of every sender.
+     *
+     * <p>The aggregate is built once from the cached lines and then updated as lines enter and
+     * leave the cache, so reading it does not depend on how much a sender has said. Windows
+     * tracked earlier keep their own aggregates. The window stays tracked until it is passed
+     * to {@link #untrackSenderSignals(SignalWindow)}.
+     *
+     * @param windowSize the number of newest sender messages covered by the aggregate
+     * @param signalMask maps a message memo to its signal bits
+     * @return the handle used to read the aggregate
+     */
+    public synchronized SignalWindow trackSenderSignals(int windowSize, ToIntFunction<SignalMemo> signalMask) {
+        SignalWindow window = new SignalWindow(Math.max(1, windowSize), signalMask == null ? memo -> 0 : signalMask);
+        List<CachedChatMessage> cachedLines = entries.newest(Integer.MAX_VALUE);
+        for (int index = cachedLines.size() - 1; index >= 0; index--) {
+            CachedChatMessage entry = cachedLines.get(index);
+            String senderKey = playerSenderKey(entry);
+            if (!senderKey.isEmpty()) {
+                window.append(senderKey, window.mask(entry));
+            }
         }
 
-        Deque<CachedChatMessage> senderEntries = playerEntriesBySender.get(senderKey);
-        if (senderEntries == null || senderEntries.isEmpty()) {
-            return List.of();
+        List<SignalWindow> windows = new ArrayList<>(signalWindows.size() + 1);
+        windows.addAll(signalWindows);
+        windows.add(window);
+        signalWindows = List.copyOf(windows);
+        window.tracked = true;
+        return window;
+    }
+
+    /**
+     * Stops updating a signal window and drops its aggregates.
+     *
+     * @param window the handle returned by {@link #trackSenderSignals(int, ToIntFunction)}
+     */
+    public synchronized void untrackSenderSignals(SignalWindow window) {
+        if (window == null || !window.tracked) {
+            return;
         }
 
-        int boundedLimit = Math.max(1, maxSenderEntries);
-        List<CachedChatMessage> result = new ArrayList<>(Math.min(boundedLimit, senderEntries.size()));
-        int count = 0;
-        for (CachedChatMessage entry : senderEntries) {
-            if (count++ >= boundedLimit) {
-                break;
-            }
-            result.add(entry);
+        List<SignalWindow> windows = new ArrayList<>(signalWindows);
+        windows.removeIf(tracked -> tracked == window);
+        signalWindows = List.copyOf(windows);
+        window.tracked = false;
+        window.countsBySender.clear();
+    }
+
+    /**
+     * Returns how many signal windows are currently tracked.
+     *
+     * @return the number of windows that have not been untracked yet
+     */
+    public int trackedSignalWindowCount() {
+        return signalWindows.size();
+    }
+
+    /**
+     * Returns the rolling signal aggregate of one sender.
+     *
+     * @param window the handle returned by {@link #trackSenderSignals(int, ToIntFunction)}
+     * @param senderName the sender to look up
+     * @return the aggregate, or {@code null} when the window is no longer tracked
+     */
+    public synchronized SenderSignals senderSignals(SignalWindow window, String senderName) {
+        if (window == null || !window.tracked) {
+            return null;
         }
 
-        return List.copyOf(result);
+        SignalCounts counts = window.countsBySender.get(normalize(senderName));
+        return counts == null ? SenderSignals.EMPTY : counts.toSenderSignals();
     }
 
     /**
@@ -103,7 +335,7 @@ public final class RecentChatCache {
      *
      * @return a monotonically increasing mutation counter
      */
-    public synchronized long version() {
+    public long version() {
         return version;
     }
 
@@ -111,13 +343,104 @@ public final class RecentChatCache {
      * Clears the cached lines.
      */
     public synchronized void clear() {
-        if (entries.isEmpty()) {
+        if (entries.size() == 0) {
             return;
         }
 
         entries.clear();
-        playerEntriesBySender.clear();
+        clearSenderIndex();
+        estimatedBytes = 0L;
+        publish();
+    }
+
+    private void insert(CachedChatMessage entry, WindowMasks masks) {
+        long sequence = nextSequence++;
+        entries.append(entry, sequence);
+        estimatedBytes += estimateBytes(entry);
+        EntryBuffer senderEntries = indexBySender(entry, sequence, masks);
+        if (senderEntries != null && senderEntries.size() > maxEntriesPerSender) {
+            // Trim the sender over quota instead of pushing everyone else out.
+            long oldestSequence = senderEntries.oldestSequence();
+            CachedChatMessage oldest = senderEntries.removeOldest();
+            removeFromSignalWindows(playerSenderKey(oldest));
+            entries.remove(oldestSequence);
+            estimatedBytes -= estimateBytes(oldest);
+            quotaEvictions++;
+        }
+        while (entries.size() > 1 && (entries.size() > maxEntries || estimatedBytes > maxMemoryBytes)) {
+            removeOldest();
+            capacityEvictions++;
+        }
+        expireBefore(entry.capturedAtMs());
+    }
+
+    private boolean expireBefore(long nowMs) {
+        if (retentionMs <= 0L) {
+            return false;
+        }
+
+        boolean expired = false;
+        while (entries.size() > 0 && nowMs - entries.oldest().capturedAtMs() > retentionMs) {
+            removeOldest();
+            expiredEvictions++;
+            expired = true;
+        }
+
+        return expired;
+    }
+
+    private void removeOldest() {
+        CachedChatMessage oldest = entries.removeOldest();
+        estimatedBytes -= estimateBytes(oldest);
+        removeFromSenderIndex(oldest);
+    }
+
+    private static long estimateBytes(CachedChatMessage entry) {
+        if (entry == null) {
+            return 0L;
+        }
+
+        // The memo keeps a lowercased copy of the clean text, hence the second text copy.
+        long bytes = ENTRY_OVERHEAD_BYTES + 2L * estimateBytes(entry.cleanText()) + estimateBytes(entry.senderName());
+        if (!entry.displaySender().equals(entry.senderName())) {
+            bytes += estimateBytes(entry.displaySender());
+        }
+
+        return bytes;
+    }
+
+    private static long estimateBytes(String value) {
+        return value == null || value.isEmpty() ? 0L : STRING_OVERHEAD_BYTES + 2L * value.length();
+    }
+
+    private Map<String, List<CachedChatMessage>> senderViews() {
+        if (playerEntriesBySender.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, List<CachedChatMessage>> views = new HashMap<>(playerEntriesBySender.size() * 2);
+        for (Map.Entry<String, EntryBuffer> senderEntries : playerEntriesBySender.entrySet()) {
+            views.put(senderEntries.getKey(), senderEntries.getValue().newest(Integer.MAX_VALUE));
+        }
+
+        return Map.copyOf(views);
+    }
+
+    private void publish() {
         version++;
+        publishStats();
+    }
+
+    private void publishStats() {
+        stats = new Stats(
+            entries.size(),
+            playerEntriesBySender.size(),
+            estimatedBytes,
+            maxMemoryBytes,
+            expiredEvictions,
+            quotaEvictions,
+            capacityEvictions
+        );
     }
 
     private static String normalizeText(ChatEvent chatEvent) {
@@ -136,6 +459,27 @@ public final class RecentChatCache {
         return ChatLineClassifier.displayMessageOnly(rawText);
     }
 
+    private static SignalMemo signalMemoFor(ChatEvent chatEvent, String cleanText) {
+        String matchText = cleanText.toLowerCase(Locale.ROOT);
+        SignalMemo eventMemo = chatEvent.getSignalMemo();
+        // Share the event memo when both texts agree, so signals computed by the pipeline carry over.
+        if (eventMemo != null && eventMemo.text().equals(matchText)) {
+            return eventMemo;
+        }
+
+        return new SignalMemo(matchText);
+    }
+
+    private static ChatSourceType sourceTypeNamed(String name) {
+        for (ChatSourceType sourceType : ChatSourceType.values()) {
+            if (sourceType.name().equals(name)) {
+                return sourceType;
+            }
+        }
+
+        return ChatSourceType.UNKNOWN;
+    }
+
     private static String displaySender(String senderName, ChatSourceType sourceType) {
         String normalizedSenderName = senderName == null ? "" : senderName.trim();
         if (!normalizedSenderName.isBlank()) {
@@ -149,41 +493,73 @@ public final class RecentChatCache {
         };
     }
 
-    private void indexBySender(CachedChatMessage entry) {
-        if (entry == null || entry.sourceType() != ChatSourceType.PLAYER) {
-            return;
+    private EntryBuffer indexBySender(CachedChatMessage entry, long sequence, WindowMasks masks) {
+        String senderKey = playerSenderKey(entry);
+        if (senderKey.isEmpty()) {
+            return null;
         }
 
-        String senderKey = normalize(entry.senderName());
-        if (senderKey.isBlank()) {
-            return;
+        for (SignalWindow window : signalWindows) {
+            // Windows tracked after the masks were computed match the line here instead.
+            window.append(senderKey, masks.maskFor(window, entry));
         }
-
-        playerEntriesBySender.computeIfAbsent(senderKey, ignored -> new ArrayDeque<>()).addFirst(entry);
+        EntryBuffer senderEntries = playerEntriesBySender.computeIfAbsent(senderKey, ignored -> new EntryBuffer(MIN_SENDER_CAPACITY));
+        senderEntries.append(entry, sequence);
+        return senderEntries;
     }
 
     private void removeFromSenderIndex(CachedChatMessage entry) {
-        if (entry == null || entry.sourceType() != ChatSourceType.PLAYER) {
+        String senderKey = playerSenderKey(entry);
+        if (senderKey.isEmpty()) {
             return;
         }
 
-        String senderKey = normalize(entry.senderName());
-        if (senderKey.isBlank()) {
+        EntryBuffer senderEntries = playerEntriesBySender.get(senderKey);
+        if (senderEntries == null) {
             return;
         }
+        // The cache evicts its oldest line, which is the oldest line of this sender as well.
+        senderEntries.removeOldest();
+        removeFromSignalWindows(senderKey);
+        if (senderEntries.size() == 0) {
+            playerEntriesBySender.remove(senderKey);
+        }
+    }
 
-        Deque<CachedChatMessage> senderEntries = playerEntriesBySender.get(senderKey);
-        if (senderEntries == null || senderEntries.isEmpty()) {
-            return;
+    private void removeFromSignalWindows(String senderKey) {
+        for (SignalWindow window : signalWindows) {
+            window.removeOldest(senderKey);
         }
-        if (entry.equals(senderEntries.peekLast())) {
-            senderEntries.removeLast();
-        } else {
-            senderEntries.remove(entry);
+    }
+
+    private void clearSenderIndex() {
+        playerEntriesBySender.clear();
+        for (SignalWindow window : signalWindows) {
+            window.countsBySender.clear();
         }
-        if (senderEntries.isEmpty()) {
-            playerEntriesBySender.remove(senderKey);
+    }
+
+    private WindowMasks windowMasks(CachedChatMessage entry) {
+        List<SignalWindow> trackedWindows = signalWindows;
+        if (trackedWindows.isEmpty() || playerSenderKey(entry).isEmpty()) {
+            return NO_MASKS;
+        }
+
+        SignalWindow[] windows = trackedWindows.toArray(new SignalWindow[0]);
+        int[] masks = new int[windows.length];
+        for (int index = 0; index < windows.length; index++) {
+            masks[index] = windows[index].mask(entry);
         }
+
+        return new WindowMasks(windows, masks);
+    }
+
+    private static String playerSenderKey(CachedChatMessage entry) {
+        if (entry == null || entry.sourceType() != ChatSourceType.PLAYER) {
+            return "";
+        }
+
+        return normalize(entry.senderName());
     }
 
     private static String normalize(String value) {
@@ -194,6 +570,364 @@ public final class RecentChatCache {
         return value.trim().toLowerCase(Locale.ROOT);
     }
 
+    /**
+     * Immutable view of the cache at one version.
+     *
+     * @param version the cache version the entries belong to
+     * @param entries the cached lines, newest first
+     * @param entriesBySender the cached player lines by normalized sender name, newest first
+     */
+    public record Snapshot(long version, List<CachedChatMessage> entries, Map<String, List<CachedChatMessage>> entriesBySender) {
+        private static final Snapshot EMPTY = new Snapshot(0L, List.of(), Map.of());
+
+        /**
+         * Returns the cached player messages for one sender, newest first.
+         *
+         * @param senderName the sender to look up
+         * @param maxSenderEntries the maximum number of entries to return
+         * @return the cached sender-local messages
+         */
+        public List<CachedChatMessage> entriesForSender(String senderName, int maxSenderEntries) {
+            String senderKey = normalize(senderName);
+            List<CachedChatMessage> senderEntries = senderKey.isEmpty() ? null : entriesBySender.get(senderKey);
+            if (senderEntries == null) {
+                return List.of();
+            }
+
+            int limit = Math.max(1, maxSenderEntries);
+            return senderEntries.size() <= limit ? senderEntries : senderEntries.subList(0, limit);
+        }
+    }
+
+    /**
+     * Size, memory estimate and eviction counters of the cache.
+     *
+     * @param entryCount the number of cached lines
+     * @param senderCount the number of players with cached lines
+     * @param estimatedBytes the estimated memory held by the cached lines
+     * @param maxMemoryBytes the configured memory budget
+     * @param expiredEvictions lines dropped for exceeding the retention
+     * @param quotaEvictions lines dropped because their sender was over quota
+     * @param capacityEvictions lines dropped to stay within the line or memory budget
+     */
+    public record Stats(
+        int entryCount,
+        int senderCount,
+        long estimatedBytes,
+        long maxMemoryBytes,
+        long expiredEvictions,
+        long quotaEvictions,
+        long capacityEvictions
+    ) {
+    }
+
+    /**
+     * Handle of one tracked per-sender signal window and owner of its aggregates.
+     */
+    public static final class SignalWindow {
+        private final int size;
+        private final ToIntFunction<SignalMemo> signalMask;
+        private final Map<String, SignalCounts> countsBySender = new HashMap<>();
+        private boolean tracked;
+
+        private SignalWindow(int size, ToIntFunction<SignalMemo> signalMask) {
+            this.size = size;
+            this.signalMask = signalMask;
+        }
+
+        /**
+         * Returns the number of newest sender messages covered.
+         *
+         * @return the window size
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Returns the function mapping a message memo to its signal bits.
+         *
+         * @return the signal mask function
+         */
+        public ToIntFunction<SignalMemo> signalMask() {
+            return signalMask;
+        }
+
+        private int mask(CachedChatMessage entry) {
+            return signalMask.applyAsInt(entry.signalMemo());
+        }
+
+        private void append(String senderKey, int mask) {
+            countsBySender.computeIfAbsent(senderKey, ignored -> new SignalCounts(size)).append(mask);
+        }
+
+        private void removeOldest(String senderKey) {
+            SignalCounts counts = countsBySender.get(senderKey);
+            if (counts != null && counts.removeOldest()) {
+                countsBySender.remove(senderKey);
+            }
+        }
+    }
+
+    /**
+     * Rolling signal aggregate over the newest messages of one sender.
+     *
+     * @param messageCount the number of sender messages inside the window
+     * @param signalMessageCount the number of those messages with at least one signal bit
+     * @param signalMask the union of the signal bits of those messages
+     */
+    public record SenderSignals(int messageCount, int signalMessageCount, int signalMask) {
+        private static final SenderSignals EMPTY = new SenderSignals(0, 0, 0);
+    }
+
+    /**
+     * Signal masks of the newest window of one sender's cached lines plus their bit counts.
+     *
+     * <p>Only the masks inside the window are kept, in a ring that is full once the sender has
+     * said at least a window of lines. Lines older than the window only count towards
+     * {@code lineCount}.
+     */
+    private static final class SignalCounts {
+        private final int windowSize;
+        private final int[] bitCounts = new int[Integer.SIZE];
+        private int[] masks;
+        private int head;
+        private int windowCount;
+        private int lineCount;
+        private int signalMessages;
+
+        private SignalCounts(int windowSize) {
+            this.windowSize = windowSize;
+            this.masks = new int[Math.min(windowSize, MIN_SENDER_CAPACITY)];
+        }
+
+        private void append(int mask) {
+            lineCount++;
+            count(mask, 1);
+            if (windowCount == windowSize) {
+                // The ring is exactly one window long here; the oldest mask slides out.
+                count(masks[head], -1);
+                masks[head] = mask;
+                head = (head + 1) % masks.length;
+                return;
+            }
+            if (windowCount == masks.length) {
+                int[] grown = new int[Math.min(windowSize, masks.length * 2)];
+                for (int index = 0; index < windowCount; index++) {
+                    grown[index] = masks[(head + index) % masks.length];
+                }
+                masks = grown;
+                head = 0;
+            }
+            masks[(head + windowCount) % masks.length] = mask;
+            windowCount++;
+        }
+
+        /**
+         * Drops the sender's oldest cached line.
+         *
+         * @return {@code true} when no line of the sender is left
+         */
+        private boolean removeOldest() {
+            if (lineCount == windowCount && windowCount > 0) {
+                count(masks[head], -1);
+                head = (head + 1) % masks.length;
+                windowCount--;
+            }
+            lineCount = Math.max(0, lineCount - 1);
+            return lineCount == 0;
+        }
+
+        private SenderSignals toSenderSignals() {
+            return new SenderSignals(windowCount, signalMessages, signalMask());
+        }
+
+        private int signalMask() {
+            int mask = 0;
+            for (int bit = 0; bit < bitCounts.length; bit++) {
+                if (bitCounts[bit] > 0) {
+                    mask |= 1 << bit;
+                }
+            }
+
+            return mask;
+        }
+
+        private void count(int mask, int delta) {
+            if (mask == 0) {
+                return;
+            }
+
+            signalMessages += delta;
+            for (int remaining = mask; remaining != 0; remaining &= remaining - 1) {
+                bitCounts[Integer.numberOfTrailingZeros(remaining)] += delta;
+            }
+        }
+    }
+
+    /**
+     * Masks of one line computed before the cache lock was taken, one per tracked window.
+     */
+    private record WindowMasks(SignalWindow[] windows, int[] masks) {
+        private int maskFor(SignalWindow window, CachedChatMessage entry) {
+            for (int index = 0; index < windows.length; index++) {
+                if (windows[index] == window) {
+                    return masks[index];
+                }
+            }
+
+            return window.mask(entry);
+        }
+    }
+
+    /**
+     * Append-only window over cached lines, oldest first.
+     *
+     * <p>Slots below {@code end} are never rewritten. Views handed out earlier therefore stay
+     * valid while lines are appended or evicted; when the array fills up, the live range is
+     * copied into a fresh array and the old one is left to the views that still hold it.
+     *
+     * <p>Every line carries the cache-wide sequence it was recorded under, so a line in the
+     * middle of the window is found by binary search. Such a line is only marked removed;
+     * marked lines are dropped the next time the live range is copied, which happens before a
+     * view is handed out or once they outnumber the live lines.
+     */
+    private static final class EntryBuffer {
+        private CachedChatMessage[] items;
+        private long[] sequences;
+        private boolean[] removed;
+        private int start;
+        private int end;
+        private int removedCount;
+
+        private EntryBuffer(int initialCapacity) {
+            items = new CachedChatMessage[Math.max(MIN_SENDER_CAPACITY, initialCapacity)];
+            sequences = new long[items.length];
+        }
+
+        private void append(CachedChatMessage entry, long sequence) {
+            if (end == items.length) {
+                compact();
+            }
+            items[end] = entry;
+            sequences[end] = sequence;
+            end++;
+        }
+
+        private CachedChatMessage removeOldest() {
+            skipRemoved();
+            return start == end ? null : items[start++];
+        }
+
+        private CachedChatMessage oldest() {
+            skipRemoved();
+            return start == end ? null : items[start];
+        }
+
+        private long oldestSequence() {
+            skipRemoved();
+            return start == end ? -1L : sequences[start];
+        }
+
+        private void remove(long sequence) {
+            int index = Arrays.binarySearch(sequences, start, end, sequence);
+            if (index < 0 || (removed != null && removed[index])) {
+                return;
+            }
+            if (index == start) {
+                start++;
+                return;
+            }
+
+            if (removed == null) {
+                removed = new boolean[items.length];
+            }
+            removed[index] = true;
+            removedCount++;
+            if (removedCount > size()) {
+                compact();
+            }
+        }
+
+        private int size() {
+            return end - start - removedCount;
+        }
+
+        private List<CachedChatMessage> newest(int limit) {
+            if (removedCount > 0) {
+                compact();
+            }
+
+            int size = size();
+            if (size == 0) {
+                return List.of();
+            }
+
+            return new NewestFirstView(items, end - Math.min(size, limit), end);
+        }
+
+        private void clear() {
+            start = end;
+            removed = null;
+            removedCount = 0;
+        }
+
+        private void skipRemoved() {
+            while (removedCount > 0 && start < end && removed[start]) {
+                start++;
+                removedCount--;
+            }
+        }
+
+        private void compact() {
+            int size = size();
+            // Doubling the live range keeps the copy amortized constant per appended line.
+            int capacity = Math.max(MIN_SENDER_CAPACITY, size * 2);
+            CachedChatMessage[] compactedItems = new CachedChatMessage[capacity];
+            long[] compactedSequences = new long[capacity];
+            int target = 0;
+            for (int index = start; index < end; index++) {
+                if (removed == null || !removed[index]) {
+                    compactedItems[target] = items[index];
+                    compactedSequences[target] = sequences[index];
+                    target++;
+                }
+            }
+            items = compactedItems;
+            sequences = compactedSequences;
+            removed = null;
+            removedCount = 0;
+            start = 0;
+            end = size;
+        }
+    }
+
+    private static final class NewestFirstView extends AbstractList<CachedChatMessage> implements RandomAccess {
+        private final CachedChatMessage[] items;
+        private final int from;
+        private final int to;
+
+        private NewestFirstView(CachedChatMessage[] items, int from, int to) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public CachedChatMessage get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+            }
+
+            return items[to - 1 - index];
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+    }
+
     /**
      * One cached inbound chat line that can be added into a review case.
      *
@@ -202,19 +936,32 @@ public final class RecentChatCache {
      * @param displaySender the sender label shown in the picker UI
      * @param cleanText the sanitized message text
      * @param sourceType the inferred source classification
+     * @param signalMemo the memoized rule signals of the lowercased message
      */
     public record CachedChatMessage(
         long capturedAtMs,
         String senderName,
         String displaySender,
         String cleanText,
-        ChatSourceType sourceType
+        ChatSourceType sourceType,
+        SignalMemo signalMemo
     ) {
         public CachedChatMessage {
             senderName = senderName == null ? "" : senderName.trim();
             displaySender = displaySender == null || displaySender.isBlank() ? "Unknown" : displaySender.trim();
             cleanText = cleanText == null ? "" : cleanText.trim();
             sourceType = sourceType == null ? ChatSourceType.UNKNOWN : sourceType;
+            signalMemo = signalMemo == null ? new SignalMemo(cleanText.toLowerCase(Locale.ROOT)) : signalMemo;
+        }
+
+        public CachedChatMessage(
+            long capturedAtMs,
+            String senderName,
+            String displaySender,
+            String cleanText,
+            ChatSourceType sourceType
+        ) {
+            this(capturedAtMs, senderName, displaySender, cleanText, sourceType, null);
         }
 
         public boolean matchesPlayerFilter(String playerFilter) {
@@ -1,15 +1,30 @@
 package eu.tango.scamscreener.chat;
 
+import java.util.Arrays;
+import java.util.Locale;
+
 /**
  * Shared chat-text normalization helpers for fuzzy matching and spam fingerprinting.
  */
 public final class TextNormalization {
+    /**
+     * Version of the similarity text, and with it of every fingerprint and MinHash input.
+     * Bump it whenever existing input normalizes differently, so persisted fingerprints are dropped.
+     */
+    public static final int SIMILARITY_VERSION = 2;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
     private TextNormalization() {
     }
 
     /**
      * Normalizes raw chat text for fuzzy similarity checks with light de-obfuscation.
      *
+     * <p>Homoglyphs, accents, full-width and styled letters fold to their ASCII look-alike,
+     * common leetspeak digits and symbols fold to letters, and invisible characters are dropped.
+     *
      * @param input the raw input text
      * @return the normalized text
      */
@@ -18,20 +33,25 @@ public final class TextNormalization {
             return "";
         }
 
-        StringBuilder builder = new StringBuilder(input.length());
-        for (int index = 0; index < input.length(); index++) {
-            char normalized = normalizeCharacter(input.charAt(index));
-            if (Character.isLetterOrDigit(normalized)) {
-                if (shouldCollapseRepeated(builder, normalized)) {
-                    continue;
-                }
-                builder.append(normalized);
-            } else if (builder.length() > 0 && builder.charAt(builder.length() - 1) != ' ') {
-                builder.append(' ');
-            }
+        return scan(input, false).similarity();
+    }
+
+    /**
+     * Computes every normalized form of one message in a single pass over the raw text.
+     *
+     * <p>The result holds the trimmed lowercase text, the de-obfuscated similarity text,
+     * its {@link #fingerprintHash(String) fingerprint} and the token offsets of the
+     * similarity text, each identical to what the dedicated helpers produce.
+     *
+     * @param input the raw input text
+     * @return the normalized forms
+     */
+    public static NormalizedText normalize(String input) {
+        if (input == null || input.isEmpty()) {
+            return NormalizedText.EMPTY;
         }
 
-        return builder.toString().trim();
+        return scan(input, true);
     }
 
     /**
@@ -44,27 +64,155 @@ public final class TextNormalization {
         return normalizeForSimilarity(input);
     }
 
-    private static boolean shouldCollapseRepeated(StringBuilder builder, char normalized) {
-        int length = builder.length();
-        if (length < 2) {
-            return false;
+    /**
+     * Hashes already normalized text into a stable 64-bit fingerprint.
+     *
+     * <p>The value only depends on the text, so it is identical across runs and clients.
+     * Blank text maps to {@code 0}, which callers treat as "no fingerprint".
+     *
+     * @param normalizedText text produced by {@link #normalizeForSimilarity(String)}
+     * @return the 64-bit fingerprint, or {@code 0} for blank text
+     */
+    public static long fingerprintHash(String normalizedText) {
+        if (normalizedText == null || normalizedText.isEmpty()) {
+            return 0L;
+        }
+
+        // FNV-1a over UTF-16 units, finished with the MurmurHash3 64-bit mixer for better bit spread.
+        long hash = FNV_OFFSET_BASIS;
+        for (int index = 0; index < normalizedText.length(); index++) {
+            hash ^= normalizedText.charAt(index);
+            hash *= FNV_PRIME;
+        }
+        return finishFingerprint(hash);
+    }
+
+    private static NormalizedText scan(String input, boolean withLowercase) {
+        int length = input.length();
+        char[] lowercase = withLowercase ? new char[length] : null;
+        char[] similarity = new char[length];
+        int similarityLength = 0;
+        int[] tokenBounds = new int[8];
+        int tokenCount = 0;
+        int firstVisible = -1;
+        int lastVisible = -1;
+        boolean lowercaseExact = true;
+        boolean pendingSpace = false;
+        char previous = 0;
+        char beforePrevious = 0;
+        long hash = FNV_OFFSET_BASIS;
+
+        for (int index = 0; index < length; index++) {
+            char rawCharacter = input.charAt(index);
+            if (lowercase != null) {
+                if (rawCharacter > ' ') {
+                    if (firstVisible < 0) {
+                        firstVisible = index;
+                    }
+                    lastVisible = index;
+                }
+                lowercaseExact &= !needsStringLowercase(rawCharacter);
+                lowercase[index] = Character.toLowerCase(rawCharacter);
+            }
+
+            char normalized = Character.isSurrogate(rawCharacter)
+                ? foldSurrogate(input, index)
+                : ConfusableFolding.fold(rawCharacter);
+            if (normalized == ConfusableFolding.STRIP) {
+                continue;
+            }
+            if (normalized == ConfusableFolding.SEPARATOR) {
+                // Separators are only written once the next kept character arrives, which also trims the end.
+                pendingSpace = similarityLength > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                tokenBounds[tokenCount * 2 - 1] = similarityLength;
+                similarity[similarityLength++] = ' ';
+                hash = (hash ^ ' ') * FNV_PRIME;
+                beforePrevious = previous;
+                previous = ' ';
+                pendingSpace = false;
+            } else if (normalized == previous && normalized == beforePrevious) {
+                // Collapse runs longer than two, so "freeeee" and "free" match.
+                continue;
+            }
+            if (similarityLength == 0 || previous == ' ') {
+                if (tokenCount * 2 == tokenBounds.length) {
+                    tokenBounds = Arrays.copyOf(tokenBounds, tokenBounds.length * 2);
+                }
+                tokenBounds[tokenCount * 2] = similarityLength;
+                tokenCount++;
+            }
+            similarity[similarityLength++] = normalized;
+            hash = (hash ^ normalized) * FNV_PRIME;
+            beforePrevious = previous;
+            previous = normalized;
+        }
+        if (tokenCount > 0) {
+            tokenBounds[tokenCount * 2 - 1] = similarityLength;
+        }
+
+        String lowercaseText = "";
+        if (lowercase != null && firstVisible >= 0) {
+            // Characters whose lowercase form depends on context fall back to the JDK, which handles them.
+            lowercaseText = lowercaseExact
+                ? new String(lowercase, firstVisible, lastVisible - firstVisible + 1)
+                : input.trim().toLowerCase(Locale.ROOT);
+        }
+        return new NormalizedText(
+            lowercaseText,
+            new String(similarity, 0, similarityLength),
+            similarityLength == 0 ? 0L : finishFingerprint(hash),
+            Arrays.copyOf(tokenBounds, tokenCount * 2)
+        );
+    }
+
+    private static boolean needsStringLowercase(char character) {
+        return character >= 0x80 && (character == '\u0130' || character == '\u03a3' || Character.isSurrogate(character));
+    }
+
+    private static long finishFingerprint(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash == 0L ? 1L : hash;
+    }
+
+    private static char foldSurrogate(String input, int index) {
+        char character = input.charAt(index);
+        if (Character.isHighSurrogate(character)) {
+            return index + 1 < input.length() && Character.isLowSurrogate(input.charAt(index + 1))
+                ? ConfusableFolding.foldSupplementary(input.codePointAt(index))
+                : ConfusableFolding.SEPARATOR;
         }
 
-        return builder.charAt(length - 1) == normalized && builder.charAt(length - 2) == normalized;
+        // A low surrogate was already folded together with its high surrogate.
+        return index > 0 && Character.isHighSurrogate(input.charAt(index - 1))
+            ? ConfusableFolding.STRIP
+            : ConfusableFolding.SEPARATOR;
     }
 
-    private static char normalizeCharacter(char rawCharacter) {
-        char character = Character.toLowerCase(rawCharacter);
-        return switch (character) {
-            case '0' -> 'o';
-            case '1' -> 'i';
-            case '3' -> 'e';
-            case '4' -> 'a';
-            case '5' -> 's';
-            case '7' -> 't';
-            case '@' -> 'a';
-            case '$' -> 's';
-            default -> Character.isLetterOrDigit(character) ? character : ' ';
-        };
+    /**
+     * Normalized forms of one message.
+     *
+     * @param lowercase the trimmed lowercase text
+     * @param similarity the de-obfuscated text used for similarity and fingerprints
+     * @param fingerprint the fingerprint of the similarity text, or {@code 0} when it is blank
+     * @param tokenBounds start and end offsets into the similarity text, two per token
+     */
+    public record NormalizedText(String lowercase, String similarity, long fingerprint, int[] tokenBounds) {
+        private static final NormalizedText EMPTY = new NormalizedText("", "", 0L, new int[0]);
+
+        /**
+         * Returns the number of similarity tokens.
+         *
+         * @return the token count
+         */
+        public int tokenCount() {
+            return tokenBounds.length / 2;
+        }
     }
 }
@@ -1,6 +1,7 @@
 package eu.tango.scamscreener.chat.mute;
 
 import eu.tango.scamscreener.ScamScreenerRuntime;
+import eu.tango.scamscreener.chat.InboundChatText;
 import eu.tango.scamscreener.profiler.ScamScreenerProfiler;
 import net.fabricmc.fabric.api.client.message.v1.ClientReceiveMessageEvents;
 import net.minecraft.network.chat.Component;
@@ -50,12 +51,15 @@ public final class ChatMuteFilter {
             return true;
         }
 
-        String rawMessage = message == null ? "" : message.getString();
+        // The pipeline listener picks this extraction up for the same component and releases it.
+        String rawMessage = InboundChatText.share(message).text();
         boolean blocked;
         try (ScamScreenerProfiler.Scope ignored = ScamScreenerProfiler.getInstance().scope("mute.filter", "Mute Filter")) {
             blocked = mutePatternManager.shouldBlock(rawMessage);
         }
         if (blocked) {
+            // Blocked messages never reach the pipeline listener, so nothing else would release them.
+            InboundChatText.release(message);
             ScamScreenerProfiler.getInstance().recordSummary("Mute filter blocked inbound chat");
         }
 
@@ -407,6 +407,7 @@ public final class RulesConfig implements VersionedConfig {
         private int escalationBonusDivisor = 2;
         private long windowMs = 120_000L;
         private int maxHistory = 200;
+        private int nearDuplicateSimilarityPercent = 0;
     }
 
     /**
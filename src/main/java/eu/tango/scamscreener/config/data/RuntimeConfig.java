@@ -22,6 +22,7 @@ public final class RuntimeConfig implements VersionedConfig {
     private AlertSettings alerts = new AlertSettings();
     private OutputSettings output = new OutputSettings();
     private ReviewSettings review = new ReviewSettings();
+    private ChatCacheSettings chatCache = new ChatCacheSettings();
     private SafetySettings safety = new SafetySettings();
     private ProfilerSettings profiler = new ProfilerSettings();
     private DebugSettings debug = new DebugSettings();
@@ -78,6 +79,19 @@ public final class RuntimeConfig implements VersionedConfig {
         return review;
     }
 
+    /**
+     * Returns the normalized recent-chat cache settings.
+     *
+     * @return non-null recent-chat cache settings
+     */
+    public ChatCacheSettings chatCache() {
+        if (chatCache == null) {
+            chatCache = new ChatCacheSettings();
+        }
+
+        return chatCache;
+    }
+
     /**
      * Returns the normalized safety settings.
      *
@@ -135,6 +149,10 @@ public final class RuntimeConfig implements VersionedConfig {
     @NoArgsConstructor
     public static final class PipelineSettings {
         private int reviewThreshold = 1;
+        private boolean asyncEvaluation = false;
+        private boolean parallelStages = false;
+        private boolean fastDecisions = false;
+        private boolean persistWarmState = false;
 
         /**
          * Returns the normalized review threshold used by the engine.
@@ -210,6 +228,55 @@ public final class RuntimeConfig implements VersionedConfig {
         }
     }
 
+    /**
+     * Retention settings of the recent-chat cache used for case review and context scoring.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static final class ChatCacheSettings {
+        private int maxEntries = 200;
+        private int retentionSeconds = 0;
+        private int maxEntriesPerSender = 40;
+        private int maxMemoryKilobytes = 1024;
+
+        /**
+         * Returns the normalized cache capacity.
+         *
+         * @return a bounded number of cached lines
+         */
+        public int maxEntries() {
+            return Math.max(50, Math.min(5000, maxEntries));
+        }
+
+        /**
+         * Returns the normalized line retention.
+         *
+         * @return the retention in milliseconds, or {@code 0} when lines are kept until pushed out
+         */
+        public long retentionMs() {
+            return Math.max(0, Math.min(3600, retentionSeconds)) * 1000L;
+        }
+
+        /**
+         * Returns the normalized per-sender quota.
+         *
+         * @return the maximum number of cached lines per player
+         */
+        public int maxEntriesPerSender() {
+            return Math.max(5, Math.min(maxEntries(), maxEntriesPerSender));
+        }
+
+        /**
+         * Returns the normalized memory budget.
+         *
+         * @return the estimated memory budget in bytes
+         */
+        public long maxMemoryBytes() {
+            return Math.max(64, Math.min(16384, maxMemoryKilobytes)) * 1024L;
+        }
+    }
+
     /**
      * Restored non-pipeline safety settings from the v1 user flow.
      */
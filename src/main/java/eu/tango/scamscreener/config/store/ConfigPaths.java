@@ -17,6 +17,7 @@ public class ConfigPaths {
     private static final String BLACKLIST_FILE_NAME = "blacklist.json";
     private static final String REVIEW_FILE_NAME = "review.json";
     private static final String TRAINING_CASES_V2_FILE_NAME = "training-cases-v2.jsonl";
+    private static final String WARM_STATE_FILE_NAME = "warm-state.bin";
     private static final String V1_MIGRATION_MARKER_FILE_NAME = ".v1-to-v2-migration.done";
 
     /**
@@ -92,6 +93,15 @@ public class ConfigPaths {
         return baseDirectory().resolve(TRAINING_CASES_V2_FILE_NAME);
     }
 
+    /**
+     * Returns the path to the binary detection warm-state snapshot.
+     *
+     * @return the warm-state snapshot path
+     */
+    public Path warmStateFile() {
+        return baseDirectory().resolve(WARM_STATE_FILE_NAME);
+    }
+
     /**
      * Returns the marker file used to guarantee one-time legacy migration.
      *
@@ -0,0 +1,190 @@
+package eu.tango.scamscreener.config.store;
+
+import eu.tango.scamscreener.ScamScreenerMod;
+import eu.tango.scamscreener.chat.RecentChatCache;
+import eu.tango.scamscreener.chat.TextNormalization;
+import eu.tango.scamscreener.pipeline.state.BehaviorStore;
+import eu.tango.scamscreener.pipeline.state.FunnelStore;
+import eu.tango.scamscreener.pipeline.state.TrendStore;
+import eu.tango.scamscreener.pipeline.state.WarmStateCodec;
+import lombok.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Binary warm-state snapshot of the detection stores, so detection stays warm across restarts.
+ *
+ * <p>The file holds a short header followed by one length-prefixed section per store. The
+ * header records the {@link TextNormalization#SIMILARITY_VERSION}, so a snapshot whose
+ * fingerprints were computed by another normalization is discarded as a whole. Each
+ * section is decoded on its own: a damaged section only leaves its store cold, and stores
+ * drop entries that left their window while the client was closed.
+ */
+public final class WarmStateStore {
+    private static final int MAGIC = 0x53535753;
+    private static final int FORMAT_VERSION = 2;
+    static final int HEADER_BYTES = Integer.BYTES * 3 + Long.BYTES;
+
+    private final Path path;
+
+    /**
+     * Creates the warm-state store bound to {@code warm-state.bin}.
+     */
+    public WarmStateStore() {
+        this(ConfigPaths.warmStateFile());
+    }
+
+    WarmStateStore(@NonNull Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Encodes the current store contents and writes them on the async file worker.
+     *
+     * @param stores the stores to persist
+     * @param nowMs the current wall-clock time
+     * @return a future completed once the file has been written
+     */
+    public CompletableFuture<Void> saveAsync(@NonNull Stores stores, long nowMs) {
+        // Encode on the caller so the worker never touches live store state.
+        byte[] payload = encode(stores, nowMs);
+        return AsyncFileWorkQueue.submitTask(() -> {
+            write(payload);
+            return null;
+        });
+    }
+
+    /**
+     * Restores the stores from the snapshot file, when one exists.
+     *
+     * @param stores the stores to populate
+     * @param nowMs the current wall-clock time
+     * @return {@code true} when a snapshot was read
+     */
+    public boolean loadInto(@NonNull Stores stores, long nowMs) {
+        if (!Files.isRegularFile(path)) {
+            return false;
+        }
+
+        try {
+            // The file is small; a live mapping would also keep Windows from replacing it on the next save.
+            return decodeInto(ByteBuffer.wrap(Files.readAllBytes(path)), stores, nowMs);
+        } catch (IOException | RuntimeException exception) {
+            ScamScreenerMod.LOGGER.warn("Failed to read detection warm state from {}. Starting cold.", path, exception);
+            return false;
+        }
+    }
+
+    /**
+     * Deletes the snapshot file on the async file worker.
+     *
+     * @return a future completed once the file is gone
+     */
+    public CompletableFuture<Boolean> deleteAsync() {
+        return AsyncFileWorkQueue.submitTask(() -> Files.deleteIfExists(path));
+    }
+
+    static byte[] encode(Stores stores, long nowMs) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            output.writeInt(MAGIC);
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(TextNormalization.SIMILARITY_VERSION);
+            output.writeLong(nowMs);
+            writeSection(output, stores.behaviorStore()::writeState);
+            writeSection(output, stores.trendStore()::writeState);
+            writeSection(output, stores.funnelStore()::writeState);
+            writeSection(output, stores.recentChatCache()::writeState);
+        } catch (IOException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    static boolean decodeInto(ByteBuffer buffer, Stores stores, long nowMs) {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+            return false;
+        }
+        if (buffer.getInt() != TextNormalization.SIMILARITY_VERSION) {
+            // Fingerprints from another normalization never match new ones, so the whole snapshot starts cold.
+            return false;
+        }
+
+        buffer.getLong();
+        readSection(buffer, "behavior", reader -> stores.behaviorStore().readState(reader, nowMs));
+        readSection(buffer, "trend", reader -> stores.trendStore().readState(reader, nowMs));
+        readSection(buffer, "funnel", reader -> stores.funnelStore().readState(reader, nowMs));
+        readSection(buffer, "recent chat", reader -> stores.recentChatCache().readState(reader, nowMs));
+        return true;
+    }
+
+    private static void writeSection(DataOutputStream output, Consumer<WarmStateCodec.Writer> section) throws IOException {
+        WarmStateCodec.Writer writer = new WarmStateCodec.Writer();
+        section.accept(writer);
+        byte[] encoded = writer.toByteArray();
+        output.writeInt(encoded.length);
+        output.write(encoded);
+    }
+
+    private static void readSection(ByteBuffer buffer, String name, Consumer<WarmStateCodec.Reader> section) {
+        if (buffer.remaining() < Integer.BYTES) {
+            return;
+        }
+
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            ScamScreenerMod.LOGGER.warn("Skipping truncated {} warm-state section.", name);
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        ByteBuffer sectionBuffer = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        try {
+            section.accept(new WarmStateCodec.Reader(sectionBuffer));
+        } catch (RuntimeException exception) {
+            ScamScreenerMod.LOGGER.warn("Skipping malformed {} warm-state section.", name, exception);
+        }
+    }
+
+    private void write(byte[] payload) throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(temporaryPath, payload);
+        try {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException exception) {
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * The detection stores covered by the snapshot.
+     *
+     * @param behaviorStore the sender-local behavior history
+     * @param trendStore the cross-sender trend history
+     * @param funnelStore the sender-local funnel steps
+     * @param recentChatCache the recent chat lines used for context and review
+     */
+    public record Stores(
+        @NonNull BehaviorStore behaviorStore,
+        @NonNull TrendStore trendStore,
+        @NonNull FunnelStore funnelStore,
+        @NonNull RecentChatCache recentChatCache
+    ) {
+    }
+}
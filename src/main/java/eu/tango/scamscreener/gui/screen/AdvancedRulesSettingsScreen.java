@@ -25,6 +25,9 @@ public final class AdvancedRulesSettingsScreen extends BaseScreen {
     private static final long MIN_WINDOW_MS = 30_000L;
     private static final long MAX_WINDOW_MS = 600_000L;
     private static final long WINDOW_STEP_MS = 30_000L;
+    private static final int NEAR_DUPLICATE_MIN_PERCENT = 50;
+    private static final int NEAR_DUPLICATE_MAX_PERCENT = 90;
+    private static final int NEAR_DUPLICATE_STEP_PERCENT = 10;
     private static final int BUTTON_ROW_STEP = DEFAULT_BUTTON_HEIGHT + 2;
 
     private final Screen navigationParent;
@@ -217,6 +220,8 @@ public final class AdvancedRulesSettingsScreen extends BaseScreen {
             () -> trendStage.setWindowMs(nextWindowMs(trendStage.getWindowMs())));
         addAction(actions, "History: " + trendStage.getMaxHistory(),
             () -> trendStage.setMaxHistory(nextCounter(trendStage.getMaxHistory(), 1, MAX_STORE_HISTORY)));
+        addAction(actions, "Near Dup: " + formatNearDuplicate(trendStage.getNearDuplicateSimilarityPercent()),
+            () -> trendStage.setNearDuplicateSimilarityPercent(nextNearDuplicatePercent(trendStage.getNearDuplicateSimilarityPercent())));
     }
 
     private void buildFunnelActions(List<SettingAction> actions) {
@@ -323,6 +328,20 @@ public final class AdvancedRulesSettingsScreen extends BaseScreen {
         return (Math.max(0L, windowMs) / 1000L) + "s";
     }
 
+    private static int nextNearDuplicatePercent(int currentValue) {
+        // Cycles off -> 50% -> ... -> 90% -> off; exact repeats always match regardless.
+        if (currentValue < NEAR_DUPLICATE_MIN_PERCENT) {
+            return NEAR_DUPLICATE_MIN_PERCENT;
+        }
+
+        int nextValue = currentValue + NEAR_DUPLICATE_STEP_PERCENT;
+        return nextValue > NEAR_DUPLICATE_MAX_PERCENT ? 0 : nextValue;
+    }
+
+    private static String formatNearDuplicate(int similarityPercent) {
+        return similarityPercent <= 0 ? "OFF" : similarityPercent + "%";
+    }
+
     private record SettingAction(String label, Runnable onPress) {
     }
 
@@ -159,18 +159,18 @@ public final class CaseMessagePickerScreen extends BaseScreen {
     }
 
     private void reloadRows() {
-        RecentChatCache chatCache = ScamScreenerRuntime.getInstance().recentChatCache();
+        RecentChatCache.Snapshot chatSnapshot = ScamScreenerRuntime.getInstance().recentChatCache().snapshot();
         RecentChatCache.CachedChatMessage selected = listWidget == null ? null : listWidget.selectedRow().orElse(null);
         visibleEntries.clear();
         String playerFilter = currentPlayerFilter();
-        for (RecentChatCache.CachedChatMessage entry : chatCache.entries()) {
+        for (RecentChatCache.CachedChatMessage entry : chatSnapshot.entries()) {
             if (entry != null
                 && entry.sourceType() == ChatSourceType.PLAYER
                 && entry.matchesPlayerFilter(playerFilter)) {
                 visibleEntries.add(entry);
             }
         }
-        lastSeenCacheVersion = chatCache.version();
+        lastSeenCacheVersion = chatSnapshot.version();
 
         if (listWidget != null) {
             listWidget.setRows(visibleEntries);
@@ -1,6 +1,7 @@
 package eu.tango.scamscreener.gui.screen;
 
 import eu.tango.scamscreener.ScamScreenerRuntime;
+import eu.tango.scamscreener.chat.RecentChatCache;
 import eu.tango.scamscreener.gui.base.BaseScreen;
 import eu.tango.scamscreener.profiler.ScamScreenerProfiler;
 import net.minecraft.client.gui.GuiGraphicsExtractor;
@@ -14,7 +15,7 @@ import net.minecraft.network.chat.Component;
 public final class MetricsSettingsScreen extends BaseScreen {
     private static final int METRICS_LINE_GAP = 14;
     private static final int METRICS_FIRST_LINE_Y = CONTENT_TOP + 18;
-    private static final int METRICS_LINE_COUNT = 5;
+    private static final int METRICS_LINE_COUNT = 6;
     private static final int BUTTON_SECTION_TOP = METRICS_FIRST_LINE_Y + (METRICS_LINE_GAP * METRICS_LINE_COUNT) + 8;
 
     private Button profilerButton;
@@ -69,6 +70,7 @@ public final class MetricsSettingsScreen extends BaseScreen {
             y,
             "Behavior Store: " + runtime.behaviorStore().trackedSenderCount()
                 + " senders | " + runtime.behaviorStore().trackedMessageCount() + " messages"
+                + " | " + (runtime.behaviorStore().idleEvictionCount() + runtime.behaviorStore().capacityEvictionCount()) + " evicted"
         );
         y += METRICS_LINE_GAP;
         drawLine(context, left, y, "Trend Store: " + runtime.trendStore().trackedMessageCount() + " buffered messages");
@@ -79,6 +81,17 @@ public final class MetricsSettingsScreen extends BaseScreen {
             y,
             "Funnel Store: " + runtime.funnelStore().trackedSenderCount()
                 + " senders | " + runtime.funnelStore().trackedStepCount() + " steps"
+                + " | " + (runtime.funnelStore().idleEvictionCount() + runtime.funnelStore().capacityEvictionCount()) + " evicted"
+        );
+        y += METRICS_LINE_GAP;
+        RecentChatCache.Stats chatCache = runtime.recentChatCache().stats();
+        drawLine(
+            context,
+            left,
+            y,
+            "Chat Cache: " + chatCache.entryCount() + " lines | " + chatCache.senderCount() + " senders"
+                + " | " + (chatCache.estimatedBytes() / 1024L) + " KB"
+                + " | " + (chatCache.expiredEvictions() + chatCache.quotaEvictions() + chatCache.capacityEvictions()) + " evicted"
         );
         y += METRICS_LINE_GAP;
         drawLine(
@@ -12,8 +12,15 @@ import net.minecraft.network.chat.Component;
  * Runtime and pipeline settings screen.
  */
 public final class RuntimeSettingsScreen extends BaseScreen {
+    private static final int[] CHAT_CACHE_CAPACITIES = {200, 500, 1000, 2000};
+
     private Button reviewThresholdButton;
     private Button debugLoggingButton;
+    private Button asyncEvaluationButton;
+    private Button parallelStagesButton;
+    private Button fastDecisionsButton;
+    private Button chatCacheButton;
+    private Button warmStateButton;
 
     /**
      * Creates the runtime settings screen.
@@ -48,6 +55,41 @@ public final class RuntimeSettingsScreen extends BaseScreen {
         );
         y += ROW_HEIGHT;
 
+        asyncEvaluationButton = addRenderableWidget(
+            Button.builder(Component.empty(), button -> toggleAsyncEvaluation())
+                .bounds(x, y, contentWidth, DEFAULT_BUTTON_HEIGHT)
+                .build()
+        );
+        y += ROW_HEIGHT;
+
+        parallelStagesButton = addRenderableWidget(
+            Button.builder(Component.empty(), button -> toggleParallelStages())
+                .bounds(x, y, contentWidth, DEFAULT_BUTTON_HEIGHT)
+                .build()
+        );
+        y += ROW_HEIGHT;
+
+        fastDecisionsButton = addRenderableWidget(
+            Button.builder(Component.empty(), button -> toggleFastDecisions())
+                .bounds(x, y, contentWidth, DEFAULT_BUTTON_HEIGHT)
+                .build()
+        );
+        y += ROW_HEIGHT;
+
+        chatCacheButton = addRenderableWidget(
+            Button.builder(Component.empty(), button -> cycleChatCacheCapacity())
+                .bounds(x, y, contentWidth, DEFAULT_BUTTON_HEIGHT)
+                .build()
+        );
+        y += ROW_HEIGHT;
+
+        warmStateButton = addRenderableWidget(
+            Button.builder(Component.empty(), button -> toggleWarmState())
+                .bounds(x, y, contentWidth, DEFAULT_BUTTON_HEIGHT)
+                .build()
+        );
+        y += ROW_HEIGHT;
+
         addRenderableWidget(
             Button.builder(Component.literal("Message Settings"), button -> this.minecraft.setScreen(new MessageSettingsScreen(this)))
                 .bounds(x, y, contentWidth, DEFAULT_BUTTON_HEIGHT)
@@ -104,6 +146,51 @@ public final class RuntimeSettingsScreen extends BaseScreen {
         refreshButtons();
     }
 
+    private void toggleAsyncEvaluation() {
+        RuntimeConfig.PipelineSettings pipeline = ScamScreenerRuntime.getInstance().config().pipeline();
+        pipeline.setAsyncEvaluation(!pipeline.isAsyncEvaluation());
+        ScamScreenerRuntime.getInstance().saveConfig();
+        refreshButtons();
+    }
+
+    private void toggleParallelStages() {
+        RuntimeConfig.PipelineSettings pipeline = ScamScreenerRuntime.getInstance().config().pipeline();
+        pipeline.setParallelStages(!pipeline.isParallelStages());
+        ScamScreenerRuntime.getInstance().saveConfig();
+        refreshButtons();
+    }
+
+    private void toggleFastDecisions() {
+        RuntimeConfig.PipelineSettings pipeline = ScamScreenerRuntime.getInstance().config().pipeline();
+        pipeline.setFastDecisions(!pipeline.isFastDecisions());
+        ScamScreenerRuntime.getInstance().saveConfig();
+        refreshButtons();
+    }
+
+    private void toggleWarmState() {
+        RuntimeConfig.PipelineSettings pipeline = ScamScreenerRuntime.getInstance().config().pipeline();
+        pipeline.setPersistWarmState(!pipeline.isPersistWarmState());
+        ScamScreenerRuntime.getInstance().saveConfig();
+        refreshButtons();
+    }
+
+    private void cycleChatCacheCapacity() {
+        RuntimeConfig.ChatCacheSettings chatCache = ScamScreenerRuntime.getInstance().config().chatCache();
+        chatCache.setMaxEntries(nextChatCacheCapacity(chatCache.maxEntries()));
+        ScamScreenerRuntime.getInstance().saveConfig();
+        refreshButtons();
+    }
+
+    private static int nextChatCacheCapacity(int currentCapacity) {
+        for (int capacity : CHAT_CACHE_CAPACITIES) {
+            if (capacity > currentCapacity) {
+                return capacity;
+            }
+        }
+
+        return CHAT_CACHE_CAPACITIES[0];
+    }
+
     private void refreshButtons() {
         RuntimeConfig config = ScamScreenerRuntime.getInstance().config();
 
@@ -113,5 +200,20 @@ public final class RuntimeSettingsScreen extends BaseScreen {
         if (debugLoggingButton != null) {
             debugLoggingButton.setMessage(toggleText("Debug Logging: ", config.output().isDebugLogging()));
         }
+        if (asyncEvaluationButton != null) {
+            asyncEvaluationButton.setMessage(toggleText("Background Pipeline: ", config.pipeline().isAsyncEvaluation()));
+        }
+        if (parallelStagesButton != null) {
+            parallelStagesButton.setMessage(toggleText("Parallel Stages: ", config.pipeline().isParallelStages()));
+        }
+        if (fastDecisionsButton != null) {
+            fastDecisionsButton.setMessage(toggleText("Fast Decisions: ", config.pipeline().isFastDecisions()));
+        }
+        if (chatCacheButton != null) {
+            chatCacheButton.setMessage(Component.literal("Chat Cache: " + config.chatCache().maxEntries() + " lines"));
+        }
+        if (warmStateButton != null) {
+            warmStateButton.setMessage(toggleText("Keep State On Restart: ", config.pipeline().isPersistWarmState()));
+        }
     }
 }
@@ -15,6 +15,8 @@ import java.util.UUID;
 
 /**
  * In-memory blacklist for explicitly blocked players.
+ *
+ * <p>Access is synchronized because the pipeline may read it from its worker thread.
  */
 public final class Blacklist implements BlacklistAccess {
     private final Map<UUID, BlacklistEntry> entriesByUuid = new LinkedHashMap<>();
@@ -49,7 +51,7 @@ public final class Blacklist implements BlacklistAccess {
      * @param source the origin of the blacklist entry
      * @return {@code true} when the entry was stored
      */
-    public boolean add(UUID playerUuid, String playerName, int score, String reason, BlacklistSource source) {
+    public synchronized boolean add(UUID playerUuid, String playerName, int score, String reason, BlacklistSource source) {
         String normalizedName = normalizeName(playerName);
         if (playerUuid == null && normalizedName.isEmpty()) {
             return false;
@@ -78,7 +80,7 @@ public final class Blacklist implements BlacklistAccess {
      * @param playerUuid the player UUID to look up
      * @return the matching blacklist entry, when present
      */
-    public Optional<BlacklistEntry> get(UUID playerUuid) {
+    public synchronized Optional<BlacklistEntry> get(UUID playerUuid) {
         if (playerUuid == null) {
             return Optional.empty();
         }
@@ -92,7 +94,7 @@ public final class Blacklist implements BlacklistAccess {
      * @param playerName the player name to look up
      * @return the matching blacklist entry, when present
      */
-    public Optional<BlacklistEntry> findByName(String playerName) {
+    public synchronized Optional<BlacklistEntry> findByName(String playerName) {
         String normalizedName = normalizeName(playerName);
         if (normalizedName.isEmpty()) {
             return Optional.empty();
@@ -108,7 +110,7 @@ public final class Blacklist implements BlacklistAccess {
      * @param playerName the player name, if available
      * @return the matching blacklist entry, when present
      */
-    public Optional<BlacklistEntry> find(UUID playerUuid, String playerName) {
+    public synchronized Optional<BlacklistEntry> find(UUID playerUuid, String playerName) {
         Optional<BlacklistEntry> byUuid = get(playerUuid);
         if (byUuid.isPresent()) {
             return byUuid;
@@ -122,7 +124,7 @@ public final class Blacklist implements BlacklistAccess {
      *
      * @return the stored blacklist entries in insertion order
      */
-    public List<BlacklistEntry> entries() {
+    public synchronized List<BlacklistEntry> entries() {
         Set<BlacklistEntry> unique = new LinkedHashSet<>();
         unique.addAll(entriesByUuid.values());
         unique.addAll(entriesByName.values());
@@ -134,11 +136,11 @@ public final class Blacklist implements BlacklistAccess {
      *
      * @return the stored blacklist entries in insertion order
      */
-    public List<BlacklistEntry> allEntries() {
+    public synchronized List<BlacklistEntry> allEntries() {
         return entries();
     }
 
-    public boolean contains(UUID playerUuid, String playerName) {
+    public synchronized boolean contains(UUID playerUuid, String playerName) {
         return find(playerUuid, playerName).isPresent();
     }
 
@@ -148,7 +150,7 @@ public final class Blacklist implements BlacklistAccess {
      * @param playerUuid the player UUID to check
      * @return {@code true} when a matching entry exists
      */
-    public boolean contains(UUID playerUuid) {
+    public synchronized boolean contains(UUID playerUuid) {
         return get(playerUuid).isPresent();
     }
 
@@ -158,11 +160,11 @@ public final class Blacklist implements BlacklistAccess {
      * @param playerName the player name to check
      * @return {@code true} when a matching entry exists
      */
-    public boolean containsName(String playerName) {
+    public synchronized boolean containsName(String playerName) {
         return findByName(playerName).isPresent();
     }
 
-    public boolean remove(UUID playerUuid, String playerName) {
+    public synchronized boolean remove(UUID playerUuid, String playerName) {
         Optional<BlacklistEntry> existing = find(playerUuid, playerName);
         if (existing.isEmpty()) {
             return false;
@@ -181,7 +183,7 @@ public final class Blacklist implements BlacklistAccess {
      * @param playerUuid the player UUID to remove
      * @return {@code true} when an entry was removed
      */
-    public boolean remove(UUID playerUuid) {
+    public synchronized boolean remove(UUID playerUuid) {
         return remove(playerUuid, null);
     }
 
@@ -191,12 +193,12 @@ public final class Blacklist implements BlacklistAccess {
      * @param playerName the player name to remove
      * @return {@code true} when an entry was removed
      */
-    public boolean removeByName(String playerName) {
+    public synchronized boolean removeByName(String playerName) {
         return remove(null, playerName);
     }
 
     @Override
-    public void clear() {
+    public synchronized void clear() {
         if (isEmpty()) {
             return;
         }
@@ -208,7 +210,7 @@ public final class Blacklist implements BlacklistAccess {
     }
 
     @Override
-    public boolean isEmpty() {
+    public synchronized boolean isEmpty() {
         return entriesByUuid.isEmpty() && entriesByName.isEmpty();
     }
 
@@ -217,7 +219,7 @@ public final class Blacklist implements BlacklistAccess {
      *
      * @param entries the entries to load
      */
-    public void replaceAll(Iterable<BlacklistEntry> entries) {
+    public synchronized void replaceAll(Iterable<BlacklistEntry> entries) {
         entriesByUuid.clear();
         entriesByName.clear();
         if (entries == null) {
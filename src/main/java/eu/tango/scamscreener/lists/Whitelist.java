@@ -15,6 +15,8 @@ import java.util.UUID;
 
 /**
  * In-memory whitelist for trusted players.
+ *
+ * <p>Access is synchronized because the pipeline may read it from its worker thread.
  */
 public final class Whitelist implements WhitelistAccess {
     private final Map<UUID, WhitelistEntry> entriesByUuid = new LinkedHashMap<>();
@@ -46,7 +48,7 @@ public final class Whitelist implements WhitelistAccess {
      * @param playerName the player name, if available
      * @return {@code true} when a new entry was stored
      */
-    public boolean add(UUID playerUuid, String playerName) {
+    public synchronized boolean add(UUID playerUuid, String playerName) {
         String normalizedName = normalizeName(playerName);
         if (playerUuid == null && normalizedName.isEmpty()) {
             return false;
@@ -75,7 +77,7 @@ public final class Whitelist implements WhitelistAccess {
      * @param playerUuid the player UUID to look up
      * @return the matching whitelist entry, when present
      */
-    public Optional<WhitelistEntry> get(UUID playerUuid) {
+    public synchronized Optional<WhitelistEntry> get(UUID playerUuid) {
         if (playerUuid == null) {
             return Optional.empty();
         }
@@ -89,7 +91,7 @@ public final class Whitelist implements WhitelistAccess {
      * @param playerName the player name to look up
      * @return the matching whitelist entry, when present
      */
-    public Optional<WhitelistEntry> findByName(String playerName) {
+    public synchronized Optional<WhitelistEntry> findByName(String playerName) {
         String normalizedName = normalizeName(playerName);
         if (normalizedName.isEmpty()) {
             return Optional.empty();
@@ -105,7 +107,7 @@ public final class Whitelist implements WhitelistAccess {
      * @param playerName the player name, if available
      * @return the matching whitelist entry, when present
      */
-    public Optional<WhitelistEntry> find(UUID playerUuid, String playerName) {
+    public synchronized Optional<WhitelistEntry> find(UUID playerUuid, String playerName) {
         Optional<WhitelistEntry> byUuid = get(playerUuid);
         if (byUuid.isPresent()) {
             return byUuid;
@@ -119,14 +121,14 @@ public final class Whitelist implements WhitelistAccess {
      *
      * @return the stored whitelist entries in insertion order
      */
-    public List<WhitelistEntry> allEntries() {
+    public synchronized List<WhitelistEntry> allEntries() {
         Set<WhitelistEntry> unique = new LinkedHashSet<>();
         unique.addAll(entriesByUuid.values());
         unique.addAll(entriesByName.values());
         return new ArrayList<>(unique);
     }
 
-    public boolean contains(UUID playerUuid, String playerName) {
+    public synchronized boolean contains(UUID playerUuid, String playerName) {
         return find(playerUuid, playerName).isPresent();
     }
 
@@ -136,7 +138,7 @@ public final class Whitelist implements WhitelistAccess {
      * @param playerUuid the player UUID to check
      * @return {@code true} when a matching entry exists
      */
-    public boolean contains(UUID playerUuid) {
+    public synchronized boolean contains(UUID playerUuid) {
         return get(playerUuid).isPresent();
     }
 
@@ -146,11 +148,11 @@ public final class Whitelist implements WhitelistAccess {
      * @param playerName the player name to check
      * @return {@code true} when a matching entry exists
      */
-    public boolean containsName(String playerName) {
+    public synchronized boolean containsName(String playerName) {
         return findByName(playerName).isPresent();
     }
 
-    public boolean remove(UUID playerUuid, String playerName) {
+    public synchronized boolean remove(UUID playerUuid, String playerName) {
         Optional<WhitelistEntry> existing = find(playerUuid, playerName);
         if (existing.isEmpty()) {
             return false;
@@ -169,7 +171,7 @@ public final class Whitelist implements WhitelistAccess {
      * @param playerUuid the player UUID to remove
      * @return {@code true} when an entry was removed
      */
-    public boolean remove(UUID playerUuid) {
+    public synchronized boolean remove(UUID playerUuid) {
         return remove(playerUuid, null);
     }
 
@@ -179,12 +181,12 @@ public final class Whitelist implements WhitelistAccess {
      * @param playerName the player name to remove
      * @return {@code true} when an entry was removed
      */
-    public boolean removeByName(String playerName) {
+    public synchronized boolean removeByName(String playerName) {
         return remove(null, playerName);
     }
 
     @Override
-    public void clear() {
+    public synchronized void clear() {
         if (isEmpty()) {
             return;
         }
@@ -196,7 +198,7 @@ public final class Whitelist implements WhitelistAccess {
     }
 
     @Override
-    public boolean isEmpty() {
+    public synchronized boolean isEmpty() {
         return entriesByUuid.isEmpty() && entriesByName.isEmpty();
     }
 
@@ -206,7 +208,7 @@ public final class Whitelist implements WhitelistAccess {
      * @param playerUuids the UUID entries to load
      * @param playerNames the player-name entries to load
      */
-    public void replaceAll(Iterable<UUID> playerUuids, Iterable<String> playerNames) {
+    public synchronized void replaceAll(Iterable<UUID> playerUuids, Iterable<String> playerNames) {
         entriesByUuid.clear();
         entriesByName.clear();
 
@@ -233,7 +235,7 @@ public final class Whitelist implements WhitelistAccess {
      *
      * @return the stored UUID entries
      */
-    public Set<UUID> playerUuids() {
+    public synchronized Set<UUID> playerUuids() {
         return Set.copyOf(entriesByUuid.keySet());
     }
 
@@ -242,7 +244,7 @@ public final class Whitelist implements WhitelistAccess {
      *
      * @return the stored normalized player-name entries
      */
-    public Set<String> playerNames() {
+    public synchronized Set<String> playerNames() {
         return Set.copyOf(entriesByName.keySet());
     }
 
@@ -0,0 +1,142 @@
+package eu.tango.scamscreener.pipeline.core;
+
+import eu.tango.scamscreener.ScamScreenerMod;
+import eu.tango.scamscreener.pipeline.data.ChatEvent;
+import eu.tango.scamscreener.pipeline.data.PipelineDecision;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Runs pipeline evaluations on one dedicated worker thread.
+ *
+ * <p>Events are evaluated strictly in submission order on a single thread, so
+ * sender-local state in the stores sees the same sequence as the synchronous
+ * path. Finished decisions wait in a queue until the owning thread drains
+ * them, which delivers them in arrival order as well.
+ */
+public final class AsyncPipelineExecutor implements AutoCloseable {
+    private final ExecutorService worker;
+    private final Queue<CompletedEvaluation> completed = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger undelivered = new AtomicInteger();
+
+    /**
+     * Creates an executor with the default worker thread name.
+     */
+    public AsyncPipelineExecutor() {
+        this("ScamScreener Pipeline");
+    }
+
+    /**
+     * Creates an executor with an explicit worker thread name.
+     *
+     * @param threadName the name of the worker thread
+     */
+    public AsyncPipelineExecutor(String threadName) {
+        String safeThreadName = threadName == null || threadName.isBlank() ? "ScamScreener Pipeline" : threadName;
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, safeThreadName);
+            // The client must be able to exit even when chat work is still queued.
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues one event for evaluation on the worker thread.
+     *
+     * @param chatEvent the event to evaluate
+     * @param evaluator the evaluation to run on the worker
+     */
+    public void submit(ChatEvent chatEvent, Function<ChatEvent, PipelineDecision> evaluator) {
+        if (chatEvent == null || evaluator == null) {
+            return;
+        }
+
+        undelivered.incrementAndGet();
+        try {
+            worker.execute(() -> completed.add(new CompletedEvaluation(chatEvent, evaluateSafely(chatEvent, evaluator))));
+        } catch (RejectedExecutionException ignored) {
+            // After shutdown, keep delivering in order by evaluating on the caller.
+            completed.add(new CompletedEvaluation(chatEvent, evaluateSafely(chatEvent, evaluator)));
+        }
+    }
+
+    /**
+     * Hands every finished evaluation to the consumer, oldest first.
+     *
+     * @param consumer receives each event with its decision, which is {@code null} when evaluation failed
+     * @return the number of delivered evaluations
+     */
+    public int drain(BiConsumer<ChatEvent, PipelineDecision> consumer) {
+        int delivered = 0;
+        CompletedEvaluation evaluation;
+        while ((evaluation = completed.poll()) != null) {
+            undelivered.decrementAndGet();
+            delivered++;
+            if (consumer != null) {
+                consumer.accept(evaluation.chatEvent(), evaluation.decision());
+            }
+        }
+
+        return delivered;
+    }
+
+    /**
+     * Indicates whether submitted events are still running or waiting for delivery.
+     *
+     * @return {@code true} while at least one submitted event was not drained yet
+     */
+    public boolean hasPending() {
+        return undelivered.get() > 0;
+    }
+
+    /**
+     * Waits until every event submitted so far has finished evaluating.
+     *
+     * @param timeoutMs the maximum wait in milliseconds
+     * @return {@code true} when the worker caught up within the timeout
+     */
+    public boolean awaitIdle(long timeoutMs) {
+        try {
+            // The worker is single-threaded, so a marker task finishes only after all earlier work.
+            worker.submit(() -> { }).get(Math.max(0L, timeoutMs), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (RejectedExecutionException | ExecutionException | TimeoutException ignored) {
+            return false;
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting new work on the worker thread.
+     */
+    @Override
+    public void close() {
+        worker.shutdown();
+    }
+
+    private static PipelineDecision evaluateSafely(ChatEvent chatEvent, Function<ChatEvent, PipelineDecision> evaluator) {
+        try {
+            return evaluator.apply(chatEvent);
+        } catch (RuntimeException exception) {
+            // A failing evaluation must not stall delivery of the events queued behind it.
+            ScamScreenerMod.LOGGER.error("Failed to evaluate chat message in the pipeline.", exception);
+            return null;
+        }
+    }
+
+    private record CompletedEvaluation(ChatEvent chatEvent, PipelineDecision decision) {
+    }
+}
@@ -5,22 +5,36 @@ import eu.tango.scamscreener.pipeline.data.PipelineDecision;
 import eu.tango.scamscreener.pipeline.data.StageResult;
 import eu.tango.scamscreener.profiler.ScamScreenerProfiler;
 import eu.tango.scamscreener.training.TrainingCaseMappings;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NonNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * Executes the configured pipeline stages in order and produces a final decision.
  *
  * <p>The engine is intentionally small: it runs each stage, accumulates score,
  * collects reasons, and stops early when a stage returns a terminal decision.
+ * Optionally, once evaluation reaches the first stateless stage, the stateless
+ * stages after it are started on the common fork-join pool and their results are
+ * joined back at their usual position, so the outcome is the same as the
+ * sequential run. The stages in front, such as mute and player-list checks, have
+ * passed by then, so messages they end never start worker tasks. In fast-decision mode,
+ * skippable stages are left out once the remaining score bounds show that the
+ * outcome can no longer change.
  */
 @Getter
 public final class PipelineEngine {
     private final List<Stage> stages;
     private final int reviewThreshold;
+    private final boolean parallelStatelessStages;
+    private final boolean fastDecisions;
+    @Getter(AccessLevel.NONE)
+    private final int forkIndex;
 
     /**
      * Creates a pipeline engine with the default review threshold.
@@ -38,10 +52,42 @@ public final class PipelineEngine {
      * @param reviewThreshold the minimum total score that upgrades the result to review
      */
     public PipelineEngine(@NonNull List<Stage> stages, int reviewThreshold) {
+        this(stages, reviewThreshold, false);
+    }
+
+    /**
+     * Creates a pipeline engine that can run stateless stages in parallel.
+     *
+     * @param stages the ordered stage list to execute
+     * @param reviewThreshold the minimum total score that upgrades the result to review
+     * @param parallelStatelessStages whether stages reporting {@link Stage#isStateless()} run ahead on worker threads
+     */
+    public PipelineEngine(@NonNull List<Stage> stages, int reviewThreshold, boolean parallelStatelessStages) {
+        this(stages, reviewThreshold, parallelStatelessStages, false);
+    }
+
+    /**
+     * Creates a pipeline engine with explicit execution options.
+     *
+     * @param stages the ordered stage list to execute
+     * @param reviewThreshold the minimum total score that upgrades the result to review
+     * @param parallelStatelessStages whether stages reporting {@link Stage#isStateless()} run ahead on worker threads
+     * @param fastDecisions whether skippable stages are left out once the outcome is settled
+     */
+    public PipelineEngine(
+        @NonNull List<Stage> stages,
+        int reviewThreshold,
+        boolean parallelStatelessStages,
+        boolean fastDecisions
+    ) {
         // Freeze the stage order at construction time so runtime execution stays deterministic.
         this.stages = List.copyOf(stages);
         // Negative thresholds do not make semantic sense, so clamp them to zero.
         this.reviewThreshold = Math.max(0, reviewThreshold);
+        this.parallelStatelessStages = parallelStatelessStages
+            && this.stages.stream().anyMatch(stage -> stage != null && stage.isStateless());
+        this.fastDecisions = fastDecisions;
+        this.forkIndex = this.parallelStatelessStages ? firstStatelessIndex(this.stages) : -1;
     }
 
     /**
@@ -54,20 +100,34 @@ public final class PipelineEngine {
         try (ScamScreenerProfiler.Scope ignored = ScamScreenerProfiler.getInstance().scope("pipeline.total", "Pipeline")) {
             List<StageResult> stageResults = new ArrayList<>();
             List<String> reasons = new ArrayList<>();
+            List<String> skippedStages = null;
             int totalScore = 0;
+            ForkJoinTask<StageResult>[] forkedResults = null;
 
-            for (Stage stage : stages) {
+            for (int stageIndex = 0; stageIndex < stages.size(); stageIndex++) {
+                Stage stage = stages.get(stageIndex);
                 if (stage == null) {
                     // Ignore missing stage entries instead of failing the whole pipeline.
                     continue;
                 }
+                if (stageIndex == forkIndex) {
+                    forkedResults = forkStatelessStages(chatEvent, stageIndex, totalScore);
+                }
+                if (fastDecisions && stage.isSkippable() && outcomeSettled(totalScore, remainingMaxScore(stageIndex))) {
+                    cancelForkedStage(forkedResults, stageIndex);
+                    if (skippedStages == null) {
+                        skippedStages = new ArrayList<>();
+                    }
+                    skippedStages.add(stage.name());
+                    continue;
+                }
 
                 StageResult result;
-                try (ScamScreenerProfiler.Scope stageScope = ScamScreenerProfiler.getInstance().scope(
-                    stagePhaseKey(stage),
-                    stagePhaseLabel(stage)
-                )) {
-                    result = stage.apply(chatEvent);
+                if (forkedResults != null && forkedResults[stageIndex] != null) {
+                    // Join at the stage's own position so the merge order never depends on timing.
+                    result = forkedResults[stageIndex].join();
+                } else {
+                    result = applyStage(stage, chatEvent);
                 }
                 if (result == null) {
                     // Treat null as a neutral no-op so buggy stages fail soft by default.
@@ -80,76 +140,150 @@ public final class PipelineEngine {
                     reasons.add(result.getReason());
                 }
 
-                if (result.getDecision() == Stage.Decision.MUTE) {
-                    return new PipelineDecision(
-                        PipelineDecision.Outcome.MUTED,
-                        totalScore,
-                        result.getStageName(),
-                        stageResults,
-                        reasons
-                    );
+                PipelineDecision.Outcome terminalOutcome = terminalOutcome(result.getDecision());
+                if (terminalOutcome != null) {
+                    cancelForkedStages(forkedResults, stageIndex + 1);
+                    return new PipelineDecision(terminalOutcome, totalScore, result.getStageName(), stageResults, reasons, skippedStages);
                 }
+            }
 
-                if (result.getDecision() == Stage.Decision.WHITELIST) {
-                    return new PipelineDecision(
-                        PipelineDecision.Outcome.WHITELISTED,
-                        totalScore,
-                        result.getStageName(),
-                        stageResults,
-                        reasons
-                    );
+            return finalDecision(totalScore, stageResults, reasons, skippedStages);
+        }
+    }
+
+    /**
+     * Runs the full stage list for a batch of chat events.
+     *
+     * <p>Stages run one after another over the whole batch instead of one event
+     * at a time, so profiler scopes are opened once per stage and stages can
+     * share work across events through {@link Stage#evaluateAll(List)}. Each
+     * stage still sees the events in list order, and events stop receiving
+     * stages once one returns a terminal decision. The decisions therefore match
+     * repeated {@link #evaluate(ChatEvent)} calls as long as no stage reads state
+     * written by another stage or by the caller between events, such as a recent
+     * chat cache that is filled line by line.
+     *
+     * @param chatEvents the chat events to classify, in arrival order
+     * @return one decision per event, in input order
+     * @throws IllegalStateException when a stage returns a batch result count that does not match its input
+     */
+    public List<PipelineDecision> evaluateAll(List<ChatEvent> chatEvents) {
+        if (chatEvents == null || chatEvents.isEmpty()) {
+            return List.of();
+        }
+
+        try (ScamScreenerProfiler.Scope ignored = ScamScreenerProfiler.getInstance().scope("pipeline.batch", "Pipeline Batch")) {
+            int size = chatEvents.size();
+            PipelineDecision[] decisions = new PipelineDecision[size];
+            int[] totalScores = new int[size];
+            List<List<StageResult>> stageResults = new ArrayList<>(size);
+            List<List<String>> reasons = new ArrayList<>(size);
+            List<List<String>> skippedStages = new ArrayList<>(size);
+            List<ChatEvent> activeEvents = new ArrayList<>(chatEvents);
+            int[] activeIndexes = new int[size];
+            for (int index = 0; index < size; index++) {
+                stageResults.add(new ArrayList<>(stages.size()));
+                reasons.add(new ArrayList<>());
+                skippedStages.add(new ArrayList<>());
+                activeIndexes[index] = index;
+            }
+
+            boolean[] settled = new boolean[size];
+            for (int stageIndex = 0; stageIndex < stages.size(); stageIndex++) {
+                Stage stage = stages.get(stageIndex);
+                if (stage == null) {
+                    continue;
+                }
+                if (activeEvents.isEmpty()) {
+                    break;
                 }
 
-                if (result.getDecision() == Stage.Decision.BLACKLIST) {
-                    return new PipelineDecision(
-                        PipelineDecision.Outcome.BLACKLISTED,
-                        totalScore,
-                        result.getStageName(),
-                        stageResults,
-                        reasons
-                    );
+                // Events whose outcome is already settled skip this stage and simply stay active.
+                List<ChatEvent> stageEvents = activeEvents;
+                int settledCount = 0;
+                if (fastDecisions && stage.isSkippable()) {
+                    long remainingMaxScore = remainingMaxScore(stageIndex);
+                    for (int position = 0; position < activeEvents.size(); position++) {
+                        int index = activeIndexes[position];
+                        settled[position] = outcomeSettled(totalScores[index], remainingMaxScore);
+                        if (settled[position]) {
+                            settledCount++;
+                        }
+                    }
+                    if (settledCount > 0) {
+                        stageEvents = new ArrayList<>(activeEvents.size() - settledCount);
+                        for (int position = 0; position < activeEvents.size(); position++) {
+                            if (!settled[position]) {
+                                stageEvents.add(activeEvents.get(position));
+                            }
+                        }
+                    }
                 }
 
-                if (result.getDecision() == Stage.Decision.ALLOW) {
-                    return new PipelineDecision(
-                        PipelineDecision.Outcome.ALLOW,
-                        totalScore,
-                        result.getStageName(),
-                        stageResults,
-                        reasons
-                    );
+                List<StageResult> results;
+                try (ScamScreenerProfiler.Scope stageScope = ScamScreenerProfiler.getInstance().scope(
+                    stagePhaseKey(stage),
+                    stagePhaseLabel(stage)
+                )) {
+                    results = stage.applyAll(stageEvents);
                 }
 
-                if (result.getDecision() == Stage.Decision.BLOCK) {
-                    return new PipelineDecision(
-                        PipelineDecision.Outcome.BLOCK,
-                        totalScore,
-                        result.getStageName(),
-                        stageResults,
-                        reasons
-                    );
+                int remaining = 0;
+                int resultPosition = 0;
+                for (int position = 0; position < activeEvents.size(); position++) {
+                    int index = activeIndexes[position];
+                    if (settledCount > 0 && settled[position]) {
+                        skippedStages.get(index).add(stage.name());
+                        activeEvents.set(remaining, activeEvents.get(position));
+                        activeIndexes[remaining] = index;
+                        remaining++;
+                        continue;
+                    }
+
+                    StageResult result = results.get(resultPosition);
+                    resultPosition++;
+                    if (result == null) {
+                        result = StageResult.pass(stage.name());
+                    }
+
+                    stageResults.get(index).add(result);
+                    totalScores[index] += result.getScoreDelta();
+                    if (result.hasReason()) {
+                        reasons.get(index).add(result.getReason());
+                    }
+
+                    PipelineDecision.Outcome terminalOutcome = terminalOutcome(result.getDecision());
+                    if (terminalOutcome != null) {
+                        decisions[index] = new PipelineDecision(
+                            terminalOutcome,
+                            totalScores[index],
+                            result.getStageName(),
+                            stageResults.get(index),
+                            reasons.get(index),
+                            skippedStages.get(index)
+                        );
+                        continue;
+                    }
+
+                    // Compact the still-running events in place so later stages only see them.
+                    activeEvents.set(remaining, activeEvents.get(position));
+                    activeIndexes[remaining] = index;
+                    remaining++;
                 }
+                activeEvents.subList(remaining, activeEvents.size()).clear();
             }
 
-            if (totalScore >= reviewThreshold) {
-                // Aggregated score crossed the configured threshold, so review is warranted.
-                return new PipelineDecision(
-                    PipelineDecision.Outcome.REVIEW,
-                    totalScore,
-                    "",
-                    stageResults,
-                    reasons
+            for (int position = 0; position < activeEvents.size(); position++) {
+                int index = activeIndexes[position];
+                decisions[index] = finalDecision(
+                    totalScores[index],
+                    stageResults.get(index),
+                    reasons.get(index),
+                    skippedStages.get(index)
                 );
             }
 
-            // No stage made a hard decision and the score stayed below the review threshold.
-            return new PipelineDecision(
-                PipelineDecision.Outcome.IGNORE,
-                totalScore,
-                "",
-                stageResults,
-                reasons
-            );
+            return List.of(decisions);
         }
     }
 
@@ -164,6 +298,137 @@ public final class PipelineEngine {
         return evaluate(ChatEvent.messageOnly(chatMessage));
     }
 
+    /**
+     * Closes every stage of this engine.
+     *
+     * <p>Call this when the engine is replaced, so stages hand back what they registered
+     * with shared stores instead of leaving it to the stores to notice.
+     */
+    public void close() {
+        for (Stage stage : stages) {
+            if (stage != null) {
+                stage.close();
+            }
+        }
+    }
+
+    private static int firstStatelessIndex(List<Stage> stages) {
+        for (int stageIndex = 0; stageIndex < stages.size(); stageIndex++) {
+            Stage stage = stages.get(stageIndex);
+            if (stage != null && stage.isStateless()) {
+                return stageIndex;
+            }
+        }
+
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private ForkJoinTask<StageResult>[] forkStatelessStages(ChatEvent chatEvent, int currentIndex, int totalScore) {
+        // Settled against every stage still to come, so skippable stages stay settled wherever they sit.
+        boolean settled = fastDecisions && outcomeSettled(totalScore, remainingMaxScore(currentIndex));
+        ForkJoinTask<StageResult>[] forkedResults = null;
+        // The current stage runs inline on the caller; only the ones after it go ahead.
+        for (int stageIndex = currentIndex + 1; stageIndex < stages.size(); stageIndex++) {
+            Stage stage = stages.get(stageIndex);
+            if (stage == null || !stage.isStateless() || (settled && stage.isSkippable())) {
+                continue;
+            }
+            if (forkedResults == null) {
+                forkedResults = new ForkJoinTask[stages.size()];
+            }
+            forkedResults[stageIndex] = ForkJoinPool.commonPool().submit(() -> applyStage(stage, chatEvent));
+        }
+
+        return forkedResults;
+    }
+
+    private static void cancelForkedStage(ForkJoinTask<StageResult>[] forkedResults, int stageIndex) {
+        if (forkedResults != null && forkedResults[stageIndex] != null) {
+            forkedResults[stageIndex].cancel(false);
+        }
+    }
+
+    private static void cancelForkedStages(ForkJoinTask<StageResult>[] forkedResults, int fromIndex) {
+        if (forkedResults == null) {
+            return;
+        }
+
+        // Results after a terminal decision are never merged, so unstarted work can be dropped.
+        for (int stageIndex = fromIndex; stageIndex < forkedResults.length; stageIndex++) {
+            if (forkedResults[stageIndex] != null) {
+                forkedResults[stageIndex].cancel(false);
+            }
+        }
+    }
+
+    private static StageResult applyStage(Stage stage, ChatEvent chatEvent) {
+        try (ScamScreenerProfiler.Scope stageScope = ScamScreenerProfiler.getInstance().scope(
+            stagePhaseKey(stage),
+            stagePhaseLabel(stage)
+        )) {
+            return stage.apply(chatEvent);
+        }
+    }
+
+    private long remainingMaxScore(int fromIndex) {
+        long remaining = 0L;
+        for (int stageIndex = fromIndex; stageIndex < stages.size(); stageIndex++) {
+            Stage stage = stages.get(stageIndex);
+            if (stage == null) {
+                continue;
+            }
+
+            int maxScoreDelta = stage.maxScoreDelta();
+            if (maxScoreDelta < 0) {
+                // An unbounded stage may still end the pipeline or lower the score.
+                return Stage.UNBOUNDED_SCORE;
+            }
+            remaining += maxScoreDelta;
+        }
+
+        return remaining;
+    }
+
+    private boolean outcomeSettled(int totalScore, long remainingMaxScore) {
+        if (remainingMaxScore < 0L) {
+            return false;
+        }
+
+        // Bounded stages only add non-negative scores, so review stays review and a gap larger than all bounds stays ignore.
+        return totalScore >= reviewThreshold || totalScore + remainingMaxScore < reviewThreshold;
+    }
+
+    private PipelineDecision finalDecision(
+        int totalScore,
+        List<StageResult> stageResults,
+        List<String> reasons,
+        List<String> skippedStages
+    ) {
+        if (totalScore >= reviewThreshold) {
+            // Aggregated score crossed the configured threshold, so review is warranted.
+            return new PipelineDecision(PipelineDecision.Outcome.REVIEW, totalScore, "", stageResults, reasons, skippedStages);
+        }
+
+        // No stage made a hard decision and the score stayed below the review threshold.
+        return new PipelineDecision(PipelineDecision.Outcome.IGNORE, totalScore, "", stageResults, reasons, skippedStages);
+    }
+
+    private static PipelineDecision.Outcome terminalOutcome(Stage.Decision decision) {
+        if (decision == null) {
+            return null;
+        }
+
+        return switch (decision) {
+            case MUTE -> PipelineDecision.Outcome.MUTED;
+            case WHITELIST -> PipelineDecision.Outcome.WHITELISTED;
+            case BLACKLIST -> PipelineDecision.Outcome.BLACKLISTED;
+            case ALLOW -> PipelineDecision.Outcome.ALLOW;
+            case BLOCK -> PipelineDecision.Outcome.BLOCK;
+            case PASS -> null;
+        };
+    }
+
     private static String stagePhaseKey(Stage stage) {
         return "pipeline." + TrainingCaseMappings.stageId(stage == null ? "" : stage.name());
     }
@@ -188,6 +188,50 @@ public class ScamScreenerPipelineFactory {
         RecentChatCache recentChatCache,
         int reviewThreshold,
         Iterable<StageContribution> stageContributions
+    ) {
+        return createDefaultEngine(
+            whitelist,
+            blacklist,
+            rulesConfig,
+            behaviorStore,
+            trendStore,
+            funnelStore,
+            recentChatCache,
+            reviewThreshold,
+            false,
+            false,
+            stageContributions
+        );
+    }
+
+    /**
+     * Creates the default engine with contributed stages and explicit execution options.
+     *
+     * @param whitelist the runtime whitelist shared by the pipeline
+     * @param blacklist the runtime blacklist shared by the pipeline
+     * @param rulesConfig the loaded rule configuration shared by rule-driven stages
+     * @param behaviorStore the shared sender-local behavior store
+     * @param trendStore the shared cross-sender trend store
+     * @param funnelStore the shared sender-local funnel store
+     * @param recentChatCache the shared recent-chat cache
+     * @param reviewThreshold the score needed for a review outcome
+     * @param parallelStatelessStages whether stateless stages run ahead on worker threads
+     * @param fastDecisions whether skippable stages are left out once the outcome is settled
+     * @param stageContributions the stages contributed by other mods
+     * @return a pipeline engine with the configured options
+     */
+    public PipelineEngine createDefaultEngine(
+        Whitelist whitelist,
+        Blacklist blacklist,
+        RulesConfig rulesConfig,
+        BehaviorStore behaviorStore,
+        TrendStore trendStore,
+        FunnelStore funnelStore,
+        RecentChatCache recentChatCache,
+        int reviewThreshold,
+        boolean parallelStatelessStages,
+        boolean fastDecisions,
+        Iterable<StageContribution> stageContributions
     ) {
         return new PipelineEngine(createDefaultStages(
             whitelist,
@@ -198,7 +242,7 @@ public class ScamScreenerPipelineFactory {
             funnelStore,
             recentChatCache,
             stageContributions
-        ), reviewThreshold);
+        ), reviewThreshold, parallelStatelessStages, fastDecisions);
     }
 
     static List<Stage> orderedStages(Map<StageSlot, Stage> coreStages, Iterable<StageContribution> stageContributions) {
@@ -3,6 +3,7 @@ package eu.tango.scamscreener.pipeline.core;
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.StageResult;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -13,6 +14,11 @@ import java.util.List;
  * consistent {@link StageResult} values.
  */
 public abstract class Stage {
+    /**
+     * Marks a stage whose score contribution has no known upper bound.
+     */
+    public static final int UNBOUNDED_SCORE = -1;
+
     /**
      * Evaluates a chat event after applying shared guard logic.
      *
@@ -39,6 +45,50 @@ public abstract class Stage {
         return apply(ChatEvent.messageOnly(chatMessage));
     }
 
+    /**
+     * Evaluates a batch of chat events after applying the shared guard logic to each one.
+     *
+     * <p>The returned list has one result per input event, in input order. Events
+     * are handed to {@link #evaluateAll(List)} in the same order, so stateful
+     * stages observe the same sequence as with repeated {@link #apply(ChatEvent)} calls.
+     *
+     * @param chatEvents the chat events to evaluate
+     * @return one result per event
+     * @throws IllegalStateException when {@link #evaluateAll(List)} does not return one result per event
+     */
+    public final List<StageResult> applyAll(List<ChatEvent> chatEvents) {
+        if (chatEvents == null || chatEvents.isEmpty()) {
+            return List.of();
+        }
+
+        List<ChatEvent> evaluable = new ArrayList<>(chatEvents.size());
+        for (ChatEvent chatEvent : chatEvents) {
+            if (chatEvent != null && !chatEvent.getRawMessage().isBlank()) {
+                evaluable.add(chatEvent);
+            }
+        }
+        List<StageResult> evaluated = evaluable.isEmpty() ? List.of() : evaluateAll(evaluable);
+        if (evaluated == null || evaluated.size() != evaluable.size()) {
+            // Padding with passes would report a broken batch implementation as clean verdicts.
+            throw new IllegalStateException(name() + " returned " + (evaluated == null ? 0 : evaluated.size())
+                + " results for " + evaluable.size() + " chat events");
+        }
+
+        List<StageResult> results = new ArrayList<>(chatEvents.size());
+        int cursor = 0;
+        for (ChatEvent chatEvent : chatEvents) {
+            if (chatEvent == null || chatEvent.getRawMessage().isBlank()) {
+                results.add(pass());
+                continue;
+            }
+            StageResult result = evaluated.get(cursor);
+            cursor++;
+            results.add(result == null ? pass() : result);
+        }
+
+        return results;
+    }
+
     /**
      * Contains the actual stage-specific logic.
      *
@@ -47,6 +97,74 @@ public abstract class Stage {
      */
     protected abstract StageResult evaluate(ChatEvent chatEvent);
 
+    /**
+     * Contains the stage-specific logic for a batch of non-blank chat events.
+     *
+     * <p>The default implementation evaluates the events one by one. Stages can
+     * override it to share work across the batch, but must return one result
+     * per event in input order.
+     *
+     * @param chatEvents the chat events to evaluate, in arrival order
+     * @return one result per event
+     */
+    protected List<StageResult> evaluateAll(List<ChatEvent> chatEvents) {
+        List<StageResult> results = new ArrayList<>(chatEvents.size());
+        for (ChatEvent chatEvent : chatEvents) {
+            results.add(evaluate(chatEvent));
+        }
+
+        return results;
+    }
+
+    /**
+     * Indicates whether this stage is a pure function of the chat event.
+     *
+     * <p>Stateless stages read nothing but the event and their immutable rules,
+     * write no shared state and are safe to call from any thread. The engine may
+     * then evaluate them ahead of their turn on a worker thread.
+     *
+     * @return {@code true} when the stage is stateless; {@code false} by default
+     */
+    public boolean isStateless() {
+        return false;
+    }
+
+    /**
+     * Returns the largest score this stage can add to one message.
+     *
+     * <p>A non-negative bound promises that the stage only ever passes with a
+     * score between zero and that bound, so it can neither lower the total nor
+     * end the pipeline. Stages that may return terminal decisions keep the
+     * default.
+     *
+     * @return the upper score bound, or {@link #UNBOUNDED_SCORE} when unknown
+     */
+    public int maxScoreDelta() {
+        return UNBOUNDED_SCORE;
+    }
+
+    /**
+     * Indicates whether the engine may leave this stage out once the outcome is settled.
+     *
+     * <p>Skipped stages never see the event, so stages that record history must
+     * not be skippable.
+     *
+     * @return {@code true} when skipping has no side effects; defaults to {@link #isStateless()}
+     */
+    public boolean isSkippable() {
+        return isStateless();
+    }
+
+    /**
+     * Releases anything the stage registered with shared state, such as cache listeners.
+     *
+     * <p>The engine calls this once it has been replaced, while an evaluation that
+     * started earlier may still be running, so a closed stage must keep answering
+     * with neutral results. The default does nothing.
+     */
+    public void close() {
+    }
+
     /**
      * Returns a human-readable stage name for logging and debugging.
      *
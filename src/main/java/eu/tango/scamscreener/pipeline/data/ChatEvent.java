@@ -1,7 +1,11 @@
 package eu.tango.scamscreener.pipeline.data;
 
 import com.mojang.authlib.GameProfile;
+import eu.tango.scamscreener.chat.InboundChatText;
 import eu.tango.scamscreener.chat.TextNormalization;
+import eu.tango.scamscreener.pipeline.rule.SignalMemo;
+import eu.tango.scamscreener.pipeline.rule.TokenView;
+import lombok.AccessLevel;
 import lombok.Getter;
 import net.minecraft.network.chat.Component;
 import java.time.Instant;
@@ -17,9 +21,8 @@ import java.util.UUID;
 @Getter
 public final class ChatEvent {
     private final String rawMessage;
-    private final String normalizedMessage;
-    private final String similarityMessage;
-    private final String messageFingerprint;
+    @Getter(AccessLevel.NONE)
+    private final NormalizedMessage normalized;
     private final UUID senderUuid;
     private final String senderName;
     private final String senderKey;
@@ -49,10 +52,20 @@ public final class ChatEvent {
      */
     public ChatEvent(String rawMessage, UUID senderUuid, String senderName, long timestampMs, ChatSourceType sourceType) {
         // Normalize null input early so downstream stages can stay simple.
-        this.rawMessage = rawMessage == null ? "" : rawMessage;
-        this.normalizedMessage = normalizeMessage(this.rawMessage);
-        this.similarityMessage = TextNormalization.normalizeForSimilarity(this.rawMessage);
-        this.messageFingerprint = similarityMessage;
+        this(rawMessage == null ? "" : rawMessage, null, senderUuid, senderName, timestampMs, sourceType);
+    }
+
+    private ChatEvent(
+        String rawMessage,
+        NormalizedMessage normalized,
+        UUID senderUuid,
+        String senderName,
+        long timestampMs,
+        ChatSourceType sourceType
+    ) {
+        this.rawMessage = rawMessage;
+        // Text forms are computed on first use; most system and ignored lines never need them.
+        this.normalized = normalized == null ? new NormalizedMessage(rawMessage) : normalized;
         this.senderUuid = senderUuid;
         this.senderName = senderName == null ? "" : senderName.trim();
         this.timestampMs = timestampMs;
@@ -139,12 +152,40 @@ public final class ChatEvent {
         int maxChatLength,
         ChatSourceType sourceType
     ) {
-        String rawMessage = message == null ? "" : message.getString(maxChatLength);
+        return fromInboundChat(InboundChatText.of(message), sender, params, receptionTimestamp, maxChatLength, sourceType);
+    }
+
+    /**
+     * Creates a chat event from an already extracted inbound component.
+     *
+     * <p>When neither the profile nor the parameters name a sender, the name found in the
+     * component's click events is used.
+     *
+     * @param message the extracted inbound chat text
+     * @param sender the sender profile, if available
+     * @param params the Fabric message parameter object, if available
+     * @param receptionTimestamp the receive timestamp
+     * @param maxChatLength the maximum message length to extract
+     * @param sourceType the detected source type of the message
+     * @return a normalized chat event for pipeline processing
+     */
+    public static ChatEvent fromInboundChat(
+        InboundChatText message,
+        GameProfile sender,
+        Object params,
+        Instant receptionTimestamp,
+        int maxChatLength,
+        ChatSourceType sourceType
+    ) {
+        String rawMessage = message == null ? "" : message.text(maxChatLength);
         UUID senderUuid = sender == null ? null : sender.id();
         String senderName = sender == null || sender.name() == null ? "" : sender.name();
         if (senderName.isBlank()) {
             senderName = extractSenderNameFromParams(params, maxChatLength);
         }
+        if (senderName.isBlank() && message != null) {
+            senderName = message.senderName();
+        }
         long timestampMs = receptionTimestamp == null ? System.currentTimeMillis() : receptionTimestamp.toEpochMilli();
 
         // Centralize callback-to-event conversion so the listener stays lean.
@@ -159,7 +200,7 @@ public final class ChatEvent {
      * @return a normalized system chat event for pipeline processing
      */
     public static ChatEvent fromGameMessage(Component message, int maxChatLength) {
-        String rawMessage = message == null ? "" : message.getString(maxChatLength);
+        String rawMessage = InboundChatText.of(message).text(maxChatLength);
         return new ChatEvent(rawMessage, null, "", System.currentTimeMillis(), ChatSourceType.SYSTEM);
     }
 
@@ -178,6 +219,65 @@ public final class ChatEvent {
         return message.trim().toLowerCase(Locale.ROOT);
     }
 
+    /**
+     * Returns this event re-classified with another source type.
+     *
+     * <p>The copy shares the normalized text forms, so re-wrapping never normalizes again.
+     *
+     * @param sourceType the new source type
+     * @return an event with the same message, sender and timestamp
+     */
+    public ChatEvent withSourceType(ChatSourceType sourceType) {
+        return new ChatEvent(rawMessage, normalized, senderUuid, senderName, timestampMs, sourceType);
+    }
+
+    /**
+     * Returns the trimmed lowercase message used for case-insensitive matching.
+     *
+     * @return the normalized message text
+     */
+    public String getNormalizedMessage() {
+        return normalized.text().lowercase();
+    }
+
+    /**
+     * Returns the de-obfuscated message used for similarity checks.
+     *
+     * @return the similarity text
+     */
+    public String getSimilarityMessage() {
+        return normalized.text().similarity();
+    }
+
+    /**
+     * Returns the 64-bit fingerprint of the similarity text.
+     *
+     * @return the fingerprint, or {@code 0} for blank text
+     */
+    public long getMessageFingerprint() {
+        return normalized.text().fingerprint();
+    }
+
+    /**
+     * Returns the rule-signal memo shared by every event carrying this text.
+     *
+     * @return the signal memo
+     */
+    public SignalMemo getSignalMemo() {
+        return normalized.signalMemo();
+    }
+
+    /**
+     * Loads the precomputed tokens of the similarity text into a reusable view.
+     *
+     * @param view the view to fill
+     * @return the filled view
+     */
+    public TokenView loadSimilarityTokens(TokenView view) {
+        TextNormalization.NormalizedText text = normalized.text();
+        return view.load(text.similarity(), text.tokenBounds());
+    }
+
     /**
      * Indicates whether sender metadata is available on this event.
      *
@@ -0,0 +1,46 @@
+package eu.tango.scamscreener.pipeline.data;
+
+import eu.tango.scamscreener.chat.TextNormalization;
+import eu.tango.scamscreener.pipeline.rule.SignalMemo;
+
+/**
+ * Lazily computed normalized forms of one message text.
+ *
+ * <p>The forms come from one {@link TextNormalization#normalize(String)} pass on first
+ * access, so lines dropped right after classification are never normalized. Events that
+ * re-wrap the same text share one instance, including its signal memo.
+ */
+final class NormalizedMessage {
+    private final String rawMessage;
+    private volatile Forms forms;
+
+    NormalizedMessage(String rawMessage) {
+        this.rawMessage = rawMessage;
+    }
+
+    TextNormalization.NormalizedText text() {
+        return forms().text();
+    }
+
+    SignalMemo signalMemo() {
+        return forms().signalMemo();
+    }
+
+    private Forms forms() {
+        Forms current = forms;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (forms == null) {
+                TextNormalization.NormalizedText text = TextNormalization.normalize(rawMessage);
+                forms = new Forms(text, new SignalMemo(text.lowercase()));
+            }
+            return forms;
+        }
+    }
+
+    private record Forms(TextNormalization.NormalizedText text, SignalMemo signalMemo) {
+    }
+}
@@ -18,6 +18,7 @@ public final class PipelineDecision {
     private final String decidedByStage;
     private final List<StageResult> stageResults;
     private final List<String> reasons;
+    private final List<String> skippedStages;
 
     /**
      * Creates a final pipeline decision.
@@ -34,6 +35,27 @@ public final class PipelineDecision {
         String decidedByStage,
         List<StageResult> stageResults,
         List<String> reasons
+    ) {
+        this(outcome, totalScore, decidedByStage, stageResults, reasons, List.of());
+    }
+
+    /**
+     * Creates a final pipeline decision that records stages skipped by a fast decision.
+     *
+     * @param outcome the final outcome of the pipeline
+     * @param totalScore the accumulated score across all executed stages
+     * @param decidedByStage the stage that produced the final outcome
+     * @param stageResults the ordered results returned by executed stages
+     * @param reasons the collected non-empty reasons returned by stages
+     * @param skippedStages the stages left out because they could no longer change the outcome
+     */
+    public PipelineDecision(
+        @NonNull Outcome outcome,
+        int totalScore,
+        String decidedByStage,
+        List<StageResult> stageResults,
+        List<String> reasons,
+        List<String> skippedStages
     ) {
         this.outcome = outcome;
         this.totalScore = totalScore;
@@ -42,6 +64,19 @@ public final class PipelineDecision {
         // Freeze lists at the boundary so the result stays immutable.
         this.stageResults = stageResults == null ? List.of() : List.copyOf(stageResults);
         this.reasons = reasons == null ? List.of() : List.copyOf(reasons);
+        this.skippedStages = skippedStages == null ? List.of() : List.copyOf(skippedStages);
+    }
+
+    /**
+     * Indicates whether the engine stopped early because the outcome was already settled.
+     *
+     * <p>The outcome is the same as a full run, but the total score only covers
+     * the stages that actually ran.
+     *
+     * @return {@code true} when at least one stage was skipped
+     */
+    public boolean isFastDecision() {
+        return !skippedStages.isEmpty();
     }
 
     /**
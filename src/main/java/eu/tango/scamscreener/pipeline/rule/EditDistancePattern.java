@@ -0,0 +1,195 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Precompiled edit-distance pattern for one similarity phrase.
+ *
+ * <p>Phrases of up to 64 characters use the bit-parallel Myers/Hyyrö
+ * algorithm, which handles one text character per step with a few word
+ * operations. Longer phrases fall back to a Ukkonen-banded dynamic program
+ * bounded by the caller's maximum useful distance.
+ */
+public final class EditDistancePattern {
+    private static final int ASCII_LIMIT = 128;
+    private static final ThreadLocal<int[][]> BANDED_ROWS = ThreadLocal.withInitial(() -> new int[2][0]);
+
+    private final String phrase;
+    private final long[] asciiMasks;
+    private final Map<Character, Long> extendedMasks;
+    private final long lastBit;
+
+    private EditDistancePattern(String phrase) {
+        this.phrase = phrase;
+        if (phrase.isEmpty() || phrase.length() > Long.SIZE) {
+            asciiMasks = null;
+            extendedMasks = Map.of();
+            lastBit = 0L;
+            return;
+        }
+
+        asciiMasks = new long[ASCII_LIMIT];
+        Map<Character, Long> extended = new HashMap<>();
+        for (int index = 0; index < phrase.length(); index++) {
+            char character = phrase.charAt(index);
+            long bit = 1L << index;
+            if (character < ASCII_LIMIT) {
+                asciiMasks[character] |= bit;
+            } else {
+                extended.merge(character, bit, (left, right) -> left | right);
+            }
+        }
+        extendedMasks = Map.copyOf(extended);
+        lastBit = 1L << (phrase.length() - 1);
+    }
+
+    /**
+     * Compiles the pattern masks of one normalized phrase.
+     *
+     * @param phrase the normalized phrase
+     * @return the compiled pattern
+     */
+    public static EditDistancePattern compile(String phrase) {
+        return new EditDistancePattern(phrase == null ? "" : phrase);
+    }
+
+    /**
+     * Returns the normalized phrase of this pattern.
+     *
+     * @return the normalized phrase
+     */
+    public String phrase() {
+        return phrase;
+    }
+
+    /**
+     * Returns the phrase length.
+     *
+     * @return the phrase length in characters
+     */
+    public int length() {
+        return phrase.length();
+    }
+
+    /**
+     * Computes the Levenshtein distance between the text and this phrase.
+     *
+     * <p>The result is exact whenever it does not exceed {@code maxDistance}.
+     * Larger distances may be cut short and only guarantee a value above the
+     * bound, which lets callers skip hopeless comparisons early.
+     *
+     * @param text the text to compare
+     * @param maxDistance the largest distance the caller still cares about
+     * @return the edit distance, or any value above {@code maxDistance}
+     */
+    public int distance(CharSequence text, int maxDistance) {
+        CharSequence safeText = text == null ? "" : text;
+        if (phrase.isEmpty()) {
+            return safeText.length();
+        }
+        if (safeText.isEmpty()) {
+            return phrase.length();
+        }
+        if (asciiMasks != null) {
+            return bitParallelDistance(safeText, maxDistance);
+        }
+
+        return bandedDistance(safeText, maxDistance);
+    }
+
+    private int bitParallelDistance(CharSequence text, int maxDistance) {
+        long positive = -1L;
+        long negative = 0L;
+        int score = phrase.length();
+        int textLength = text.length();
+        for (int index = 0; index < textLength; index++) {
+            long equal = mask(text.charAt(index));
+            long vertical = equal | negative;
+            long horizontal = (((equal & positive) + positive) ^ positive) | equal;
+            long horizontalPositive = negative | ~(horizontal | positive);
+            long horizontalNegative = positive & horizontal;
+            if ((horizontalPositive & lastBit) != 0L) {
+                score++;
+            } else if ((horizontalNegative & lastBit) != 0L) {
+                score--;
+            }
+
+            // Each remaining column can lower the score by at most one.
+            if (score - (textLength - index - 1) > maxDistance) {
+                return score - (textLength - index - 1);
+            }
+
+            // Shifting in a one keeps the top row at D[0][j] = j for a global distance.
+            horizontalPositive = (horizontalPositive << 1) | 1L;
+            horizontalNegative <<= 1;
+            positive = horizontalNegative | ~(vertical | horizontalPositive);
+            negative = horizontalPositive & vertical;
+        }
+
+        return score;
+    }
+
+    private long mask(char character) {
+        if (character < ASCII_LIMIT) {
+            return asciiMasks[character];
+        }
+
+        Long mask = extendedMasks.get(character);
+        return mask == null ? 0L : mask;
+    }
+
+    private int bandedDistance(CharSequence text, int maxDistance) {
+        int textLength = text.length();
+        int phraseLength = phrase.length();
+        int band = Math.max(0, Math.min(maxDistance, Math.max(textLength, phraseLength)));
+        if (Math.abs(textLength - phraseLength) > band) {
+            return band + 1;
+        }
+
+        int outside = band + 1;
+        int[][] rows = BANDED_ROWS.get();
+        if (rows[0].length < phraseLength + 1) {
+            rows[0] = new int[phraseLength + 1];
+            rows[1] = new int[phraseLength + 1];
+        }
+        int[] previous = rows[0];
+        int[] current = rows[1];
+        for (int index = 0; index <= phraseLength; index++) {
+            previous[index] = index <= band ? index : outside;
+        }
+
+        for (int textIndex = 1; textIndex <= textLength; textIndex++) {
+            int from = Math.max(1, textIndex - band);
+            int to = Math.min(phraseLength, textIndex + band);
+            current[0] = textIndex <= band ? textIndex : outside;
+            if (from > 1) {
+                current[from - 1] = outside;
+            }
+
+            char textCharacter = text.charAt(textIndex - 1);
+            int rowMinimum = current[0];
+            for (int phraseIndex = from; phraseIndex <= to; phraseIndex++) {
+                int substitutionCost = textCharacter == phrase.charAt(phraseIndex - 1) ? 0 : 1;
+                int value = Math.min(
+                    Math.min(current[phraseIndex - 1] + 1, previous[phraseIndex] + 1),
+                    previous[phraseIndex - 1] + substitutionCost
+                );
+                current[phraseIndex] = Math.min(value, outside);
+                rowMinimum = Math.min(rowMinimum, current[phraseIndex]);
+            }
+            if (to < phraseLength) {
+                current[to + 1] = outside;
+            }
+            if (rowMinimum > band) {
+                return outside;
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[phraseLength];
+    }
+}
@@ -0,0 +1,142 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Aho-Corasick automaton over the literal sets of up to 64 rule slots.
+ *
+ * <p>The automaton is compiled into a dense transition table once, so one scan
+ * walks the text exactly once and reports every slot with at least one literal
+ * occurrence as a bit mask.
+ */
+final class LiteralAutomaton {
+    static final int MAX_SLOTS = Long.SIZE;
+    private static final int ASCII_LIMIT = 128;
+
+    private final int[] asciiSymbols = new int[ASCII_LIMIT];
+    private final Map<Character, Integer> extendedSymbols = new HashMap<>();
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final long[] outputs;
+
+    /**
+     * Compiles the automaton from per-slot literal sets.
+     *
+     * @param literalsBySlot the literal set of each slot, {@code null} or empty for slots without literals
+     */
+    LiteralAutomaton(List<Set<String>> literalsBySlot) {
+        if (literalsBySlot.size() > MAX_SLOTS) {
+            throw new IllegalArgumentException("LiteralAutomaton supports at most " + MAX_SLOTS + " slots");
+        }
+
+        int nextSymbol = 1;
+        List<Map<Character, Integer>> trie = new ArrayList<>();
+        List<Long> trieOutputs = new ArrayList<>();
+        trie.add(new HashMap<>());
+        trieOutputs.add(0L);
+        for (int slot = 0; slot < literalsBySlot.size(); slot++) {
+            Set<String> literals = literalsBySlot.get(slot);
+            if (literals == null) {
+                continue;
+            }
+
+            for (String literal : literals) {
+                if (literal == null || literal.isEmpty()) {
+                    continue;
+                }
+
+                int state = 0;
+                for (int index = 0; index < literal.length(); index++) {
+                    char character = literal.charAt(index);
+                    if (symbol(character) == 0) {
+                        nextSymbol = assignSymbol(character, nextSymbol);
+                    }
+
+                    Integer next = trie.get(state).get(character);
+                    if (next == null) {
+                        next = trie.size();
+                        trie.add(new HashMap<>());
+                        trieOutputs.add(0L);
+                        trie.get(state).put(character, next);
+                    }
+                    state = next;
+                }
+                trieOutputs.set(state, trieOutputs.get(state) | (1L << slot));
+            }
+        }
+
+        alphabetSize = nextSymbol;
+        transitions = new int[trie.size() * alphabetSize];
+        outputs = new long[trie.size()];
+        for (int state = 0; state < trie.size(); state++) {
+            outputs[state] = trieOutputs.get(state);
+        }
+
+        // Breadth-first construction turns failure links into direct transitions.
+        int[] failure = new int[trie.size()];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (Map.Entry<Character, Integer> edge : trie.get(0).entrySet()) {
+            transitions[symbol(edge.getKey())] = edge.getValue();
+            queue.add(edge.getValue());
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            outputs[state] |= outputs[failure[state]];
+            int rowOffset = state * alphabetSize;
+            int failureOffset = failure[state] * alphabetSize;
+            System.arraycopy(transitions, failureOffset, transitions, rowOffset, alphabetSize);
+            for (Map.Entry<Character, Integer> edge : trie.get(state).entrySet()) {
+                int child = edge.getValue();
+                int symbol = symbol(edge.getKey());
+                failure[child] = transitions[failureOffset + symbol];
+                transitions[rowOffset + symbol] = child;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Scans the text once and reports which slots had a literal occurrence.
+     *
+     * @param text the text to scan
+     * @return a bit mask with one bit per matching slot
+     */
+    long scan(String text) {
+        if (text == null || text.isEmpty() || alphabetSize <= 1) {
+            return 0L;
+        }
+
+        long mask = 0L;
+        int state = 0;
+        for (int index = 0; index < text.length(); index++) {
+            state = transitions[state * alphabetSize + symbol(text.charAt(index))];
+            mask |= outputs[state];
+        }
+
+        return mask;
+    }
+
+    private int symbol(char character) {
+        if (character < ASCII_LIMIT) {
+            return asciiSymbols[character];
+        }
+
+        Integer symbol = extendedSymbols.get(character);
+        return symbol == null ? 0 : symbol;
+    }
+
+    private int assignSymbol(char character, int nextSymbol) {
+        if (character < ASCII_LIMIT) {
+            asciiSymbols[character] = nextSymbol;
+        } else {
+            extendedSymbols.put(character, nextSymbol);
+        }
+
+        return nextSymbol + 1;
+    }
+}
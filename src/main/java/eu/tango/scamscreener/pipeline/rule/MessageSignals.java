@@ -0,0 +1,67 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+/**
+ * Every rule result of one message, computed once by {@link RuleCatalog#signals(String)}.
+ *
+ * <p>Stages read regex hits, phrase scores and the coarse signal mask from
+ * this snapshot instead of re-matching the same text.
+ */
+public final class MessageSignals {
+    private final RuleHits hits;
+    private final Rule.PhraseScore urgency;
+    private final Rule.PhraseScore trust;
+    private final int mask;
+
+    MessageSignals(RuleHits hits, Rule.PhraseScore urgency, Rule.PhraseScore trust, int mask) {
+        this.hits = hits;
+        this.urgency = urgency;
+        this.trust = trust;
+        this.mask = mask;
+    }
+
+    /**
+     * Returns the regex hits of the message.
+     *
+     * @return the regex hits
+     */
+    public RuleHits hits() {
+        return hits;
+    }
+
+    /**
+     * Returns the urgency phrase score of the message.
+     *
+     * @return the urgency phrase score
+     */
+    public Rule.PhraseScore urgency() {
+        return urgency;
+    }
+
+    /**
+     * Returns the trust phrase score of the message.
+     *
+     * @return the trust phrase score
+     */
+    public Rule.PhraseScore trust() {
+        return trust;
+    }
+
+    /**
+     * Returns the raw signal mask with one {@link RuleSignal#mask()} bit per signal.
+     *
+     * @return the signal mask
+     */
+    public int mask() {
+        return mask;
+    }
+
+    /**
+     * Indicates whether the given signal fired for the message.
+     *
+     * @param signal the signal to check
+     * @return {@code true} when the signal fired
+     */
+    public boolean has(RuleSignal signal) {
+        return signal != null && (mask & signal.mask()) != 0;
+    }
+}
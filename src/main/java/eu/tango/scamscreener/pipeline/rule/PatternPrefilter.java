@@ -0,0 +1,378 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Conservative literal extraction for regex-backed rules.
+ *
+ * <p>For one regex this derives a small set of literal strings so that every
+ * possible match contains at least one of them. The {@link RuleScanner} feeds
+ * those literals into one shared automaton and only runs the full regex when
+ * one of its literals was seen. Patterns using constructs this parser does not
+ * understand produce no literal set and are therefore always evaluated.
+ */
+final class PatternPrefilter {
+    private static final int MAX_EXACT_SET_SIZE = 16;
+    private static final int MAX_CLASS_LITERALS = 4;
+    private static final Literals ANY = new Literals(null, null);
+    private static final Literals EMPTY = new Literals(Set.of(""), null);
+
+    private PatternPrefilter() {
+    }
+
+    /**
+     * Returns literals of which every regex match must contain at least one.
+     *
+     * @param rawPattern the regex source
+     * @return the required literal set, or {@code null} when no safe set exists
+     */
+    static Set<String> requiredLiterals(String rawPattern) {
+        if (rawPattern == null || rawPattern.isBlank()) {
+            return null;
+        }
+
+        try {
+            Parser parser = new Parser(rawPattern);
+            Literals literals = parser.parseAlternation();
+            if (!parser.atEnd()) {
+                return null;
+            }
+
+            return literals.required();
+        } catch (UnsupportedPatternException ignored) {
+            return null;
+        }
+    }
+
+    private static Literals concatExact(Literals left, Literals right) {
+        if (left.exact() == null || right.exact() == null
+            || left.exact().size() * right.exact().size() > MAX_EXACT_SET_SIZE) {
+            return null;
+        }
+
+        Set<String> product = new LinkedHashSet<>();
+        for (String prefix : left.exact()) {
+            for (String suffix : right.exact()) {
+                product.add(prefix + suffix);
+            }
+        }
+
+        return new Literals(product, null);
+    }
+
+    private static Literals alternate(Literals left, Literals right) {
+        if (left.exact() != null && right.exact() != null) {
+            Set<String> union = new LinkedHashSet<>(left.exact());
+            union.addAll(right.exact());
+            if (union.size() <= MAX_EXACT_SET_SIZE) {
+                return new Literals(union, null);
+            }
+        }
+
+        Set<String> leftRequired = left.required();
+        Set<String> rightRequired = right.required();
+        if (leftRequired == null || rightRequired == null) {
+            return ANY;
+        }
+
+        Set<String> union = new LinkedHashSet<>(leftRequired);
+        union.addAll(rightRequired);
+        return new Literals(null, union);
+    }
+
+    private static Literals repeat(Literals atom, int min, int max) {
+        if (max == 0) {
+            return EMPTY;
+        }
+        if (min == 1 && max == 1) {
+            return atom;
+        }
+        if (min == 0) {
+            if (max == 1 && atom.exact() != null && atom.exact().size() < MAX_EXACT_SET_SIZE) {
+                Set<String> optional = new LinkedHashSet<>(atom.exact());
+                optional.add("");
+                return new Literals(optional, null);
+            }
+
+            return ANY;
+        }
+
+        // At least one repetition still has to contain the atom's own literals.
+        return new Literals(null, atom.required());
+    }
+
+    private static Set<String> stronger(Set<String> left, Set<String> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+
+        int leftLength = shortestLength(left);
+        int rightLength = shortestLength(right);
+        if (leftLength != rightLength) {
+            return leftLength > rightLength ? left : right;
+        }
+
+        return left.size() <= right.size() ? left : right;
+    }
+
+    private static int shortestLength(Set<String> literals) {
+        int shortest = Integer.MAX_VALUE;
+        for (String literal : literals) {
+            shortest = Math.min(shortest, literal.length());
+        }
+
+        return shortest;
+    }
+
+    /**
+     * Literal knowledge about one regex fragment.
+     *
+     * @param exact the complete finite set of strings the fragment can match, or {@code null}
+     * @param requiredLiterals literals of which every match contains one, or {@code null} for no constraint
+     */
+    private record Literals(Set<String> exact, Set<String> requiredLiterals) {
+        private Set<String> required() {
+            if (exact == null) {
+                return requiredLiterals;
+            }
+
+            return exact.contains("") ? null : exact;
+        }
+    }
+
+    private static final class Parser {
+        private final String pattern;
+        private int index;
+
+        private Parser(String pattern) {
+            this.pattern = pattern;
+        }
+
+        private boolean atEnd() {
+            return index >= pattern.length();
+        }
+
+        private Literals parseAlternation() {
+            Literals result = parseSequence();
+            while (!atEnd() && pattern.charAt(index) == '|') {
+                index++;
+                result = alternate(result, parseSequence());
+            }
+
+            return result;
+        }
+
+        private Literals parseSequence() {
+            // Consecutive exact atoms are merged into one run; every run is a substring of any match.
+            Literals run = EMPTY;
+            Set<String> required = null;
+            boolean exactSequence = true;
+            while (!atEnd() && pattern.charAt(index) != '|' && pattern.charAt(index) != ')') {
+                Literals atom = parseQuantifiers(parseAtom());
+                Literals merged = concatExact(run, atom);
+                if (merged != null) {
+                    run = merged;
+                    continue;
+                }
+
+                exactSequence = false;
+                required = stronger(required, run.required());
+                if (atom.exact() != null) {
+                    run = atom;
+                } else {
+                    required = stronger(required, atom.required());
+                    run = EMPTY;
+                }
+            }
+
+            if (exactSequence) {
+                return run;
+            }
+
+            return new Literals(null, stronger(required, run.required()));
+        }
+
+        private Literals parseAtom() {
+            char current = pattern.charAt(index++);
+            return switch (current) {
+                case '(' -> parseGroup();
+                case '[' -> parseCharacterClass();
+                case '\\' -> parseEscape();
+                case '.' -> ANY;
+                case '^', '$' -> EMPTY;
+                case '*', '+', '?', '{', ')' -> throw new UnsupportedPatternException();
+                default -> new Literals(Set.of(String.valueOf(current)), null);
+            };
+        }
+
+        private Literals parseGroup() {
+            boolean zeroWidth = false;
+            if (startsWith("?:") || startsWith("?>")) {
+                index += 2;
+            } else if (startsWith("?=") || startsWith("?!")) {
+                index += 2;
+                zeroWidth = true;
+            } else if (startsWith("?<=") || startsWith("?<!")) {
+                index += 3;
+                zeroWidth = true;
+            } else if (startsWith("?<")) {
+                int nameEnd = pattern.indexOf('>', index);
+                if (nameEnd < 0) {
+                    throw new UnsupportedPatternException();
+                }
+                index = nameEnd + 1;
+            } else if (startsWith("?")) {
+                // Inline flags such as (?i) change literal semantics, so keep those rules unfiltered.
+                throw new UnsupportedPatternException();
+            }
+
+            Literals inner = parseAlternation();
+            if (atEnd() || pattern.charAt(index) != ')') {
+                throw new UnsupportedPatternException();
+            }
+            index++;
+            return zeroWidth ? EMPTY : inner;
+        }
+
+        private Literals parseEscape() {
+            if (atEnd()) {
+                throw new UnsupportedPatternException();
+            }
+
+            char escaped = pattern.charAt(index++);
+            return switch (escaped) {
+                case 'b', 'B', 'A', 'z', 'Z', 'G' -> EMPTY;
+                case 'd', 'D', 'w', 'W', 's', 'S', 'h', 'H', 'v', 'V' -> ANY;
+                case 't' -> new Literals(Set.of("\t"), null);
+                case 'n' -> new Literals(Set.of("\n"), null);
+                case 'r' -> new Literals(Set.of("\r"), null);
+                case 'f' -> new Literals(Set.of("\f"), null);
+                default -> {
+                    if (Character.isLetterOrDigit(escaped)) {
+                        throw new UnsupportedPatternException();
+                    }
+                    yield new Literals(Set.of(String.valueOf(escaped)), null);
+                }
+            };
+        }
+
+        private Literals parseCharacterClass() {
+            Set<String> members = new LinkedHashSet<>();
+            boolean complex = false;
+            int depth = 1;
+            if (!atEnd() && pattern.charAt(index) == '^') {
+                complex = true;
+                index++;
+            }
+            if (!atEnd() && pattern.charAt(index) == ']') {
+                members.add("]");
+                index++;
+            }
+
+            while (!atEnd()) {
+                char current = pattern.charAt(index++);
+                if (current == '\\') {
+                    if (atEnd()) {
+                        throw new UnsupportedPatternException();
+                    }
+                    char escaped = pattern.charAt(index++);
+                    if (Character.isLetterOrDigit(escaped)) {
+                        complex = true;
+                    } else {
+                        members.add(String.valueOf(escaped));
+                    }
+                    continue;
+                }
+                if (current == '[') {
+                    depth++;
+                    complex = true;
+                    continue;
+                }
+                if (current == ']') {
+                    depth--;
+                    if (depth == 0) {
+                        break;
+                    }
+                    continue;
+                }
+                if (current == '-' || current == '&') {
+                    complex = true;
+                    continue;
+                }
+
+                members.add(String.valueOf(current));
+            }
+            if (depth != 0) {
+                throw new UnsupportedPatternException();
+            }
+
+            // A class always consumes exactly one character, so an unknown class is simply unconstrained.
+            if (complex || members.isEmpty() || members.size() > MAX_CLASS_LITERALS) {
+                return ANY;
+            }
+
+            return new Literals(members, null);
+        }
+
+        private Literals parseQuantifiers(Literals atom) {
+            Literals result = atom;
+            while (!atEnd()) {
+                char current = pattern.charAt(index);
+                int min;
+                int max;
+                if (current == '*') {
+                    min = 0;
+                    max = Integer.MAX_VALUE;
+                    index++;
+                } else if (current == '+') {
+                    min = 1;
+                    max = Integer.MAX_VALUE;
+                    index++;
+                } else if (current == '?') {
+                    min = 0;
+                    max = 1;
+                    index++;
+                } else if (current == '{') {
+                    int closing = pattern.indexOf('}', index);
+                    if (closing < 0) {
+                        throw new UnsupportedPatternException();
+                    }
+                    String bounds = pattern.substring(index + 1, closing);
+                    int comma = bounds.indexOf(',');
+                    try {
+                        min = Integer.parseInt((comma < 0 ? bounds : bounds.substring(0, comma)).trim());
+                        String upper = comma < 0 ? bounds : bounds.substring(comma + 1).trim();
+                        max = upper.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(upper);
+                    } catch (NumberFormatException ignored) {
+                        throw new UnsupportedPatternException();
+                    }
+                    index = closing + 1;
+                } else {
+                    break;
+                }
+
+                // Lazy and possessive suffixes do not change which strings can match.
+                if (!atEnd() && (pattern.charAt(index) == '?' || pattern.charAt(index) == '+')) {
+                    index++;
+                }
+                result = repeat(result, min, max);
+            }
+
+            return result;
+        }
+
+        private boolean startsWith(String prefix) {
+            return pattern.startsWith(prefix, index);
+        }
+    }
+
+    private static final class UnsupportedPatternException extends RuntimeException {
+        private UnsupportedPatternException() {
+            super(null, null, false, false);
+        }
+    }
+}
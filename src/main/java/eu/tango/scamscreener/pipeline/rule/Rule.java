@@ -20,6 +20,8 @@ import java.util.regex.Pattern;
 @Accessors(fluent = true)
 public final class Rule {
     private static final int MAX_REASON_MATCH_LENGTH = 48;
+    private static final PhraseScore NO_PHRASE_MATCH = new PhraseScore(0, null);
+    private static final ThreadLocal<TokenView> TOKEN_VIEW = ThreadLocal.withInitial(TokenView::new);
 
     @Getter
     private final String id;
@@ -30,8 +32,9 @@ public final class Rule {
     private final String reasonTemplate;
     private final Pattern pattern;
     private final List<String> keywords;
-    private final Set<String> keywordSet;
+    private final String[] distinctKeywords;
     private final List<String> phrases;
+    private final String[][] phraseTokens;
 
     private Rule(
         String id,
@@ -48,8 +51,12 @@ public final class Rule {
         this.reasonTemplate = reasonTemplate == null ? "" : reasonTemplate.trim();
         this.pattern = pattern;
         this.keywords = List.copyOf(keywords);
-        this.keywordSet = Set.copyOf(new LinkedHashSet<>(keywords));
+        this.distinctKeywords = new LinkedHashSet<>(keywords).toArray(new String[0]);
         this.phrases = List.copyOf(phrases);
+        this.phraseTokens = new String[this.phrases.size()][];
+        for (int index = 0; index < this.phrases.size(); index++) {
+            phraseTokens[index] = phraseTokens(this.phrases.get(index));
+        }
     }
 
     /**
@@ -145,6 +152,24 @@ public final class Rule {
         return firstPatternMatch(message) != null;
     }
 
+    /**
+     * Indicates whether this rule carries a compiled regex.
+     *
+     * @return {@code true} for enabled regex-backed rules
+     */
+    boolean hasPattern() {
+        return pattern != null;
+    }
+
+    /**
+     * Returns the regex source of this rule.
+     *
+     * @return the regex source, or an empty string when no regex is present
+     */
+    String patternSource() {
+        return pattern == null ? "" : pattern.pattern();
+    }
+
     /**
      * Applies the keyword plus phrase scoring heuristic.
      *
@@ -153,19 +178,39 @@ public final class Rule {
      */
     public PhraseScore phraseMatch(String message) {
         if (message == null || message.isBlank()) {
-            return new PhraseScore(0, null);
+            return NO_PHRASE_MATCH;
+        }
+
+        // Tokens stay offsets into the lowercased message, so scoring compares in place without substrings.
+        TokenView tokens = TOKEN_VIEW.get().splitOnNonAlphanumeric(message.toLowerCase(Locale.ROOT));
+        int keywordHits = 0;
+        String firstKeyword = null;
+        for (int index = 0; index < tokens.count(); index++) {
+            String keyword = matchingKeyword(tokens, index);
+            if (keyword != null) {
+                keywordHits++;
+                if (firstKeyword == null) {
+                    firstKeyword = keyword;
+                }
+            }
+        }
+
+        int phraseHits = 0;
+        String firstPhrase = null;
+        for (int index = 0; index < phraseTokens.length; index++) {
+            if (tokens.containsSequence(phraseTokens[index])) {
+                phraseHits++;
+                if (firstPhrase == null) {
+                    firstPhrase = phrases.get(index);
+                }
+            }
         }
 
-        List<String> tokens = tokenize(message);
-        int keywordHits = countKeywordHits(tokens);
-        String normalized = " " + String.join(" ", tokens) + " ";
-        int phraseHits = countPhraseHits(normalized);
-        String firstMatch = firstPhraseMatch(normalized);
-        if (firstMatch == null) {
-            firstMatch = firstKeywordMatch(tokens);
+        if (keywordHits == 0 && phraseHits == 0) {
+            return NO_PHRASE_MATCH;
         }
 
-        return new PhraseScore(keywordHits + (phraseHits * 2), firstMatch);
+        return new PhraseScore(keywordHits + (phraseHits * 2), firstPhrase == null ? firstKeyword : firstPhrase);
     }
 
     /**
@@ -210,54 +255,28 @@ public final class Rule {
         return normalized;
     }
 
-    private static List<String> tokenize(String message) {
-        String[] rawTokens = message.toLowerCase(Locale.ROOT).split("[^a-z0-9]+");
-        List<String> tokens = new ArrayList<>();
-        for (String token : rawTokens) {
-            if (!token.isBlank()) {
-                tokens.add(token);
-            }
-        }
-
-        return tokens;
-    }
-
-    private int countKeywordHits(List<String> tokens) {
-        int hits = 0;
-        for (String token : tokens) {
-            if (keywordSet.contains(token)) {
-                hits++;
-            }
-        }
-
-        return hits;
-    }
-
-    private int countPhraseHits(String paddedMessage) {
-        int hits = 0;
-        for (String phrase : phrases) {
-            if (paddedMessage.contains(" " + phrase + " ")) {
-                hits++;
+    private static String[] phraseTokens(String phrase) {
+        // A phrase only matches whole consecutive tokens, so anything else in it can never match.
+        String[] terms = phrase.split(" ", -1);
+        for (String term : terms) {
+            if (term.isEmpty()) {
+                return null;
             }
-        }
-
-        return hits;
-    }
-
-    private String firstPhraseMatch(String paddedMessage) {
-        for (String phrase : phrases) {
-            if (paddedMessage.contains(" " + phrase + " ")) {
-                return phrase;
+            for (int index = 0; index < term.length(); index++) {
+                char character = term.charAt(index);
+                if (!((character >= 'a' && character <= 'z') || (character >= '0' && character <= '9'))) {
+                    return null;
+                }
             }
         }
 
-        return null;
+        return terms;
     }
 
-    private String firstKeywordMatch(List<String> tokens) {
-        for (String token : tokens) {
-            if (keywordSet.contains(token)) {
-                return token;
+    private String matchingKeyword(TokenView tokens, int index) {
+        for (String keyword : distinctKeywords) {
+            if (tokens.tokenEquals(index, keyword)) {
+                return keyword;
             }
         }
 
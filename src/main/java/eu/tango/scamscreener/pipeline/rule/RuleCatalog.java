@@ -2,11 +2,14 @@ package eu.tango.scamscreener.pipeline.rule;
 
 import eu.tango.scamscreener.chat.TextNormalization;
 import eu.tango.scamscreener.config.data.RulesConfig;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.Accessors;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 /**
@@ -48,10 +51,16 @@ public final class RuleCatalog {
     private final Rule middlemanProofCombo;
     private final int minCompareLength;
     private final List<SimilarityRule> similarityRules;
+    private final int ruleStageMaxScore;
+    private final int similarityStageMaxScore;
     private final BehaviorRules behavior;
     private final TrendRules trend;
     private final FunnelRules funnel;
     private final RulesConfig.ContextStageSettings context;
+    @Getter(AccessLevel.NONE)
+    private final RuleScanner scanner;
+    @Getter(AccessLevel.NONE)
+    private final SimilarityIndex similarityIndex;
 
     /**
      * Builds the shared compiled rule catalog from one rules config.
@@ -192,6 +201,26 @@ public final class RuleCatalog {
         RulesConfig.SimilarityStageSettings similaritySettings = safeConfig.similarityStage();
         minCompareLength = Math.max(1, similaritySettings.getMinCompareLength());
         similarityRules = buildSimilarityRules(similaritySettings.phrases());
+        similarityIndex = new SimilarityIndex(similarityRules);
+        // Upper score bounds let the engine stop early once later stages can no longer change the outcome.
+        ruleStageMaxScore = ruleStageEnabled ? sumScores(List.of(
+            suspiciousLink,
+            externalPlatform,
+            upfrontPayment,
+            accountData,
+            tooGood,
+            coercionThreat,
+            middlemanClaim,
+            proofBait,
+            urgency,
+            trust,
+            discordHandle,
+            linkRedirectCombo,
+            trustPaymentCombo,
+            urgencyAccountCombo,
+            middlemanProofCombo
+        )) : 0;
+        similarityStageMaxScore = similarityStageEnabled ? bestScorePerCategory(similarityRules) : 0;
 
         RulesConfig.BehaviorStageSettings behaviorSettings = safeConfig.behaviorStage();
         behavior = new BehaviorRules(
@@ -216,7 +245,8 @@ public final class RuleCatalog {
             Math.max(1, trendSettings.getEscalationBonusMinimum()),
             Math.max(1, trendSettings.getEscalationBonusDivisor()),
             Math.max(1L, trendSettings.getWindowMs()),
-            Math.max(1, trendSettings.getMaxHistory())
+            Math.max(1, trendSettings.getMaxHistory()),
+            Math.max(0, Math.min(100, trendSettings.getNearDuplicateSimilarityPercent()))
         );
 
         RulesConfig.FunnelStageSettings funnelSettings = safeConfig.funnelStage();
@@ -234,6 +264,107 @@ public final class RuleCatalog {
         );
 
         context = safeConfig.contextStage();
+        scanner = new RuleScanner(List.of(
+            suspiciousLink,
+            externalPlatform,
+            upfrontPayment,
+            accountData,
+            tooGood,
+            coercionThreat,
+            urgencyAllowlist,
+            tradeContextAllowlist,
+            trustAllowlist,
+            middleman,
+            middlemanClaim,
+            proofBait,
+            trustSignal,
+            discordHandle
+        ));
+    }
+
+    /**
+     * Scans one normalized message against every regex-backed rule in a single pass.
+     *
+     * @param message the normalized message to inspect
+     * @return the regex hits of all catalog rules for this message
+     */
+    public RuleHits scan(String message) {
+        return scanner.scan(message);
+    }
+
+    /**
+     * Returns the similarity rules that can still reach their threshold on one message.
+     *
+     * @param similarityMessage the similarity-normalized message
+     * @return the candidate similarity rules in catalog order
+     */
+    public List<SimilarityRule> similarityCandidates(String similarityMessage) {
+        return similarityIndex.candidates(similarityMessage);
+    }
+
+    /**
+     * Computes every rule result of one normalized message.
+     *
+     * @param message the normalized message to inspect
+     * @return the regex hits, phrase scores and signal mask of the message
+     */
+    public MessageSignals signals(String message) {
+        String safeMessage = message == null ? "" : message;
+        RuleHits hits = scanner.scan(safeMessage);
+        Rule.PhraseScore urgencyScore = urgency.phraseMatch(safeMessage);
+        Rule.PhraseScore trustScore = trust.phraseMatch(safeMessage);
+        if (safeMessage.isBlank()) {
+            return new MessageSignals(hits, urgencyScore, trustScore, 0);
+        }
+
+        int mask = 0;
+        if (trustScore.score() >= trust.threshold()) {
+            mask |= RuleSignal.TRUST.mask();
+        }
+        if (urgencyScore.score() >= urgency.threshold()) {
+            mask |= RuleSignal.URGENCY.mask();
+        }
+        if (hits.matches(externalPlatform)) {
+            mask |= RuleSignal.EXTERNAL_PLATFORM.mask();
+        }
+        if (hits.matches(upfrontPayment)) {
+            mask |= RuleSignal.PAYMENT.mask();
+        }
+        if (hits.matches(accountData)) {
+            mask |= RuleSignal.ACCOUNT_DATA.mask();
+        }
+        if (hits.matches(coercionThreat)) {
+            mask |= RuleSignal.THREAT.mask();
+        }
+        if (hits.matches(suspiciousLink)) {
+            mask |= RuleSignal.SUSPICIOUS_LINK.mask();
+        }
+        if (hits.matches(trustSignal)) {
+            mask |= RuleSignal.TRUST_SIGNAL.mask();
+        }
+
+        return new MessageSignals(hits, urgencyScore, trustScore, mask);
+    }
+
+    /**
+     * Returns the memoized rule results of one message, computing them on first use.
+     *
+     * @param memo the memo travelling with the message
+     * @return the regex hits, phrase scores and signal mask of the message
+     */
+    public MessageSignals signals(SignalMemo memo) {
+        if (memo == null) {
+            return signals("");
+        }
+
+        MessageSignals cached = memo.get(this);
+        if (cached != null) {
+            return cached;
+        }
+
+        MessageSignals computed = signals(memo.text());
+        memo.put(this, computed);
+        return computed;
     }
 
     private static List<SimilarityRule> buildSimilarityRules(List<RulesConfig.SimilarityPhrase> configuredPhrases) {
@@ -299,6 +430,29 @@ public final class RuleCatalog {
         return Pattern.compile(rawPattern);
     }
 
+    private static int sumScores(List<Rule> rules) {
+        long total = 0L;
+        for (Rule rule : rules) {
+            total += rule.score();
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
+    private static int bestScorePerCategory(List<SimilarityRule> rules) {
+        Map<String, Integer> bestScores = new HashMap<>();
+        for (SimilarityRule rule : rules) {
+            bestScores.merge(rule.category(), Math.max(0, rule.score()), Math::max);
+        }
+
+        long total = 0L;
+        for (int score : bestScores.values()) {
+            total += score;
+        }
+
+        return (int) Math.min(Integer.MAX_VALUE, total);
+    }
+
     private static Rule patternRule(boolean enabled, String id, String rawPattern, int score) {
         return patternRule(enabled, id, rawPattern, score, "");
     }
@@ -0,0 +1,49 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+/**
+ * Regex hits of one {@link RuleScanner} pass over a single message.
+ *
+ * <p>Lookups for rules that were not part of the scan fall back to a direct
+ * regex evaluation, so callers can treat every rule the same way.
+ */
+public final class RuleHits {
+    private final String message;
+    private final Rule[] rules;
+    private final String[] matches;
+
+    RuleHits(String message, Rule[] rules, String[] matches) {
+        this.message = message == null ? "" : message;
+        this.rules = rules;
+        this.matches = matches;
+    }
+
+    /**
+     * Returns the first regex match of the given rule.
+     *
+     * @param rule the rule to look up
+     * @return the first regex match, or {@code null} when none matched
+     */
+    public String firstMatch(Rule rule) {
+        if (rule == null) {
+            return null;
+        }
+
+        for (int slot = 0; slot < rules.length; slot++) {
+            if (rules[slot] == rule) {
+                return matches[slot];
+            }
+        }
+
+        return rule.firstPatternMatch(message);
+    }
+
+    /**
+     * Indicates whether the given rule matched the scanned message.
+     *
+     * @param rule the rule to look up
+     * @return {@code true} when the rule matched
+     */
+    public boolean matches(Rule rule) {
+        return firstMatch(rule) != null;
+    }
+}
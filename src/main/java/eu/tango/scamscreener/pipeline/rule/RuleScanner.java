@@ -0,0 +1,73 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Single-pass multi-rule matcher for regex-backed rules.
+ *
+ * <p>All literal anchors of the registered rules are compiled into one shared
+ * automaton. One scan walks the message once, and only rules whose anchors
+ * were seen get their full regex evaluated. Rules without a safe literal set
+ * are evaluated on every scan, so results always equal the plain regex path.
+ */
+public final class RuleScanner {
+    private final Rule[] rules;
+    private final long alwaysEvaluated;
+    private final LiteralAutomaton automaton;
+
+    /**
+     * Compiles one scanner for the given regex-backed rules.
+     *
+     * @param rules the rules to scan together, at most 64
+     */
+    public RuleScanner(List<Rule> rules) {
+        List<Rule> safeRules = rules == null ? List.of() : rules;
+        if (safeRules.size() > LiteralAutomaton.MAX_SLOTS) {
+            throw new IllegalArgumentException("RuleScanner supports at most " + LiteralAutomaton.MAX_SLOTS + " rules");
+        }
+
+        this.rules = safeRules.toArray(new Rule[0]);
+        long unfiltered = 0L;
+        List<Set<String>> literalsBySlot = new ArrayList<>(this.rules.length);
+        for (int slot = 0; slot < this.rules.length; slot++) {
+            Rule rule = this.rules[slot];
+            if (rule == null || !rule.hasPattern()) {
+                literalsBySlot.add(null);
+                continue;
+            }
+
+            Set<String> literals = PatternPrefilter.requiredLiterals(rule.patternSource());
+            if (literals == null || literals.isEmpty()) {
+                unfiltered |= 1L << slot;
+            }
+            literalsBySlot.add(literals);
+        }
+
+        alwaysEvaluated = unfiltered;
+        automaton = new LiteralAutomaton(literalsBySlot);
+    }
+
+    /**
+     * Scans one normalized message against every registered rule.
+     *
+     * @param message the normalized message to inspect
+     * @return the first regex match of every registered rule
+     */
+    public RuleHits scan(String message) {
+        String[] matches = new String[rules.length];
+        if (message == null || message.isBlank() || message.length() > SafeRegex.MAX_INPUT_LENGTH) {
+            return new RuleHits(message, rules, matches);
+        }
+
+        long candidates = automaton.scan(message) | alwaysEvaluated;
+        while (candidates != 0L) {
+            int slot = Long.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            matches[slot] = rules[slot].firstPatternMatch(message);
+        }
+
+        return new RuleHits(message, rules, matches);
+    }
+}
@@ -0,0 +1,37 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+/**
+ * Coarse rule signals shared by the stages that reason about message intent.
+ */
+@Getter
+@Accessors(fluent = true)
+public enum RuleSignal {
+    TRUST("trust", true),
+    URGENCY("urgency", true),
+    EXTERNAL_PLATFORM("external platform", true),
+    PAYMENT("payment", true),
+    ACCOUNT_DATA("account data", true),
+    THREAT("threat", true),
+    SUSPICIOUS_LINK("suspicious link", true),
+    TRUST_SIGNAL("trust signal", false);
+
+    private final String label;
+    private final boolean contextSignal;
+
+    RuleSignal(String label, boolean contextSignal) {
+        this.label = label;
+        this.contextSignal = contextSignal;
+    }
+
+    /**
+     * Returns the bit of this signal inside a {@link MessageSignals} mask.
+     *
+     * @return the signal bit
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+}
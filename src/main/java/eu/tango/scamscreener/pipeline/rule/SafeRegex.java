@@ -10,7 +10,7 @@ import java.util.regex.Pattern;
  * from crashing the client via {@link StackOverflowError} during matching.
  */
 final class SafeRegex {
-    private static final int MAX_INPUT_LENGTH = 512;
+    static final int MAX_INPUT_LENGTH = 512;
 
     private SafeRegex() {
     }
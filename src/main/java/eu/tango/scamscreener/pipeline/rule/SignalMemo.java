@@ -0,0 +1,61 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+/**
+ * Per-message memo of {@link MessageSignals}.
+ *
+ * <p>One memo travels with a chat event and its recent-chat cache entry, so the
+ * rule result is computed once per message instead of once per stage and per
+ * later context lookup. The memo is tagged with the catalog that filled it, so
+ * a rules reload simply recomputes on the next lookup.
+ */
+public final class SignalMemo {
+    private final String text;
+    private volatile Entry entry;
+
+    /**
+     * Creates an empty memo for one normalized message.
+     *
+     * @param text the normalized message the signals are computed from
+     */
+    public SignalMemo(String text) {
+        this.text = text == null ? "" : text;
+    }
+
+    /**
+     * Returns the normalized message this memo belongs to.
+     *
+     * @return the normalized message
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Takes over the signals already computed for another memo of the same message.
+     *
+     * @param source the memo whose signals are copied; ignored when its text differs
+     */
+    public void copyFrom(SignalMemo source) {
+        if (source == null || source == this || !text.equals(source.text)) {
+            return;
+        }
+
+        Entry sourceEntry = source.entry;
+        if (sourceEntry != null) {
+            entry = sourceEntry;
+        }
+    }
+
+    MessageSignals get(RuleCatalog owner) {
+        Entry current = entry;
+        return current != null && current.owner() == owner ? current.signals() : null;
+    }
+
+    void put(RuleCatalog owner, MessageSignals signals) {
+        // Racing writers compute identical values, so last-writer-wins is fine.
+        entry = new Entry(owner, signals);
+    }
+
+    private record Entry(RuleCatalog owner, MessageSignals signals) {
+    }
+}
@@ -0,0 +1,207 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Candidate filter for similarity rules based on shared bigrams and phrase length.
+ *
+ * <p>If a text window is within edit distance {@code k} of a phrase, at least
+ * {@code |phrase| - 1 - 2k} of the phrase's bigram positions still occur in
+ * that window, and therefore in the whole message. Each rule stores the
+ * largest {@code k} that can still reach its threshold, so phrases sharing too
+ * few bigrams with the message, or longer than the message can ever match, are
+ * skipped before any edit-distance work. The filter never drops a rule that
+ * could reach its threshold.
+ */
+final class SimilarityIndex {
+    private static final int GRAM_SIZE = 2;
+    private static final double EPSILON = 1.0e-9;
+
+    private final List<SimilarityRule> rules;
+    private final int[] minimumSharedGrams;
+    private final int[] minimumMessageLength;
+    private final GramTable gramIds;
+    private final int[][] postingRules;
+    private final int[][] postingCounts;
+    private final ThreadLocal<Scratch> scratch;
+
+    SimilarityIndex(List<SimilarityRule> rules) {
+        this.rules = rules == null ? List.of() : List.copyOf(rules);
+        minimumSharedGrams = new int[this.rules.size()];
+        minimumMessageLength = new int[this.rules.size()];
+
+        Map<Integer, Map<Integer, Integer>> countsByGram = new LinkedHashMap<>();
+        for (int ruleIndex = 0; ruleIndex < this.rules.size(); ruleIndex++) {
+            SimilarityRule rule = this.rules.get(ruleIndex);
+            String phrase = rule.normalizedPhrase();
+            double threshold = rule.threshold();
+            minimumMessageLength[ruleIndex] = Math.max(0, (int) Math.ceil(threshold * phrase.length() - EPSILON));
+            if (threshold <= 0.0) {
+                minimumSharedGrams[ruleIndex] = 0;
+                continue;
+            }
+
+            // Longer windows may use a larger distance budget, but only up to |phrase| / threshold characters.
+            long maxDistance = (long) Math.floor((1.0 - threshold) * phrase.length() / threshold + EPSILON);
+            long required = phrase.length() - GRAM_SIZE + 1 - maxDistance * GRAM_SIZE;
+            minimumSharedGrams[ruleIndex] = (int) Math.max(0L, required);
+            if (required <= 0L) {
+                continue;
+            }
+
+            for (int index = 0; index + GRAM_SIZE <= phrase.length(); index++) {
+                int gram = gram(phrase.charAt(index), phrase.charAt(index + 1));
+                countsByGram.computeIfAbsent(gram, ignored -> new LinkedHashMap<>()).merge(ruleIndex, 1, Integer::sum);
+            }
+        }
+
+        gramIds = new GramTable(countsByGram.size());
+        postingRules = new int[countsByGram.size()][];
+        postingCounts = new int[countsByGram.size()][];
+        int gramId = 0;
+        for (Map.Entry<Integer, Map<Integer, Integer>> gramEntry : countsByGram.entrySet()) {
+            gramIds.put(gramEntry.getKey(), gramId);
+            Map<Integer, Integer> counts = gramEntry.getValue();
+            postingRules[gramId] = new int[counts.size()];
+            postingCounts[gramId] = new int[counts.size()];
+            int posting = 0;
+            for (Map.Entry<Integer, Integer> countEntry : counts.entrySet()) {
+                postingRules[gramId][posting] = countEntry.getKey();
+                postingCounts[gramId][posting] = countEntry.getValue();
+                posting++;
+            }
+            gramId++;
+        }
+
+        int gramCount = countsByGram.size();
+        int ruleCount = this.rules.size();
+        scratch = ThreadLocal.withInitial(() -> new Scratch(gramCount, ruleCount));
+    }
+
+    /**
+     * Returns the rules that can still reach their threshold on the message.
+     *
+     * @param similarityMessage the similarity-normalized message
+     * @return the candidate rules in catalog order
+     */
+    List<SimilarityRule> candidates(String similarityMessage) {
+        String message = similarityMessage == null ? "" : similarityMessage;
+        if (rules.isEmpty() || message.isEmpty()) {
+            return List.of();
+        }
+
+        Scratch state = scratch.get();
+        int[] sharedGrams = state.sharedGrams;
+        Arrays.fill(sharedGrams, 0);
+        int stamp = state.nextStamp();
+        char previous = 0;
+        boolean hasPrevious = false;
+        for (int index = 0; index < message.length(); index++) {
+            char current = message.charAt(index);
+            if (Character.isWhitespace(current)) {
+                // Token windows are joined by single spaces, so whitespace runs count as one space.
+                if (hasPrevious && previous == ' ') {
+                    continue;
+                }
+                current = ' ';
+            }
+            if (hasPrevious) {
+                int gramId = gramIds.get(gram(previous, current));
+                if (gramId >= 0 && state.seenStamps[gramId] != stamp) {
+                    state.seenStamps[gramId] = stamp;
+                    int[] ruleIndexes = postingRules[gramId];
+                    int[] counts = postingCounts[gramId];
+                    for (int posting = 0; posting < ruleIndexes.length; posting++) {
+                        sharedGrams[ruleIndexes[posting]] += counts[posting];
+                    }
+                }
+            }
+            previous = current;
+            hasPrevious = true;
+        }
+
+        List<SimilarityRule> candidates = new ArrayList<>();
+        for (int ruleIndex = 0; ruleIndex < rules.size(); ruleIndex++) {
+            if (message.length() >= minimumMessageLength[ruleIndex]
+                && sharedGrams[ruleIndex] >= minimumSharedGrams[ruleIndex]) {
+                candidates.add(rules.get(ruleIndex));
+            }
+        }
+
+        return candidates;
+    }
+
+    private static int gram(char first, char second) {
+        return (first << Character.SIZE) | second;
+    }
+
+    private static final class Scratch {
+        private final int[] seenStamps;
+        private final int[] sharedGrams;
+        private int stamp;
+
+        private Scratch(int gramCount, int ruleCount) {
+            seenStamps = new int[gramCount];
+            sharedGrams = new int[ruleCount];
+        }
+
+        private int nextStamp() {
+            stamp++;
+            if (stamp == 0) {
+                Arrays.fill(seenStamps, 0);
+                stamp = 1;
+            }
+
+            return stamp;
+        }
+    }
+
+    /**
+     * Open-addressing int-to-int table so message lookups stay allocation-free.
+     */
+    private static final class GramTable {
+        private final int[] keys;
+        private final int[] values;
+        private final boolean[] used;
+        private final int mask;
+
+        private GramTable(int expectedSize) {
+            int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 + 1)) << 1;
+            keys = new int[capacity];
+            values = new int[capacity];
+            used = new boolean[capacity];
+            mask = capacity - 1;
+        }
+
+        private void put(int key, int value) {
+            int slot = mix(key) & mask;
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            used[slot] = true;
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private int get(int key) {
+            int slot = mix(key) & mask;
+            while (used[slot]) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            return -1;
+        }
+
+        private static int mix(int key) {
+            int hash = key * 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -9,6 +9,7 @@ package eu.tango.scamscreener.pipeline.rule;
  * @param score non-negative score contribution
  * @param threshold bounded similarity threshold
  * @param tokenCount number of normalized phrase tokens
+ * @param pattern precompiled edit-distance masks of the normalized phrase
  */
 public record SimilarityRule(
     String category,
@@ -16,8 +17,37 @@ public record SimilarityRule(
     String normalizedPhrase,
     int score,
     double threshold,
-    int tokenCount
+    int tokenCount,
+    EditDistancePattern pattern
 ) {
+    public SimilarityRule {
+        normalizedPhrase = normalizedPhrase == null ? "" : normalizedPhrase;
+        pattern = pattern == null || !pattern.phrase().equals(normalizedPhrase)
+            ? EditDistancePattern.compile(normalizedPhrase)
+            : pattern;
+    }
+
+    /**
+     * Creates one similarity rule and compiles its edit-distance masks.
+     *
+     * @param category logical reason category
+     * @param rawPhrase configured phrase text
+     * @param normalizedPhrase normalized phrase for similarity checks
+     * @param score non-negative score contribution
+     * @param threshold bounded similarity threshold
+     * @param tokenCount number of normalized phrase tokens
+     */
+    public SimilarityRule(
+        String category,
+        String rawPhrase,
+        String normalizedPhrase,
+        int score,
+        double threshold,
+        int tokenCount
+    ) {
+        this(category, rawPhrase, normalizedPhrase, score, threshold, tokenCount, null);
+    }
+
     /**
      * Returns the stable reason id for this similarity category.
      *
@@ -0,0 +1,246 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import java.util.Arrays;
+
+/**
+ * Reusable token-offset view over one message.
+ *
+ * <p>Tokens are kept as {@code int} start and end offsets into the source text,
+ * so matching code can compare tokens and token windows in place instead of
+ * materializing substrings. One view is meant to be reused per thread; it is
+ * not thread-safe.
+ */
+public final class TokenView {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Window window = new Window();
+    private String text = "";
+    private int[] starts = new int[INITIAL_CAPACITY];
+    private int[] ends = new int[INITIAL_CAPACITY];
+    private int count;
+
+    /**
+     * Splits the text into whitespace-separated tokens.
+     *
+     * @param source the text to split
+     * @return this view
+     */
+    public TokenView splitOnWhitespace(String source) {
+        reset(source);
+        int tokenStart = -1;
+        for (int index = 0; index < text.length(); index++) {
+            if (Character.isWhitespace(text.charAt(index))) {
+                if (tokenStart >= 0) {
+                    add(tokenStart, index);
+                    tokenStart = -1;
+                }
+            } else if (tokenStart < 0) {
+                tokenStart = index;
+            }
+        }
+        if (tokenStart >= 0) {
+            add(tokenStart, text.length());
+        }
+
+        return this;
+    }
+
+    /**
+     * Splits the text into runs of ASCII letters and digits.
+     *
+     * @param source the text to split
+     * @return this view
+     */
+    public TokenView splitOnNonAlphanumeric(String source) {
+        reset(source);
+        int tokenStart = -1;
+        for (int index = 0; index < text.length(); index++) {
+            if (!isAsciiAlphanumeric(text.charAt(index))) {
+                if (tokenStart >= 0) {
+                    add(tokenStart, index);
+                    tokenStart = -1;
+                }
+            } else if (tokenStart < 0) {
+                tokenStart = index;
+            }
+        }
+        if (tokenStart >= 0) {
+            add(tokenStart, text.length());
+        }
+
+        return this;
+    }
+
+    /**
+     * Loads precomputed token offsets instead of splitting the text again.
+     *
+     * @param source the text the offsets point into
+     * @param bounds start and end offsets, two per token
+     * @return this view
+     */
+    public TokenView load(String source, int[] bounds) {
+        reset(source);
+        for (int index = 0; index + 1 < bounds.length; index += 2) {
+            add(bounds[index], bounds[index + 1]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the source text of this view.
+     *
+     * @return the source text
+     */
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Returns the number of tokens.
+     *
+     * @return the token count
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Returns the start offset of one token.
+     *
+     * @param index the token index
+     * @return the inclusive start offset
+     */
+    public int start(int index) {
+        return starts[index];
+    }
+
+    /**
+     * Returns the end offset of one token.
+     *
+     * @param index the token index
+     * @return the exclusive end offset
+     */
+    public int end(int index) {
+        return ends[index];
+    }
+
+    /**
+     * Indicates whether one token equals the given term.
+     *
+     * @param index the token index
+     * @param term the term to compare
+     * @return {@code true} when the token text equals the term
+     */
+    public boolean tokenEquals(int index, String term) {
+        int length = ends[index] - starts[index];
+        return term != null && term.length() == length && text.regionMatches(starts[index], term, 0, length);
+    }
+
+    /**
+     * Indicates whether the terms occur as consecutive tokens anywhere in this view.
+     *
+     * @param terms the token sequence to look for
+     * @return {@code true} when the sequence occurs
+     */
+    public boolean containsSequence(String[] terms) {
+        if (terms == null || terms.length == 0 || terms.length > count) {
+            return false;
+        }
+
+        for (int from = 0; from <= count - terms.length; from++) {
+            boolean matched = true;
+            for (int offset = 0; offset < terms.length && matched; offset++) {
+                matched = tokenEquals(from + offset, terms[offset]);
+            }
+            if (matched) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Indicates whether every pair of neighbouring tokens is separated by exactly one space.
+     *
+     * <p>Only then is a token window identical to its tokens joined by single
+     * spaces, which {@link #window(int, int)} relies on.
+     *
+     * @return {@code true} when all separators are single spaces
+     */
+    public boolean singleSpaced() {
+        for (int index = 1; index < count; index++) {
+            if (starts[index] != ends[index - 1] + 1 || text.charAt(ends[index - 1]) != ' ') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns a reused character view over consecutive tokens.
+     *
+     * <p>The returned sequence is only valid until the next call on this view.
+     *
+     * @param from the first token index
+     * @param length the number of tokens
+     * @return the window text from the first token start to the last token end
+     */
+    public CharSequence window(int from, int length) {
+        return window.reset(text, starts[from], ends[from + length - 1]);
+    }
+
+    private void reset(String source) {
+        text = source == null ? "" : source;
+        count = 0;
+    }
+
+    private void add(int start, int end) {
+        if (count == starts.length) {
+            starts = Arrays.copyOf(starts, count * 2);
+            ends = Arrays.copyOf(ends, count * 2);
+        }
+        starts[count] = start;
+        ends[count] = end;
+        count++;
+    }
+
+    private static boolean isAsciiAlphanumeric(char character) {
+        return (character >= 'a' && character <= 'z') || (character >= '0' && character <= '9');
+    }
+
+    private static final class Window implements CharSequence {
+        private String source = "";
+        private int start;
+        private int end;
+
+        private Window reset(String source, int start, int end) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return source.charAt(start + index);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return source.subSequence(start + from, start + to);
+        }
+
+        @Override
+        public String toString() {
+            return source.substring(start, end);
+        }
+    }
+}
@@ -11,6 +11,7 @@ package eu.tango.scamscreener.pipeline.rule;
  * @param escalationBonusDivisor divisor for escalation scaling
  * @param windowMs global trend history window in milliseconds
  * @param maxHistory maximum stored global trend messages
+ * @param nearDuplicateSimilarityPercent minimum similarity for near-duplicate wave matches, or 0 for exact matches only
  */
 public record TrendRules(
     int minMessageLength,
@@ -20,7 +21,8 @@ public record TrendRules(
     int escalationBonusMinimum,
     int escalationBonusDivisor,
     long windowMs,
-    int maxHistory
+    int maxHistory,
+    int nearDuplicateSimilarityPercent
 ) {
     /**
      * Returns the escalation bonus for additional senders beyond the wave threshold.
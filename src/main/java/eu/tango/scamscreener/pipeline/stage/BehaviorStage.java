@@ -67,6 +67,16 @@ public final class BehaviorStage extends Stage {
         this.behaviorStore.configure(rules.behavior().windowMs(), rules.behavior().maxHistory());
     }
 
+    /**
+     * Returns the fixed behavior spam score.
+     *
+     * @return the upper score bound of this stage
+     */
+    @Override
+    public int maxScoreDelta() {
+        return MAX_BEHAVIOR_SPAM_SCORE;
+    }
+
     /**
      * Evaluates short sender-local history for repeated-contact patterns.
      *
@@ -4,23 +4,27 @@ import eu.tango.scamscreener.chat.RecentChatCache;
 import eu.tango.scamscreener.config.data.RulesConfig;
 import eu.tango.scamscreener.pipeline.core.Stage;
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
-import eu.tango.scamscreener.pipeline.data.ChatSourceType;
 import eu.tango.scamscreener.pipeline.data.StageResult;
-import eu.tango.scamscreener.pipeline.rule.Rule;
 import eu.tango.scamscreener.pipeline.rule.RuleCatalog;
+import eu.tango.scamscreener.pipeline.rule.RuleSignal;
 
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
-import java.util.Set;
 
 /**
  * Lightweight context-aware stage that scores signal blends across recent messages from the same sender.
+ *
+ * <p>The stage tracks a signal window on the shared recent-chat cache the first time it evaluates
+ * a message while enabled, and hands it back in {@link #close()}.
  */
 public final class ContextStage extends Stage {
+    private static final int CONTEXT_SIGNAL_MASK = contextSignalMask();
+
     private final RecentChatCache recentChatCache;
     private final RuleCatalog rules;
+    private volatile RecentChatCache.SignalWindow signalWindow;
+    private boolean closed;
 
     /**
      * Creates the context stage with a fresh cache handle and default rules config.
@@ -52,6 +56,43 @@ public final class ContextStage extends Stage {
         this.rules = ruleCatalog == null ? new RuleCatalog(new RulesConfig()) : ruleCatalog;
     }
 
+    /**
+     * Returns the signal blend score plus the escalation bonus.
+     *
+     * @return the upper score bound of this stage
+     */
+    @Override
+    public int maxScoreDelta() {
+        if (!rules.contextStageEnabled()) {
+            return 0;
+        }
+
+        RulesConfig.ContextStageSettings contextSettings = rules.context();
+        long bound = (long) Math.max(0, contextSettings.getSignalBlendScore()) + Math.max(0, contextSettings.getEscalationBonusScore());
+        return (int) Math.min(Integer.MAX_VALUE, bound);
+    }
+
+    /**
+     * Allows skipping because the stage only reads the recent chat cache.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isSkippable() {
+        return true;
+    }
+
+    /**
+     * Stops the signal window of this stage, if one was tracked.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        RecentChatCache.SignalWindow window = signalWindow;
+        signalWindow = null;
+        recentChatCache.untrackSenderSignals(window);
+    }
+
     @Override
     protected StageResult evaluate(ChatEvent chatEvent) {
         if (!rules.contextStageEnabled()) {
@@ -67,21 +108,13 @@ public final class ContextStage extends Stage {
         }
 
         RulesConfig.ContextStageSettings contextSettings = rules.context();
-        List<String> senderMessages = recentMessagesForSender(senderName, contextSettings.getMaxContextMessages());
-        if (senderMessages.size() < Math.max(1, contextSettings.getMinSenderMessages())) {
+        RecentChatCache.SenderSignals senderSignals = senderSignals(senderName, Math.max(1, contextSettings.getMaxContextMessages()));
+        if (senderSignals.messageCount() < Math.max(1, contextSettings.getMinSenderMessages())) {
             return pass();
         }
 
-        Set<String> signalKinds = new LinkedHashSet<>();
-        int signalMessages = 0;
-        for (String message : senderMessages) {
-            Set<String> localSignals = classifySignals(message);
-            if (!localSignals.isEmpty()) {
-                signalKinds.addAll(localSignals);
-                signalMessages++;
-            }
-        }
-
+        List<String> signalKinds = signalKinds(senderSignals.signalMask());
+        int signalMessages = senderSignals.signalMessageCount();
         if (signalMessages < Math.max(1, contextSettings.getMinSignalMessages())
             || signalKinds.size() < Math.max(1, contextSettings.getMinSignalKinds())) {
             return pass();
@@ -101,57 +134,58 @@ public final class ContextStage extends Stage {
         return score(score, reasonIds, String.join("; ", reasons));
     }
 
-    private List<String> recentMessagesForSender(String normalizedSenderName, int maxContextMessages) {
-        int boundedMaxContextMessages = Math.max(1, maxContextMessages);
-        List<String> messages = new ArrayList<>(boundedMaxContextMessages);
-        for (RecentChatCache.CachedChatMessage entry : recentChatCache.entriesForSender(normalizedSenderName, boundedMaxContextMessages)) {
-            messages.add(entry.cleanText().toLowerCase(Locale.ROOT));
-            if (messages.size() >= boundedMaxContextMessages) {
-                break;
-            }
+    private RecentChatCache.SenderSignals senderSignals(String normalizedSenderName, int maxContextMessages) {
+        RecentChatCache.SignalWindow window = signalWindow;
+        if (window == null || window.size() != maxContextMessages) {
+            window = trackSenderSignals(maxContextMessages);
         }
 
-        return List.copyOf(messages);
+        RecentChatCache.SenderSignals senderSignals = window == null ? null : recentChatCache.senderSignals(window, normalizedSenderName);
+        if (senderSignals == null) {
+            // A concurrent size change replaced the window in between; read its replacement.
+            window = signalWindow;
+            senderSignals = window == null ? null : recentChatCache.senderSignals(window, normalizedSenderName);
+        }
+        return senderSignals == null ? new RecentChatCache.SenderSignals(0, 0, 0) : senderSignals;
     }
 
-    private Set<String> classifySignals(String message) {
-        Set<String> signals = new LinkedHashSet<>();
-        if (message == null || message.isBlank()) {
-            return signals;
-        }
+    private synchronized RecentChatCache.SignalWindow trackSenderSignals(int maxContextMessages) {
+        RecentChatCache.SignalWindow previous = signalWindow;
+        if (closed || (previous != null && previous.size() == maxContextMessages)) {
+            // A closed stage only finishes evaluations that were already running, without a window.
+            return previous;
+        }
+
+        // Signals are matched once per line as it enters the cache, outside the cache lock.
+        RecentChatCache.SignalWindow window = recentChatCache.trackSenderSignals(
+            maxContextMessages,
+            signalMemo -> rules.signals(signalMemo).mask() & CONTEXT_SIGNAL_MASK
+        );
+        signalWindow = window;
+        recentChatCache.untrackSenderSignals(previous);
+        return window;
+    }
 
-        if (matchesPhraseRule(rules.trust(), message)) {
-            signals.add("trust");
-        }
-        if (matchesPhraseRule(rules.urgency(), message)) {
-            signals.add("urgency");
-        }
-        if (rules.externalPlatform().patternMatches(message)) {
-            signals.add("external platform");
-        }
-        if (rules.upfrontPayment().patternMatches(message)) {
-            signals.add("payment");
-        }
-        if (rules.accountData().patternMatches(message)) {
-            signals.add("account data");
-        }
-        if (rules.coercionThreat().patternMatches(message)) {
-            signals.add("threat");
-        }
-        if (rules.suspiciousLink().patternMatches(message)) {
-            signals.add("suspicious link");
+    private static List<String> signalKinds(int signalMask) {
+        List<String> signalKinds = new ArrayList<>(Integer.bitCount(signalMask));
+        for (RuleSignal signal : RuleSignal.values()) {
+            if ((signalMask & signal.mask()) != 0) {
+                signalKinds.add(signal.label());
+            }
         }
 
-        return signals;
+        return signalKinds;
     }
 
-    private static boolean matchesPhraseRule(Rule rule, String message) {
-        if (rule == null || message == null || message.isBlank()) {
-            return false;
+    private static int contextSignalMask() {
+        int mask = 0;
+        for (RuleSignal signal : RuleSignal.values()) {
+            if (signal.contextSignal()) {
+                mask |= signal.mask();
+            }
         }
 
-        Rule.PhraseScore phraseScore = rule.phraseMatch(message);
-        return phraseScore.score() >= rule.threshold();
+        return mask;
     }
 
     private static String normalizeSenderName(String senderName) {
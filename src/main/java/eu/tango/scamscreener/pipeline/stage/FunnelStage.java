@@ -5,7 +5,9 @@ import eu.tango.scamscreener.pipeline.core.Stage;
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.StageResult;
 import eu.tango.scamscreener.pipeline.rule.FunnelRules;
+import eu.tango.scamscreener.pipeline.rule.MessageSignals;
 import eu.tango.scamscreener.pipeline.rule.RuleCatalog;
+import eu.tango.scamscreener.pipeline.rule.RuleSignal;
 import eu.tango.scamscreener.pipeline.state.FunnelStore;
 
 import java.util.ArrayList;
@@ -65,6 +67,27 @@ public final class FunnelStage extends Stage {
         this.funnelStore.configure(rules.funnel().windowMs(), rules.funnel().maxHistory());
     }
 
+    /**
+     * Returns the best score one funnel step can reach.
+     *
+     * @return the upper score bound of this stage
+     */
+    @Override
+    public int maxScoreDelta() {
+        if (!rules.funnelStageEnabled()) {
+            return 0;
+        }
+
+        FunnelRules funnel = rules.funnel();
+        long externalBound = (long) Math.max(0, funnel.externalAfterContactScore()) + Math.max(0, funnel.trustBridgeBonus());
+        int bestFollowUp = Math.max(
+            Math.max(Math.max(0, funnel.paymentAfterExternalScore()), Math.max(0, funnel.paymentAfterTrustScore())),
+            Math.max(Math.max(0, funnel.accountAfterExternalScore()), Math.max(0, funnel.accountAfterTrustScore()))
+        );
+        long followUpBound = (long) bestFollowUp + Math.max(0, funnel.fullChainBonusScore());
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(externalBound, followUpBound));
+    }
+
     /**
      * Evaluates the current message as one funnel step within the sender-local sequence.
      *
@@ -83,7 +106,7 @@ public final class FunnelStage extends Stage {
             return pass();
         }
 
-        FunnelStore.FunnelStep currentStep = classifyStep(chatEvent.getNormalizedMessage());
+        FunnelStore.FunnelStep currentStep = classifyStep(chatEvent);
         List<FunnelStore.FunnelStep> previousSteps = snapshot.recentSteps();
         boolean hasPriorContact = !previousSteps.isEmpty();
         boolean hasTrust = previousSteps.contains(FunnelStore.FunnelStep.TRUST);
@@ -147,22 +170,23 @@ public final class FunnelStage extends Stage {
         return score(totalScore, reasonIds, String.join("; ", reasonParts));
     }
 
-    private FunnelStore.FunnelStep classifyStep(String message) {
-        String safeMessage = message == null ? "" : message;
-        if (safeMessage.isBlank()) {
+    private FunnelStore.FunnelStep classifyStep(ChatEvent chatEvent) {
+        if (chatEvent.getNormalizedMessage().isBlank()) {
             return FunnelStore.FunnelStep.MESSAGE;
         }
 
-        if (rules.accountData().patternMatches(safeMessage)) {
+        // RuleStage already filled the event memo, so this is a lookup rather than four regex runs.
+        MessageSignals signals = rules.signals(chatEvent.getSignalMemo());
+        if (signals.has(RuleSignal.ACCOUNT_DATA)) {
             return FunnelStore.FunnelStep.ACCOUNT_DATA;
         }
-        if (rules.upfrontPayment().patternMatches(safeMessage)) {
+        if (signals.has(RuleSignal.PAYMENT)) {
             return FunnelStore.FunnelStep.PAYMENT;
         }
-        if (rules.externalPlatform().patternMatches(safeMessage)) {
+        if (signals.has(RuleSignal.EXTERNAL_PLATFORM)) {
             return FunnelStore.FunnelStep.EXTERNAL_PLATFORM;
         }
-        if (rules.trustSignal().patternMatches(safeMessage)) {
+        if (signals.has(RuleSignal.TRUST_SIGNAL)) {
             return FunnelStore.FunnelStep.TRUST;
         }
 
@@ -4,8 +4,10 @@ import eu.tango.scamscreener.config.data.RulesConfig;
 import eu.tango.scamscreener.pipeline.core.Stage;
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.StageResult;
+import eu.tango.scamscreener.pipeline.rule.EditDistancePattern;
 import eu.tango.scamscreener.pipeline.rule.RuleCatalog;
 import eu.tango.scamscreener.pipeline.rule.SimilarityRule;
+import eu.tango.scamscreener.pipeline.rule.TokenView;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -21,8 +23,7 @@ import java.util.Map;
  * outside the stage implementation.
  */
 public final class LevenshteinStage extends Stage {
-    private static final ThreadLocal<LevenshteinScratch> LEVENSHTEIN_SCRATCH =
-        ThreadLocal.withInitial(LevenshteinScratch::new);
+    private static final ThreadLocal<TokenView> TOKEN_VIEW = ThreadLocal.withInitial(TokenView::new);
 
     private final RuleCatalog rules;
 
@@ -51,6 +52,26 @@ public final class LevenshteinStage extends Stage {
         rules = ruleCatalog == null ? new RuleCatalog(new RulesConfig()) : ruleCatalog;
     }
 
+    /**
+     * Reports this stage as stateless because it only reads the event and the immutable similarity catalog.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    /**
+     * Returns the sum of the best phrase score of every similarity category.
+     *
+     * @return the upper score bound of this stage
+     */
+    @Override
+    public int maxScoreDelta() {
+        return rules.similarityStageMaxScore();
+    }
+
     /**
      * Evaluates similarity-based detection checks.
      *
@@ -68,18 +89,26 @@ public final class LevenshteinStage extends Stage {
             return pass();
         }
 
-        List<String> messageTokens = tokenize(normalizedMessage);
-        if (messageTokens.isEmpty() || rules.similarityRules().isEmpty()) {
+        TokenView messageTokens = chatEvent.loadSimilarityTokens(TOKEN_VIEW.get());
+        if (messageTokens.count() == 0 || rules.similarityRules().isEmpty()) {
             return pass();
         }
+        if (!messageTokens.singleSpaced()) {
+            // Windows are compared as single-space joined tokens; similarity text is normally already collapsed.
+            messageTokens = new TokenView().splitOnWhitespace(joinTokens(messageTokens));
+        }
 
-        Map<String, PhraseMatch> bestMatchesByCategory = new LinkedHashMap<>();
-        for (SimilarityRule entry : rules.similarityRules()) {
+        Map<String, PhraseMatch> bestMatchesByCategory = Map.of();
+        // The bigram index drops phrases that cannot reach their threshold before any edit-distance work.
+        for (SimilarityRule entry : rules.similarityCandidates(normalizedMessage)) {
             double similarity = bestSimilarity(normalizedMessage, messageTokens, entry);
             if (similarity < entry.threshold()) {
                 continue;
             }
 
+            if (bestMatchesByCategory.isEmpty()) {
+                bestMatchesByCategory = new LinkedHashMap<>();
+            }
             PhraseMatch current = bestMatchesByCategory.get(entry.category());
             if (current == null || similarity > current.similarity()) {
                 bestMatchesByCategory.put(entry.category(), new PhraseMatch(entry, similarity));
@@ -124,20 +153,18 @@ public final class LevenshteinStage extends Stage {
         return category != null && category.toLowerCase(Locale.ROOT).contains("urgency");
     }
 
-    private static double bestSimilarity(String normalizedMessage, List<String> messageTokens, SimilarityRule entry) {
-        String phrase = entry.normalizedPhrase();
+    private static double bestSimilarity(String normalizedMessage, TokenView messageTokens, SimilarityRule entry) {
+        EditDistancePattern phrase = entry.pattern();
         int phraseTokenCount = entry.tokenCount();
-        LevenshteinScratch scratch = LEVENSHTEIN_SCRATCH.get();
-        double bestSimilarity = similarityWithUpperBound(normalizedMessage, phrase, entry.threshold(), scratch);
-        if (phraseTokenCount <= 0 || messageTokens.size() < phraseTokenCount) {
+        double bestSimilarity = similarityWithUpperBound(normalizedMessage, phrase, entry.threshold());
+        if (phraseTokenCount <= 0 || messageTokens.count() < phraseTokenCount) {
             return bestSimilarity;
         }
 
-        StringBuilder windowBuilder = new StringBuilder(normalizedMessage.length());
-        for (int startIndex = 0; startIndex <= messageTokens.size() - phraseTokenCount; startIndex++) {
-            String window = joinWindow(messageTokens, startIndex, phraseTokenCount, windowBuilder);
+        for (int startIndex = 0; startIndex <= messageTokens.count() - phraseTokenCount; startIndex++) {
+            CharSequence window = messageTokens.window(startIndex, phraseTokenCount);
             double minimumUsefulSimilarity = Math.max(entry.threshold(), Math.nextUp(bestSimilarity));
-            double candidateSimilarity = similarityWithUpperBound(window, phrase, minimumUsefulSimilarity, scratch);
+            double candidateSimilarity = similarityWithUpperBound(window, phrase, minimumUsefulSimilarity);
             if (candidateSimilarity > bestSimilarity) {
                 bestSimilarity = candidateSimilarity;
             }
@@ -146,56 +173,27 @@ public final class LevenshteinStage extends Stage {
         return bestSimilarity;
     }
 
-    private static String joinWindow(List<String> tokens, int startIndex, int length, StringBuilder builder) {
-        builder.setLength(0);
-        for (int index = startIndex; index < startIndex + length; index++) {
-            if (builder.length() > 0) {
+    private static String joinTokens(TokenView tokens) {
+        StringBuilder builder = new StringBuilder(tokens.text().length());
+        for (int index = 0; index < tokens.count(); index++) {
+            if (index > 0) {
                 builder.append(' ');
             }
-            builder.append(tokens.get(index));
+            builder.append(tokens.text(), tokens.start(index), tokens.end(index));
         }
 
         return builder.toString();
     }
 
-    private static List<String> tokenize(String normalizedMessage) {
-        if (normalizedMessage.isBlank()) {
-            return List.of();
-        }
-
-        List<String> tokens = new ArrayList<>();
-        int tokenStart = -1;
-        for (int index = 0; index < normalizedMessage.length(); index++) {
-            char character = normalizedMessage.charAt(index);
-            if (Character.isWhitespace(character)) {
-                if (tokenStart >= 0) {
-                    tokens.add(normalizedMessage.substring(tokenStart, index));
-                    tokenStart = -1;
-                }
-                continue;
-            }
-
-            if (tokenStart < 0) {
-                tokenStart = index;
-            }
-        }
-        if (tokenStart >= 0) {
-            tokens.add(normalizedMessage.substring(tokenStart));
-        }
-
-        return tokens;
-    }
-
     private static double similarityWithUpperBound(
-        String left,
-        String right,
-        double minimumUsefulSimilarity,
-        LevenshteinScratch scratch
+        CharSequence left,
+        EditDistancePattern right,
+        double minimumUsefulSimilarity
     ) {
-        if (left == null || right == null || left.isBlank() || right.isBlank()) {
+        if (left == null || right == null || isBlank(left) || right.phrase().isBlank()) {
             return 0.0;
         }
-        if (left.equals(right)) {
+        if (right.phrase().contentEquals(left)) {
             return 1.0;
         }
 
@@ -210,63 +208,34 @@ public final class LevenshteinStage extends Stage {
             return 0.0;
         }
 
-        int distance = levenshteinDistance(left, right, scratch);
+        // Distances past this bound cannot reach the useful similarity, so the engine may stop early there.
+        int distance = right.distance(left, maxUsefulDistance(maxLength, minimumUsefulSimilarity));
         return 1.0 - (distance / (double) maxLength);
     }
 
-    private static int levenshteinDistance(String left, String right, LevenshteinScratch scratch) {
-        int leftLength = left.length();
-        int rightLength = right.length();
-        scratch.ensureCapacity(rightLength + 1);
-        int[] previous = scratch.previous();
-        int[] current = scratch.current();
-
-        for (int index = 0; index <= rightLength; index++) {
-            previous[index] = index;
-        }
-
-        for (int leftIndex = 1; leftIndex <= leftLength; leftIndex++) {
-            current[0] = leftIndex;
-            char leftCharacter = left.charAt(leftIndex - 1);
-            for (int rightIndex = 1; rightIndex <= rightLength; rightIndex++) {
-                char rightCharacter = right.charAt(rightIndex - 1);
-                int substitutionCost = leftCharacter == rightCharacter ? 0 : 1;
-                current[rightIndex] = Math.min(
-                    Math.min(current[rightIndex - 1] + 1, previous[rightIndex] + 1),
-                    previous[rightIndex - 1] + substitutionCost
-                );
+    private static boolean isBlank(CharSequence value) {
+        for (int index = 0; index < value.length(); index++) {
+            if (!Character.isWhitespace(value.charAt(index))) {
+                return false;
             }
-
-            int[] swap = previous;
-            previous = current;
-            current = swap;
         }
 
-        return previous[rightLength];
-    }
-
-    private record PhraseMatch(SimilarityRule entry, double similarity) {
+        return true;
     }
 
-    private static final class LevenshteinScratch {
-        private int[] previous = new int[0];
-        private int[] current = new int[0];
-
-        private void ensureCapacity(int requiredLength) {
-            if (previous.length >= requiredLength && current.length >= requiredLength) {
-                return;
-            }
-
-            previous = new int[requiredLength];
-            current = new int[requiredLength];
+    private static int maxUsefulDistance(int maxLength, double minimumUsefulSimilarity) {
+        int distance = Math.max(0, Math.min(maxLength, (int) Math.floor((1.0 - minimumUsefulSimilarity) * maxLength)));
+        // Settle floating-point rounding against the exact similarity formula used above.
+        while (distance > 0 && 1.0 - (distance / (double) maxLength) < minimumUsefulSimilarity) {
+            distance--;
         }
-
-        private int[] previous() {
-            return previous;
+        while (distance < maxLength && 1.0 - ((distance + 1) / (double) maxLength) >= minimumUsefulSimilarity) {
+            distance++;
         }
 
-        private int[] current() {
-            return current;
-        }
+        return distance;
+    }
+
+    private record PhraseMatch(SimilarityRule entry, double similarity) {
     }
 }
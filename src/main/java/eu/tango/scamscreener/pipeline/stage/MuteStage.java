@@ -1,5 +1,6 @@
 package eu.tango.scamscreener.pipeline.stage;
 
+import eu.tango.scamscreener.chat.TextNormalization;
 import eu.tango.scamscreener.config.data.RulesConfig;
 import eu.tango.scamscreener.pipeline.core.Stage;
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
@@ -17,8 +18,10 @@ import java.util.UUID;
  * First pipeline stage reserved for mute and suppression logic.
  */
 public final class MuteStage extends Stage {
+    private static final long ANONYMOUS_SENDER_HASH = TextNormalization.fingerprintHash("ANON");
+
     private final RuleCatalog rules;
-    private final Map<String, Long> recentDuplicateKeys = new LinkedHashMap<>();
+    private final Map<Long, Long> recentDuplicateKeys = new LinkedHashMap<>();
 
     /**
      * Creates the mute stage with the built-in default rules config.
@@ -83,57 +86,66 @@ public final class MuteStage extends Stage {
 
         long nowMs = Math.max(0L, chatEvent.getTimestampMs());
         pruneExpiredDuplicateKeys(nowMs, mute);
-        String duplicateKey = duplicateKey(chatEvent, normalizedMessage);
-        if (duplicateKey.isBlank()) {
+        long duplicateKey = duplicateKey(chatEvent, normalizedMessage);
+        if (duplicateKey == 0L) {
             return false;
         }
 
-        Long previousTimestamp = recentDuplicateKeys.get(duplicateKey);
+        // Re-insert on every hit so the map stays ordered by last sighting, oldest first.
+        Long previousTimestamp = recentDuplicateKeys.remove(duplicateKey);
         recentDuplicateKeys.put(duplicateKey, nowMs);
         trimDuplicateCache(mute);
         return previousTimestamp != null && (nowMs - previousTimestamp) <= mute.duplicateWindowMs();
     }
 
     private void pruneExpiredDuplicateKeys(long nowMs, MuteRules mute) {
-        if (recentDuplicateKeys.isEmpty()) {
-            return;
-        }
-
-        Iterator<Map.Entry<String, Long>> iterator = recentDuplicateKeys.entrySet().iterator();
-        while (iterator.hasNext()) {
-            Map.Entry<String, Long> entry = iterator.next();
-            if (nowMs - entry.getValue() > mute.duplicateWindowMs()) {
-                iterator.remove();
-            }
+        // Entries are ordered by last sighting, so only the expired head needs to go.
+        Iterator<Long> iterator = recentDuplicateKeys.values().iterator();
+        while (iterator.hasNext() && nowMs - iterator.next() > mute.duplicateWindowMs()) {
+            iterator.remove();
         }
     }
 
     private void trimDuplicateCache(MuteRules mute) {
-        while (recentDuplicateKeys.size() > mute.duplicateCacheSize()) {
-            Iterator<String> iterator = recentDuplicateKeys.keySet().iterator();
-            if (!iterator.hasNext()) {
-                return;
-            }
+        Iterator<Long> iterator = recentDuplicateKeys.keySet().iterator();
+        while (recentDuplicateKeys.size() > mute.duplicateCacheSize() && iterator.hasNext()) {
             iterator.next();
             iterator.remove();
         }
     }
 
-    private static String duplicateKey(ChatEvent chatEvent, String normalizedMessage) {
-        if (normalizedMessage == null || normalizedMessage.isBlank()) {
-            return "";
+    private static long duplicateKey(ChatEvent chatEvent, String normalizedMessage) {
+        long fingerprint = chatEvent.getMessageFingerprint();
+        if (fingerprint == 0L) {
+            // Symbol-only lines have no similarity text; key them by the normalized message instead.
+            fingerprint = TextNormalization.fingerprintHash(normalizedMessage);
+        }
+        if (fingerprint == 0L) {
+            return 0L;
         }
 
+        // Fold the sender into the message fingerprint so the cache keys stay a single long.
+        long duplicateKey = fingerprint * 31L + senderHash(chatEvent);
+        return duplicateKey == 0L ? 1L : duplicateKey;
+    }
+
+    private static long senderHash(ChatEvent chatEvent) {
         UUID senderUuid = chatEvent.getSenderUuid();
         if (senderUuid != null) {
-            return senderUuid + "|" + normalizedMessage;
+            return senderUuid.getMostSignificantBits() * 31L + senderUuid.getLeastSignificantBits();
+        }
+
+        // Non-system events already carry the trimmed, lower-cased sender name as their key.
+        String senderKey = chatEvent.getSenderKey();
+        if (!senderKey.isBlank()) {
+            return TextNormalization.fingerprintHash(senderKey);
         }
 
         String senderName = chatEvent.getSenderName();
         if (senderName != null && !senderName.isBlank()) {
-            return senderName.trim().toLowerCase(Locale.ROOT) + "|" + normalizedMessage;
+            return TextNormalization.fingerprintHash(senderName.trim().toLowerCase(Locale.ROOT));
         }
 
-        return "ANON|" + normalizedMessage;
+        return ANONYMOUS_SENDER_HASH;
     }
 }
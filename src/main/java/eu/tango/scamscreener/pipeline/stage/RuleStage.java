@@ -4,11 +4,15 @@ import eu.tango.scamscreener.config.data.RulesConfig;
 import eu.tango.scamscreener.pipeline.core.Stage;
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.StageResult;
+import eu.tango.scamscreener.pipeline.rule.MessageSignals;
 import eu.tango.scamscreener.pipeline.rule.Rule;
 import eu.tango.scamscreener.pipeline.rule.RuleCatalog;
+import eu.tango.scamscreener.pipeline.rule.RuleHits;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Core rule-based detection stage for exact and regex-style matches.
@@ -45,6 +49,59 @@ public final class RuleStage extends Stage {
         rules = ruleCatalog == null ? new RuleCatalog(new RulesConfig()) : ruleCatalog;
     }
 
+    /**
+     * Evaluates deterministic rule checks for a batch of chat events.
+     *
+     * <p>The result only depends on the normalized message, so repeated lines in
+     * one batch, which are common in spam-heavy replays, are scanned once. Repeats
+     * take over the signal memo of the first occurrence, so later stages and the
+     * recent chat cache still see their signals.
+     *
+     * @param chatEvents the chat events to evaluate
+     * @return one result per event
+     */
+    @Override
+    protected List<StageResult> evaluateAll(List<ChatEvent> chatEvents) {
+        Map<String, ChatEvent> firstByMessage = new HashMap<>();
+        Map<String, StageResult> resultsByMessage = new HashMap<>();
+        List<StageResult> results = new ArrayList<>(chatEvents.size());
+        for (ChatEvent chatEvent : chatEvents) {
+            String message = chatEvent.getNormalizedMessage();
+            ChatEvent first = firstByMessage.putIfAbsent(message, chatEvent);
+            if (first == null) {
+                StageResult result = evaluate(chatEvent);
+                resultsByMessage.put(message, result);
+                results.add(result);
+                continue;
+            }
+
+            chatEvent.getSignalMemo().copyFrom(first.getSignalMemo());
+            results.add(resultsByMessage.get(message));
+        }
+
+        return results;
+    }
+
+    /**
+     * Reports this stage as stateless because it only reads the event and the immutable rule catalog.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
+
+    /**
+     * Returns the sum of every rule and combo score in the catalog.
+     *
+     * @return the upper score bound of this stage
+     */
+    @Override
+    public int maxScoreDelta() {
+        return rules.ruleStageMaxScore();
+    }
+
     /**
      * Evaluates deterministic rule checks.
      *
@@ -57,66 +114,69 @@ public final class RuleStage extends Stage {
             return pass();
         }
 
-        String message = chatEvent.getNormalizedMessage();
-        if (message.isBlank()) {
+        if (chatEvent.getNormalizedMessage().isBlank()) {
             return pass();
         }
 
         int totalScore = 0;
         List<String> reasonParts = new ArrayList<>();
         List<String> reasonIds = new ArrayList<>();
+        // One automaton pass decides which regexes can match at all, so benign lines skip them entirely.
+        // The result is memoized on the event so later stages reuse it.
+        MessageSignals signals = rules.signals(chatEvent.getSignalMemo());
+        RuleHits hits = signals.hits();
 
-        String linkMatch = rules.suspiciousLink().firstPatternMatch(message);
+        String linkMatch = hits.firstMatch(rules.suspiciousLink());
         if (linkMatch != null) {
             totalScore += rules.suspiciousLink().score();
             reasonParts.add(rules.suspiciousLink().reason(linkMatch));
             reasonIds.add("rule.suspicious_link");
         }
 
-        String externalPlatformMatch = rules.externalPlatform().firstPatternMatch(message);
+        String externalPlatformMatch = hits.firstMatch(rules.externalPlatform());
         if (externalPlatformMatch != null) {
             totalScore += rules.externalPlatform().score();
             reasonParts.add(rules.externalPlatform().reason(externalPlatformMatch));
             reasonIds.add("rule.external_platform");
         }
 
-        String paymentMatch = rules.upfrontPayment().firstPatternMatch(message);
+        String paymentMatch = hits.firstMatch(rules.upfrontPayment());
         if (paymentMatch != null) {
             totalScore += rules.upfrontPayment().score();
             reasonParts.add(rules.upfrontPayment().reason(paymentMatch));
             reasonIds.add("rule.upfront_payment");
         }
 
-        String accountMatch = rules.accountData().firstPatternMatch(message);
+        String accountMatch = hits.firstMatch(rules.accountData());
         if (accountMatch != null) {
             totalScore += rules.accountData().score();
             reasonParts.add(rules.accountData().reason(accountMatch));
             reasonIds.add("rule.account_data");
         }
 
-        String tooGoodMatch = rules.tooGood().firstPatternMatch(message);
+        String tooGoodMatch = hits.firstMatch(rules.tooGood());
         if (tooGoodMatch != null) {
             totalScore += rules.tooGood().score();
             reasonParts.add(rules.tooGood().reason(tooGoodMatch));
             reasonIds.add("rule.too_good");
         }
 
-        String coercionThreatMatch = rules.coercionThreat().firstPatternMatch(message);
+        String coercionThreatMatch = hits.firstMatch(rules.coercionThreat());
         if (coercionThreatMatch != null) {
             totalScore += rules.coercionThreat().score();
             reasonParts.add(rules.coercionThreat().reason(coercionThreatMatch));
             reasonIds.add("rule.coercion_threat");
         }
 
-        String middlemanMatch = rules.middleman().firstPatternMatch(message);
-        String middlemanClaimMatch = rules.middlemanClaim().firstPatternMatch(message);
+        String middlemanMatch = hits.firstMatch(rules.middleman());
+        String middlemanClaimMatch = hits.firstMatch(rules.middlemanClaim());
         if (middlemanClaimMatch != null) {
             totalScore += rules.middlemanClaim().score();
             reasonParts.add(rules.middlemanClaim().reason(middlemanClaimMatch));
             reasonIds.add("rule.middleman_claim");
         }
 
-        String proofBaitMatch = rules.proofBait().firstPatternMatch(message);
+        String proofBaitMatch = hits.firstMatch(rules.proofBait());
         if (proofBaitMatch != null) {
             totalScore += rules.proofBait().score();
             reasonParts.add(rules.proofBait().reason(proofBaitMatch));
@@ -133,9 +193,9 @@ public final class RuleStage extends Stage {
             || middlemanClaimMatch != null
             || proofBaitMatch != null;
 
-        Rule.PhraseScore urgency = rules.urgency().phraseMatch(message);
-        boolean urgencyAllowlisted = rules.urgencyAllowlist().patternMatches(message);
-        boolean tradeContextAllowlisted = rules.tradeContextAllowlist().patternMatches(message);
+        Rule.PhraseScore urgency = signals.urgency();
+        boolean urgencyAllowlisted = hits.matches(rules.urgencyAllowlist());
+        boolean tradeContextAllowlisted = hits.matches(rules.tradeContextAllowlist());
         boolean urgencyTriggered = false;
         if (riskContext
             && coercionThreatMatch == null
@@ -149,8 +209,8 @@ public final class RuleStage extends Stage {
             reasonIds.add("rule.urgency");
         }
 
-        Rule.PhraseScore trust = rules.trust().phraseMatch(message);
-        boolean trustAllowlisted = rules.trustAllowlist().patternMatches(message);
+        Rule.PhraseScore trust = signals.trust();
+        boolean trustAllowlisted = hits.matches(rules.trustAllowlist());
         boolean trustTriggered = false;
         if (trust.score() >= rules.trust().threshold()
             && !(trustAllowlisted && !riskContext)) {
@@ -160,7 +220,7 @@ public final class RuleStage extends Stage {
             reasonIds.add("rule.trust");
         }
 
-        String discordHandleMatch = rules.discordHandle().firstPatternMatch(message);
+        String discordHandleMatch = hits.firstMatch(rules.discordHandle());
         if (externalPlatformMatch != null && discordHandleMatch != null) {
             totalScore += rules.discordHandle().score();
             reasonParts.add(rules.discordHandle().reason(discordHandleMatch));
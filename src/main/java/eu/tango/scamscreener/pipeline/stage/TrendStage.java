@@ -62,14 +62,35 @@ public final class TrendStage extends Stage {
     public TrendStage(TrendStore trendStore, RuleCatalog ruleCatalog) {
         rules = ruleCatalog == null ? new RuleCatalog(new RulesConfig()) : ruleCatalog;
         this.trendStore = trendStore == null ? new TrendStore() : trendStore;
-        this.trendStore.configure(rules.trend().windowMs(), rules.trend().maxHistory());
+        this.trendStore.configure(rules.trend().windowMs(), rules.trend().maxHistory(), rules.trend().nearDuplicateSimilarityPercent());
+    }
+
+    /**
+     * Returns the larger of the single-repeat score and the full wave score.
+     *
+     * <p>The wave escalation is bounded by the history size of the trend store,
+     * since no more distinct senders can be seen than messages are kept.
+     *
+     * @return the upper score bound of this stage
+     */
+    @Override
+    public int maxScoreDelta() {
+        if (!rules.trendStageEnabled()) {
+            return 0;
+        }
+
+        TrendRules trend = rules.trend();
+        int maxExtraSenders = Math.max(0, trendStore.maxHistory() - trend.multiSenderWaveThreshold());
+        long waveBound = (long) Math.max(0, trend.multiSenderWaveScore()) + Math.max(0, trend.escalationBonus(maxExtraSenders));
+        long bound = Math.max(Math.max(0, trend.singleSenderRepeatScore()), waveBound);
+        return (int) Math.min(Integer.MAX_VALUE, bound);
     }
 
     /**
      * Evaluates recent cross-sender repeats for the current message.
      *
      * @param chatEvent the chat event received from the client
-     * @return a score-only result when multiple senders repeat the same message
+     * @return a score-only result when multiple senders repeat the same or a near-identical message
      */
     @Override
     protected StageResult evaluate(ChatEvent chatEvent) {
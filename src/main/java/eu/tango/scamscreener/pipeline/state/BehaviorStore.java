@@ -2,23 +2,35 @@ package eu.tango.scamscreener.pipeline.state;
 
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 
-import java.util.ArrayDeque;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Keeps short sender-local message history for behavior analysis.
+ *
+ * <p>History is sharded by sender: each sender owns an immutable window of records that
+ * is swapped atomically on record, so readers never block writers and two senders never
+ * contend on the same lock. Senders that stay silent for a full window are swept on later
+ * records, and the least recently active sender is evicted once the sender cap is reached.
  */
 public final class BehaviorStore {
     private static final long DEFAULT_WINDOW_MS = 90_000L;
     private static final int DEFAULT_MAX_HISTORY = 8;
+    private static final int DEFAULT_MAX_TRACKED_SENDERS = 512;
+    private static final MessageRecord[] NO_RECORDS = new MessageRecord[0];
 
-    private long windowMs;
-    private int maxHistory;
-    private final Map<String, Deque<MessageRecord>> messagesBySender = new LinkedHashMap<>();
+    private volatile long windowMs;
+    private volatile int maxHistory;
+    private final int maxTrackedSenders;
+    private final Map<String, MessageRecord[]> messagesBySender = new ConcurrentHashMap<>();
+    private final SenderActivityTracker senderActivity = new SenderActivityTracker();
 
     /**
      * Creates a behavior store with default history bounds.
@@ -34,6 +46,18 @@ public final class BehaviorStore {
      * @param maxHistory the maximum number of messages stored per sender
      */
     public BehaviorStore(long windowMs, int maxHistory) {
+        this(windowMs, maxHistory, DEFAULT_MAX_TRACKED_SENDERS);
+    }
+
+    /**
+     * Creates a behavior store with explicit history bounds and sender cap.
+     *
+     * @param windowMs the maximum age of stored messages
+     * @param maxHistory the maximum number of messages stored per sender
+     * @param maxTrackedSenders the maximum number of senders kept at once
+     */
+    public BehaviorStore(long windowMs, int maxHistory, int maxTrackedSenders) {
+        this.maxTrackedSenders = Math.max(1, maxTrackedSenders);
         configure(windowMs, maxHistory);
     }
 
@@ -43,45 +67,57 @@ public final class BehaviorStore {
      * @param windowMs the maximum age of stored messages
      * @param maxHistory the maximum number of messages stored per sender
      */
-    public synchronized void configure(long windowMs, int maxHistory) {
+    public void configure(long windowMs, int maxHistory) {
         this.windowMs = Math.max(1L, windowMs);
         this.maxHistory = Math.max(1, maxHistory);
 
-        for (String senderKey : List.copyOf(messagesBySender.keySet())) {
-            trimHistory(senderKey);
+        for (String senderKey : messagesBySender.keySet()) {
+            messagesBySender.computeIfPresent(senderKey, (ignored, records) -> trimHistory(records, this.maxHistory));
         }
     }
 
     /**
      * Returns the current sender-local snapshot without mutating history.
      *
+     * <p>The returned {@link BehaviorSnapshot#recentMessages()} is a read-only view over
+     * the sender window captured at call time; later records do not change it.
+     *
      * @param chatEvent the event to inspect
      * @return the current behavior snapshot for the sender
      */
-    public synchronized BehaviorSnapshot snapshotFor(ChatEvent chatEvent) {
+    public BehaviorSnapshot snapshotFor(ChatEvent chatEvent) {
         String senderKey = StateStoreSupport.senderKey(chatEvent);
         if (senderKey.isBlank()) {
             return BehaviorSnapshot.empty();
         }
 
-        long timestampMs = StateStoreSupport.timestamp(chatEvent);
-        prune(senderKey, timestampMs);
-        Deque<MessageRecord> records = messagesBySender.get(senderKey);
-        if (records == null || records.isEmpty()) {
+        MessageRecord[] records = messagesBySender.get(senderKey);
+        if (records == null) {
+            return new BehaviorSnapshot(senderKey, 0, 0, List.of());
+        }
+
+        int from = firstRetained(records, StateStoreSupport.timestamp(chatEvent), windowMs, maxHistory);
+        if (from == records.length) {
+            // Expired histories are dropped by record() and its idle sweeps, never by readers.
             return new BehaviorSnapshot(senderKey, 0, 0, List.of());
         }
 
-        String normalizedMessage = StateStoreSupport.normalizedMessage(chatEvent);
+        long fingerprint = StateStoreSupport.messageFingerprint(chatEvent);
         int sameMessageCount = 0;
-        List<String> recentMessages = new ArrayList<>(records.size());
-        for (MessageRecord record : records) {
-            recentMessages.add(record.rawMessage());
-            if (!normalizedMessage.isBlank() && normalizedMessage.equals(record.normalizedMessage())) {
-                sameMessageCount++;
+        if (fingerprint != 0L) {
+            for (int index = from; index < records.length; index++) {
+                if (fingerprint == records[index].fingerprint()) {
+                    sameMessageCount++;
+                }
             }
         }
 
-        return new BehaviorSnapshot(senderKey, records.size(), sameMessageCount, List.copyOf(recentMessages));
+        return new BehaviorSnapshot(
+            senderKey,
+            records.length - from,
+            sameMessageCount,
+            new RawMessageView(records, from)
+        );
     }
 
     /**
@@ -89,31 +125,91 @@ public final class BehaviorStore {
      *
      * @param chatEvent the event to append
      */
-    public synchronized void record(ChatEvent chatEvent) {
+    public void record(ChatEvent chatEvent) {
         String senderKey = StateStoreSupport.senderKey(chatEvent);
         if (senderKey.isBlank()) {
             return;
         }
 
         long timestampMs = StateStoreSupport.timestamp(chatEvent);
-        prune(senderKey, timestampMs);
-
-        Deque<MessageRecord> records = messagesBySender.computeIfAbsent(senderKey, ignored -> new ArrayDeque<>());
-        records.addLast(new MessageRecord(
+        MessageRecord record = new MessageRecord(
             timestampMs,
-            StateStoreSupport.normalizedMessage(chatEvent),
+            StateStoreSupport.messageFingerprint(chatEvent),
             StateStoreSupport.rawMessage(chatEvent)
-        ));
-        while (records.size() > maxHistory) {
-            records.removeFirst();
+        );
+        messagesBySender.compute(senderKey, (ignored, records) -> append(records, record, windowMs, maxHistory));
+        for (SenderActivityTracker.Eviction eviction : senderActivity.touch(senderKey, timestampMs, windowMs, maxTrackedSenders)) {
+            // Skip senders that recorded again after they were picked.
+            messagesBySender.computeIfPresent(
+                eviction.senderKey(),
+                (ignored, records) -> records[records.length - 1].timestampMs() <= eviction.lastActivityMs() ? null : records
+            );
         }
     }
 
     /**
      * Clears all stored behavior history.
      */
-    public synchronized void reset() {
+    public void reset() {
         messagesBySender.clear();
+        senderActivity.clear();
+    }
+
+    /**
+     * Writes the retained sender histories into a warm-state section.
+     *
+     * @param writer the section writer
+     */
+    public void writeState(WarmStateCodec.Writer writer) {
+        List<Map.Entry<String, MessageRecord[]>> senders = new ArrayList<>(messagesBySender.entrySet());
+        writer.writeInt(senders.size());
+        for (Map.Entry<String, MessageRecord[]> sender : senders) {
+            writer.writeString(sender.getKey());
+            writer.writeInt(sender.getValue().length);
+            for (MessageRecord record : sender.getValue()) {
+                writer.writeLong(record.timestampMs());
+                writer.writeLong(record.fingerprint());
+                writer.writeString(record.rawMessage());
+            }
+        }
+    }
+
+    /**
+     * Replaces the stored history with a warm-state section.
+     *
+     * <p>Records that left the window by {@code nowMs} are dropped. The section is decoded
+     * completely before anything is replaced, so a malformed section leaves the store as is.
+     *
+     * @param reader the section reader
+     * @param nowMs the current wall-clock time
+     */
+    public void readState(WarmStateCodec.Reader reader, long nowMs) {
+        int senderCount = reader.readCount(Integer.BYTES * 2);
+        List<Map.Entry<String, MessageRecord[]>> restored = new ArrayList<>(senderCount);
+        for (int senderIndex = 0; senderIndex < senderCount; senderIndex++) {
+            String senderKey = reader.readString();
+            MessageRecord[] records = new MessageRecord[reader.readCount(Long.BYTES * 2 + Integer.BYTES)];
+            for (int index = 0; index < records.length; index++) {
+                records[index] = new MessageRecord(reader.readLong(), reader.readLong(), reader.readString());
+            }
+
+            int from = firstRetained(records, nowMs, windowMs, maxHistory);
+            if (!senderKey.isBlank() && from < records.length) {
+                restored.add(Map.entry(senderKey, Arrays.copyOfRange(records, from, records.length)));
+            }
+        }
+
+        // Replay activity oldest first, so the sender cap keeps the most recently active senders.
+        restored.sort(Comparator.comparingLong(sender -> sender.getValue()[sender.getValue().length - 1].timestampMs()));
+        reset();
+        for (Map.Entry<String, MessageRecord[]> sender : restored) {
+            MessageRecord[] records = sender.getValue();
+            messagesBySender.put(sender.getKey(), records);
+            long lastActivityMs = records[records.length - 1].timestampMs();
+            for (SenderActivityTracker.Eviction eviction : senderActivity.touch(sender.getKey(), lastActivityMs, windowMs, maxTrackedSenders)) {
+                messagesBySender.remove(eviction.senderKey());
+            }
+        }
     }
 
     /**
@@ -121,7 +217,7 @@ public final class BehaviorStore {
      *
      * @return the number of tracked senders
      */
-    public synchronized int trackedSenderCount() {
+    public int trackedSenderCount() {
         return messagesBySender.size();
     }
 
@@ -130,53 +226,83 @@ public final class BehaviorStore {
      *
      * @return the total buffered behavior messages
      */
-    public synchronized int trackedMessageCount() {
+    public int trackedMessageCount() {
         int total = 0;
-        for (Deque<MessageRecord> records : messagesBySender.values()) {
-            if (records != null) {
-                total += records.size();
-            }
+        for (MessageRecord[] records : messagesBySender.values()) {
+            total += records.length;
         }
 
         return total;
     }
 
-    private void prune(String senderKey, long nowMs) {
-        Deque<MessageRecord> records = messagesBySender.get(senderKey);
-        if (records == null) {
-            return;
-        }
+    /**
+     * Returns how many senders were evicted after staying silent for a full window.
+     *
+     * @return the idle sender eviction count
+     */
+    public long idleEvictionCount() {
+        return senderActivity.idleEvictions();
+    }
 
-        while (!records.isEmpty() && nowMs - records.peekFirst().timestampMs() > windowMs) {
-            records.removeFirst();
-        }
+    /**
+     * Returns how many senders were evicted to stay under the sender cap.
+     *
+     * @return the capacity eviction count
+     */
+    public long capacityEvictionCount() {
+        return senderActivity.capacityEvictions();
+    }
 
-        if (records.isEmpty()) {
-            messagesBySender.remove(senderKey);
-            return;
-        }
+    private static MessageRecord[] append(MessageRecord[] records, MessageRecord record, long windowMs, int maxHistory) {
+        MessageRecord[] current = records == null ? NO_RECORDS : records;
+        // Keep one slot free for the new record after dropping expired and overflowing entries.
+        int from = firstRetained(current, record.timestampMs(), windowMs, Math.max(0, maxHistory - 1));
+        MessageRecord[] updated = Arrays.copyOfRange(current, from, current.length + 1);
+        updated[updated.length - 1] = record;
+        return updated;
+    }
 
-        while (records.size() > maxHistory) {
-            records.removeFirst();
+    private static MessageRecord[] trimHistory(MessageRecord[] records, int maxHistory) {
+        if (records.length <= maxHistory) {
+            return records;
         }
+
+        return Arrays.copyOfRange(records, records.length - maxHistory, records.length);
     }
 
-    private void trimHistory(String senderKey) {
-        Deque<MessageRecord> records = messagesBySender.get(senderKey);
-        if (records == null) {
-            return;
+    private static int firstRetained(MessageRecord[] records, long nowMs, long windowMs, int maxHistory) {
+        int from = 0;
+        while (from < records.length && nowMs - records[from].timestampMs() > windowMs) {
+            from++;
         }
 
-        while (records.size() > maxHistory) {
-            records.removeFirst();
+        return Math.max(from, records.length - maxHistory);
+    }
+
+    private record MessageRecord(long timestampMs, long fingerprint, String rawMessage) {
+    }
+
+    /**
+     * Read-only raw-message view over one captured sender window.
+     */
+    private static final class RawMessageView extends AbstractList<String> implements RandomAccess {
+        private final MessageRecord[] records;
+        private final int from;
+
+        private RawMessageView(MessageRecord[] records, int from) {
+            this.records = records;
+            this.from = from;
         }
 
-        if (records.isEmpty()) {
-            messagesBySender.remove(senderKey);
+        @Override
+        public String get(int index) {
+            return records[from + Objects.checkIndex(index, size())].rawMessage();
         }
-    }
 
-    private record MessageRecord(long timestampMs, String normalizedMessage, String rawMessage) {
+        @Override
+        public int size() {
+            return records.length - from;
+        }
     }
 
     /**
@@ -4,6 +4,7 @@ import eu.tango.scamscreener.pipeline.data.ChatEvent;
 
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -11,14 +12,20 @@ import java.util.Map;
 
 /**
  * Keeps a short sender-local step history for future funnel analysis.
+ *
+ * <p>Senders that stay silent for a full window are swept on later records, and the least
+ * recently active sender is evicted once the sender cap is reached.
  */
 public final class FunnelStore {
     private static final long DEFAULT_WINDOW_MS = 300_000L;
     private static final int DEFAULT_MAX_HISTORY = 8;
+    private static final int DEFAULT_MAX_TRACKED_SENDERS = 512;
 
     private long windowMs;
     private int maxHistory;
+    private final int maxTrackedSenders;
     private final Map<String, Deque<StepRecord>> stepsBySender = new LinkedHashMap<>();
+    private final SenderActivityTracker senderActivity = new SenderActivityTracker();
 
     /**
      * Creates a funnel store with default history bounds.
@@ -34,6 +41,18 @@ public final class FunnelStore {
      * @param maxHistory the maximum number of stored steps per sender
      */
     public FunnelStore(long windowMs, int maxHistory) {
+        this(windowMs, maxHistory, DEFAULT_MAX_TRACKED_SENDERS);
+    }
+
+    /**
+     * Creates a funnel store with explicit history bounds and sender cap.
+     *
+     * @param windowMs the maximum age of stored steps
+     * @param maxHistory the maximum number of stored steps per sender
+     * @param maxTrackedSenders the maximum number of senders kept at once
+     */
+    public FunnelStore(long windowMs, int maxHistory, int maxTrackedSenders) {
+        this.maxTrackedSenders = Math.max(1, maxTrackedSenders);
         configure(windowMs, maxHistory);
     }
 
@@ -110,6 +129,9 @@ public final class FunnelStore {
         while (records.size() > maxHistory) {
             records.removeFirst();
         }
+        for (SenderActivityTracker.Eviction eviction : senderActivity.touch(senderKey, nowMs, windowMs, maxTrackedSenders)) {
+            stepsBySender.remove(eviction.senderKey());
+        }
     }
 
     /**
@@ -117,6 +139,70 @@ public final class FunnelStore {
      */
     public synchronized void reset() {
         stepsBySender.clear();
+        senderActivity.clear();
+    }
+
+    /**
+     * Writes the retained funnel steps into a warm-state section.
+     *
+     * @param writer the section writer
+     */
+    public synchronized void writeState(WarmStateCodec.Writer writer) {
+        writer.writeInt(stepsBySender.size());
+        for (Map.Entry<String, Deque<StepRecord>> sender : stepsBySender.entrySet()) {
+            writer.writeString(sender.getKey());
+            writer.writeInt(sender.getValue().size());
+            for (StepRecord record : sender.getValue()) {
+                writer.writeLong(record.timestampMs());
+                writer.writeString(record.step().name());
+                writer.writeString(record.evidence());
+            }
+        }
+    }
+
+    /**
+     * Replaces the stored funnel history with a warm-state section.
+     *
+     * <p>Steps that left the window by {@code nowMs} and steps of unknown kinds are dropped.
+     * The section is decoded completely before anything is replaced, so a malformed section
+     * leaves the store as is.
+     *
+     * @param reader the section reader
+     * @param nowMs the current wall-clock time
+     */
+    public synchronized void readState(WarmStateCodec.Reader reader, long nowMs) {
+        int senderCount = reader.readCount(Integer.BYTES * 2);
+        List<Map.Entry<String, Deque<StepRecord>>> restored = new ArrayList<>(senderCount);
+        for (int senderIndex = 0; senderIndex < senderCount; senderIndex++) {
+            String senderKey = reader.readString();
+            int stepCount = reader.readCount(Long.BYTES + Integer.BYTES * 2);
+            Deque<StepRecord> records = new ArrayDeque<>();
+            for (int index = 0; index < stepCount; index++) {
+                long timestampMs = reader.readLong();
+                FunnelStep step = stepNamed(reader.readString());
+                String evidence = reader.readString();
+                if (step != null && nowMs - timestampMs <= windowMs) {
+                    records.addLast(new StepRecord(timestampMs, step, normalizeEvidence(evidence)));
+                }
+            }
+            while (records.size() > maxHistory) {
+                records.removeFirst();
+            }
+            if (!senderKey.isBlank() && !records.isEmpty()) {
+                restored.add(Map.entry(senderKey, records));
+            }
+        }
+
+        // Replay activity oldest first, so the sender cap keeps the most recently active senders.
+        restored.sort(Comparator.comparingLong(sender -> sender.getValue().peekLast().timestampMs()));
+        reset();
+        for (Map.Entry<String, Deque<StepRecord>> sender : restored) {
+            stepsBySender.put(sender.getKey(), sender.getValue());
+            long lastActivityMs = sender.getValue().peekLast().timestampMs();
+            for (SenderActivityTracker.Eviction eviction : senderActivity.touch(sender.getKey(), lastActivityMs, windowMs, maxTrackedSenders)) {
+                stepsBySender.remove(eviction.senderKey());
+            }
+        }
     }
 
     /**
@@ -144,6 +230,24 @@ public final class FunnelStore {
         return total;
     }
 
+    /**
+     * Returns how many senders were evicted after staying silent for a full window.
+     *
+     * @return the idle sender eviction count
+     */
+    public long idleEvictionCount() {
+        return senderActivity.idleEvictions();
+    }
+
+    /**
+     * Returns how many senders were evicted to stay under the sender cap.
+     *
+     * @return the capacity eviction count
+     */
+    public long capacityEvictionCount() {
+        return senderActivity.capacityEvictions();
+    }
+
     private void prune(String senderKey, long nowMs) {
         Deque<StepRecord> records = stepsBySender.get(senderKey);
         if (records == null) {
@@ -179,6 +283,16 @@ public final class FunnelStore {
         }
     }
 
+    private static FunnelStep stepNamed(String name) {
+        for (FunnelStep step : FunnelStep.values()) {
+            if (step.name().equals(name)) {
+                return step;
+            }
+        }
+
+        return null;
+    }
+
     private static String normalizeEvidence(String evidence) {
         if (evidence == null || evidence.isBlank()) {
             return "";
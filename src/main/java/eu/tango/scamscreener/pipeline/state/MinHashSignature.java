@@ -0,0 +1,112 @@
+package eu.tango.scamscreener.pipeline.state;
+
+import java.util.Arrays;
+
+/**
+ * MinHash signatures over character trigrams, banded for locality-sensitive lookup.
+ *
+ * <p>Two texts share each signature slot with a probability equal to the Jaccard
+ * similarity of their trigram sets. Slots are grouped into {@link #BANDS} bands of
+ * {@link #ROWS} rows; texts that agree on a whole band land in the same bucket, which
+ * makes pairs at roughly 60% similarity or more likely to meet in at least one bucket.
+ */
+final class MinHashSignature {
+    static final int BANDS = 8;
+    static final int ROWS = 4;
+    static final int SIZE = BANDS * ROWS;
+
+    private static final int SHINGLE_LENGTH = 3;
+    private static final long[] MULTIPLIERS = new long[SIZE];
+    private static final long[] OFFSETS = new long[SIZE];
+
+    static {
+        // Fixed seeds keep signatures stable across runs.
+        long seed = 0x9e3779b97f4a7c15L;
+        for (int index = 0; index < SIZE; index++) {
+            seed = mix(seed + 0x9e3779b97f4a7c15L);
+            MULTIPLIERS[index] = seed | 1L;
+            seed = mix(seed + 0x9e3779b97f4a7c15L);
+            OFFSETS[index] = seed;
+        }
+    }
+
+    private MinHashSignature() {
+    }
+
+    /**
+     * Computes the MinHash signature of normalized text.
+     *
+     * @param normalizedText similarity-normalized text
+     * @return the signature with {@link #SIZE} slots
+     */
+    static int[] of(String normalizedText) {
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        String text = normalizedText == null ? "" : normalizedText;
+        int shingles = Math.max(1, text.length() - SHINGLE_LENGTH + 1);
+        for (int start = 0; start < shingles; start++) {
+            long shingle = mix(shingleKey(text, start));
+            for (int slot = 0; slot < SIZE; slot++) {
+                int value = (int) ((shingle * MULTIPLIERS[slot] + OFFSETS[slot]) >>> 33);
+                if (value < signature[slot]) {
+                    signature[slot] = value;
+                }
+            }
+        }
+
+        return signature;
+    }
+
+    /**
+     * Returns the bucket key of one band.
+     *
+     * @param signature the signature to read
+     * @param band the band index
+     * @return the band bucket key
+     */
+    static long bandKey(int[] signature, int band) {
+        long key = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            key = mix(key * 31L + signature[row]);
+        }
+
+        return key;
+    }
+
+    /**
+     * Returns the estimated similarity of two signatures in percent.
+     *
+     * @param first the first signature
+     * @param second the second signature
+     * @return the share of equal slots, from 0 to 100
+     */
+    static int similarityPercent(int[] first, int[] second) {
+        int equalSlots = 0;
+        for (int slot = 0; slot < SIZE; slot++) {
+            if (first[slot] == second[slot]) {
+                equalSlots++;
+            }
+        }
+
+        return equalSlots * 100 / SIZE;
+    }
+
+    private static long shingleKey(String text, int start) {
+        long key = 0L;
+        int end = Math.min(text.length(), start + SHINGLE_LENGTH);
+        for (int index = start; index < end; index++) {
+            key = (key << 16) | text.charAt(index);
+        }
+
+        return key;
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,123 @@
+package eu.tango.scamscreener.pipeline.state;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the last activity of every sender held by a sender-local store and picks the
+ * senders that should be evicted.
+ *
+ * <p>Recording activity is a single concurrent map update, so records of different senders
+ * never share a lock. Evictions happen in batched sweeps: an idle sweep runs once the oldest
+ * sender can have gone idle, at most every eighth of a window, and a capacity sweep trims the
+ * store well below the sender cap. Each sweep walks all senders but removes a batch of them,
+ * which keeps the cost amortized low per recorded event. Only one thread sweeps at a time;
+ * others skip the sweep instead of waiting for it.
+ */
+final class SenderActivityTracker {
+    private static final int SWEEP_FRACTION = 8;
+
+    private final Map<String, Long> lastActivityBySender = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final AtomicLong idleEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+    private volatile long nextIdleSweepMs = Long.MIN_VALUE;
+
+    /**
+     * Marks a sender as active and returns the senders that should now leave the store.
+     *
+     * @param senderKey the sender that just recorded something
+     * @param nowMs the event timestamp of that record
+     * @param windowMs the store window after which idle senders are evicted
+     * @param maxSenders the maximum number of senders the store may keep
+     * @return evictions to apply
+     */
+    List<Eviction> touch(String senderKey, long nowMs, long windowMs, int maxSenders) {
+        lastActivityBySender.merge(senderKey, nowMs, Math::max);
+        boolean overCapacity = lastActivityBySender.size() > maxSenders;
+        if ((!overCapacity && nowMs < nextIdleSweepMs) || !sweeping.compareAndSet(false, true)) {
+            return List.of();
+        }
+
+        try {
+            return sweep(senderKey, nowMs, windowMs, maxSenders);
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    /**
+     * Forgets every tracked sender. Eviction counters are kept.
+     */
+    void clear() {
+        lastActivityBySender.clear();
+        nextIdleSweepMs = Long.MIN_VALUE;
+    }
+
+    /**
+     * Returns how many senders were evicted because they went idle.
+     *
+     * @return the idle eviction count
+     */
+    long idleEvictions() {
+        return idleEvictions.get();
+    }
+
+    /**
+     * Returns how many senders were evicted to stay under the sender cap.
+     *
+     * @return the capacity eviction count
+     */
+    long capacityEvictions() {
+        return capacityEvictions.get();
+    }
+
+    private List<Eviction> sweep(String senderKey, long nowMs, long windowMs, int maxSenders) {
+        List<Eviction> evictions = new ArrayList<>();
+        List<Eviction> active = new ArrayList<>(lastActivityBySender.size());
+        long oldestActiveMs = nowMs;
+        for (Map.Entry<String, Long> sender : lastActivityBySender.entrySet()) {
+            long lastActivityMs = sender.getValue();
+            if (nowMs - lastActivityMs > windowMs && !sender.getKey().equals(senderKey)) {
+                // A sender that recorded again since the walk started keeps its entry.
+                if (lastActivityBySender.remove(sender.getKey(), lastActivityMs)) {
+                    evictions.add(new Eviction(sender.getKey(), lastActivityMs));
+                    idleEvictions.incrementAndGet();
+                }
+                continue;
+            }
+
+            active.add(new Eviction(sender.getKey(), lastActivityMs));
+            oldestActiveMs = Math.min(oldestActiveMs, lastActivityMs);
+        }
+
+        if (active.size() > maxSenders) {
+            // Trim below the cap, so the next capacity sweep is a batch of records away.
+            int keep = Math.max(1, maxSenders - maxSenders / SWEEP_FRACTION);
+            active.sort((left, right) -> Long.compare(left.lastActivityMs(), right.lastActivityMs()));
+            for (int index = 0; index < active.size() - keep; index++) {
+                Eviction oldest = active.get(index);
+                if (!oldest.senderKey().equals(senderKey) && lastActivityBySender.remove(oldest.senderKey(), oldest.lastActivityMs())) {
+                    evictions.add(oldest);
+                    capacityEvictions.incrementAndGet();
+                }
+            }
+        }
+
+        nextIdleSweepMs = Math.max(oldestActiveMs + windowMs + 1L, nowMs + Math.max(1L, windowMs / SWEEP_FRACTION));
+        return evictions;
+    }
+
+    /**
+     * One sender picked for eviction.
+     *
+     * @param senderKey the evicted sender
+     * @param lastActivityMs the newest activity seen for that sender when it was picked
+     */
+    record Eviction(String senderKey, long lastActivityMs) {
+    }
+}
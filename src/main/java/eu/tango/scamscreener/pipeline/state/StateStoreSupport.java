@@ -43,13 +43,13 @@ final class StateStoreSupport {
     }
 
     /**
-     * Returns the precomputed message fingerprint or an empty string.
+     * Returns the precomputed 64-bit message fingerprint or {@code 0}.
      *
      * @param chatEvent the event to inspect
-     * @return the fingerprint fallback
+     * @return the fingerprint, or {@code 0} when none is available
      */
-    static String messageFingerprint(ChatEvent chatEvent) {
-        return chatEvent == null || chatEvent.getMessageFingerprint() == null ? "" : chatEvent.getMessageFingerprint();
+    static long messageFingerprint(ChatEvent chatEvent) {
+        return chatEvent == null ? 0L : chatEvent.getMessageFingerprint();
     }
 
     /**
@@ -2,17 +2,28 @@ package eu.tango.scamscreener.pipeline.state;
 
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 
-import java.util.ArrayDeque;
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Deque;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
 
 /**
  * Keeps a short global message window for cross-sender trend analysis.
+ *
+ * <p>The window is a fixed-capacity ring of primitive columns (timestamp, interned sender
+ * id, 64-bit message fingerprint). Per-fingerprint message counts are maintained
+ * incrementally as records enter and leave the ring, so a message without any match is
+ * answered by one table probe. A match walks the ring columns once and collects the other
+ * senders into buffers that are reused across lookups.
+ *
+ * <p>When near-duplicate matching is enabled, every distinct fingerprint in the window
+ * also carries a {@link MinHashSignature} indexed by band. A lookup then only verifies the
+ * fingerprints that share a band bucket with the current message, so waves where each bot
+ * changes a word are counted without comparing against the whole window.
  */
 public final class TrendStore {
     private static final long DEFAULT_WINDOW_MS = 120_000L;
@@ -20,8 +31,21 @@ public final class TrendStore {
 
     private long windowMs;
     private int maxHistory;
-    private final Deque<TrendRecord> recentMessages = new ArrayDeque<>();
-    private final Map<String, Deque<TrendRecord>> recordsByFingerprint = new LinkedHashMap<>();
+    private long[] timestamps = new long[0];
+    private int[] senderIds = new int[0];
+    private long[] fingerprints = new long[0];
+    private int head;
+    private int size;
+    private int nearDuplicateSimilarityPercent;
+    private final LongTable<FingerprintCounts> countsByFingerprint = new LongTable<>();
+    private final LongTable<List<FingerprintCounts>> fingerprintsByBand = new LongTable<>();
+    private final SenderIds senders = new SenderIds();
+    // Lookup buffers, sized to the ring: a window never holds more fingerprints or senders than records.
+    private long[] matchedFingerprints = new long[0];
+    private int[] matchedSenderIds = new int[0];
+    private long lookupEpoch;
+    private ChatEvent signatureEvent;
+    private int[] signature;
 
     /**
      * Creates a trend store with default history bounds.
@@ -47,13 +71,36 @@ public final class TrendStore {
      * @param maxHistory the maximum number of stored messages
      */
     public synchronized void configure(long windowMs, int maxHistory) {
+        configure(windowMs, maxHistory, nearDuplicateSimilarityPercent);
+    }
+
+    /**
+     * Reconfigures the history bounds and near-duplicate matching used by this store.
+     *
+     * <p>Near-duplicate matching only covers fingerprints recorded while it is enabled;
+     * older ones keep matching exactly until they leave the window.
+     *
+     * @param windowMs the maximum age of stored messages
+     * @param maxHistory the maximum number of stored messages
+     * @param nearDuplicateSimilarityPercent the minimum estimated similarity for two different
+     *                                       messages to count as the same wave, or {@code 0}
+     *                                       to match exact fingerprints only
+     */
+    public synchronized void configure(long windowMs, int maxHistory, int nearDuplicateSimilarityPercent) {
+        this.nearDuplicateSimilarityPercent = Math.max(0, Math.min(100, nearDuplicateSimilarityPercent));
         this.windowMs = Math.max(1L, windowMs);
         this.maxHistory = Math.max(1, maxHistory);
-        trimHistory();
+        while (size > this.maxHistory) {
+            removeOldestRecord();
+        }
+        resizeRing(this.maxHistory);
     }
 
     /**
-     * Returns the current cross-sender snapshot for the given event without mutating history.
+     * Returns the current cross-sender snapshot for the given event.
+     *
+     * <p>Messages that left the window by the event timestamp are pruned first, as
+     * {@link #record(ChatEvent)} would do. The lookup itself does not add anything.
      *
      * @param chatEvent the event to inspect
      * @return the current trend snapshot
@@ -61,38 +108,49 @@ public final class TrendStore {
     public synchronized TrendSnapshot snapshotFor(ChatEvent chatEvent) {
         String senderKey = StateStoreSupport.senderKey(chatEvent);
         String normalizedMessage = StateStoreSupport.normalizedMessage(chatEvent);
-        String fingerprint = StateStoreSupport.messageFingerprint(chatEvent);
-        if (senderKey.isBlank() || normalizedMessage.isBlank() || fingerprint.isBlank()) {
+        long fingerprint = StateStoreSupport.messageFingerprint(chatEvent);
+        if (senderKey.isBlank() || normalizedMessage.isBlank() || fingerprint == 0L) {
             return TrendSnapshot.empty();
         }
 
         long nowMs = StateStoreSupport.timestamp(chatEvent);
         prune(nowMs);
 
-        int matchingMessageCount = 0;
-        Set<String> matchingSenderKeys = new LinkedHashSet<>();
-        Deque<TrendRecord> matchingRecords = recordsByFingerprint.get(fingerprint);
-        if (matchingRecords == null || matchingRecords.isEmpty()) {
+        int matchedFingerprintCount = collectMatchedFingerprints(chatEvent, fingerprint);
+        if (matchedFingerprintCount == 0) {
             return TrendSnapshot.empty();
         }
 
-        for (TrendRecord record : matchingRecords) {
-            if (!fingerprint.equals(record.fingerprint())) {
-                continue;
-            }
-            if (senderKey.equals(record.senderKey())) {
+        int ownSenderId = senders.find(senderKey);
+        long epoch = ++lookupEpoch;
+        int matchingMessageCount = 0;
+        int matchingSenderCount = 0;
+        for (int index = 0; index < size; index++) {
+            int slot = (head + index) % timestamps.length;
+            int senderId = senderIds[slot];
+            if (senderId == ownSenderId || !isMatched(fingerprints[slot], matchedFingerprintCount)) {
                 continue;
             }
 
             matchingMessageCount++;
-            matchingSenderKeys.add(record.senderKey());
+            if (senders.mark(senderId, epoch)) {
+                matchedSenderIds[matchingSenderCount++] = senderId;
+            }
+        }
+        if (matchingSenderCount == 0) {
+            return new TrendSnapshot(normalizedMessage, 0, 0, List.of());
+        }
+
+        String[] matchingSenderKeys = new String[matchingSenderCount];
+        for (int index = 0; index < matchingSenderCount; index++) {
+            matchingSenderKeys[index] = senders.key(matchedSenderIds[index]);
         }
 
         return new TrendSnapshot(
             normalizedMessage,
             matchingMessageCount,
-            matchingSenderKeys.size(),
-            List.copyOf(matchingSenderKeys)
+            matchingSenderCount,
+            new SenderKeyView(matchingSenderKeys)
         );
     }
 
@@ -104,25 +162,102 @@ public final class TrendStore {
     public synchronized void record(ChatEvent chatEvent) {
         String senderKey = StateStoreSupport.senderKey(chatEvent);
         String normalizedMessage = StateStoreSupport.normalizedMessage(chatEvent);
-        String fingerprint = StateStoreSupport.messageFingerprint(chatEvent);
-        if (senderKey.isBlank() || normalizedMessage.isBlank() || fingerprint.isBlank()) {
+        long fingerprint = StateStoreSupport.messageFingerprint(chatEvent);
+        if (senderKey.isBlank() || normalizedMessage.isBlank() || fingerprint == 0L) {
             return;
         }
 
         long nowMs = StateStoreSupport.timestamp(chatEvent);
         prune(nowMs);
-        TrendRecord record = new TrendRecord(nowMs, senderKey, normalizedMessage, fingerprint);
-        recentMessages.addLast(record);
-        recordsByFingerprint.computeIfAbsent(fingerprint, ignored -> new ArrayDeque<>()).addLast(record);
-        trimHistory();
+        append(nowMs, senderKey, fingerprint, () -> nearDuplicateSimilarityPercent > 0 ? signatureFor(chatEvent) : null);
+    }
+
+    /**
+     * Writes the buffered trend history into a warm-state section.
+     *
+     * @param writer the section writer
+     */
+    public synchronized void writeState(WarmStateCodec.Writer writer) {
+        // Near-duplicate signatures are stored once per fingerprint, since the raw text is not kept.
+        writer.writeInt(countsByFingerprint.size());
+        for (int tableSlot = 0; tableSlot < countsByFingerprint.capacity(); tableSlot++) {
+            FingerprintCounts fingerprint = countsByFingerprint.valueAt(tableSlot);
+            if (fingerprint == null) {
+                continue;
+            }
+            int[] storedSignature = fingerprint.signature;
+            writer.writeLong(fingerprint.fingerprint);
+            writer.writeInt(storedSignature == null ? 0 : storedSignature.length);
+            if (storedSignature != null) {
+                for (int value : storedSignature) {
+                    writer.writeInt(value);
+                }
+            }
+        }
+
+        writer.writeInt(size);
+        for (int index = 0; index < size; index++) {
+            int slot = (head + index) % timestamps.length;
+            writer.writeLong(timestamps[slot]);
+            writer.writeString(senders.key(senderIds[slot]));
+            writer.writeLong(fingerprints[slot]);
+        }
+    }
+
+    /**
+     * Replaces the buffered trend history with a warm-state section.
+     *
+     * <p>Messages that left the window by {@code nowMs} are dropped. The section is decoded
+     * completely before anything is replaced, so a malformed section leaves the store as is.
+     *
+     * @param reader the section reader
+     * @param nowMs the current wall-clock time
+     */
+    public synchronized void readState(WarmStateCodec.Reader reader, long nowMs) {
+        int fingerprintCount = reader.readCount(Long.BYTES + Integer.BYTES);
+        Map<Long, int[]> signatures = new HashMap<>();
+        for (int index = 0; index < fingerprintCount; index++) {
+            long fingerprint = reader.readLong();
+            int signatureLength = reader.readCount(Integer.BYTES);
+            int[] storedSignature = new int[signatureLength];
+            for (int slot = 0; slot < signatureLength; slot++) {
+                storedSignature[slot] = reader.readInt();
+            }
+            if (signatureLength == MinHashSignature.SIZE) {
+                signatures.put(fingerprint, storedSignature);
+            }
+        }
+
+        int recordCount = reader.readCount(Long.BYTES * 2 + Integer.BYTES);
+        long[] restoredTimestamps = new long[recordCount];
+        String[] restoredSenderKeys = new String[recordCount];
+        long[] restoredFingerprints = new long[recordCount];
+        for (int index = 0; index < recordCount; index++) {
+            restoredTimestamps[index] = reader.readLong();
+            restoredSenderKeys[index] = reader.readString();
+            restoredFingerprints[index] = reader.readLong();
+        }
+
+        reset();
+        for (int index = 0; index < recordCount; index++) {
+            long fingerprint = restoredFingerprints[index];
+            if (nowMs - restoredTimestamps[index] > windowMs || restoredSenderKeys[index].isBlank() || fingerprint == 0L) {
+                continue;
+            }
+            append(restoredTimestamps[index], restoredSenderKeys[index], fingerprint,
+                () -> nearDuplicateSimilarityPercent > 0 ? signatures.get(fingerprint) : null);
+        }
     }
 
     /**
      * Clears all stored trend history.
      */
     public synchronized void reset() {
-        recentMessages.clear();
-        recordsByFingerprint.clear();
+        head = 0;
+        size = 0;
+        countsByFingerprint.clear();
+        fingerprintsByBand.clear();
+        senders.clear();
     }
 
     /**
@@ -131,44 +266,377 @@ public final class TrendStore {
      * @return the total buffered trend messages
      */
     public synchronized int trackedMessageCount() {
-        return recentMessages.size();
+        return size;
     }
 
-    private void prune(long nowMs) {
-        while (!recentMessages.isEmpty() && nowMs - recentMessages.peekFirst().timestampMs() > windowMs) {
+    /**
+     * Returns the maximum number of buffered global trend messages.
+     *
+     * @return the configured history capacity
+     */
+    public synchronized int maxHistory() {
+        return maxHistory;
+    }
+
+    private void append(long timestampMs, String senderKey, long fingerprint, Supplier<int[]> newSignature) {
+        if (size == maxHistory) {
             removeOldestRecord();
         }
 
-        trimHistory();
+        int senderId = senders.acquire(senderKey);
+        int slot = (head + size) % timestamps.length;
+        timestamps[slot] = timestampMs;
+        senderIds[slot] = senderId;
+        fingerprints[slot] = fingerprint;
+        size++;
+        FingerprintCounts counts = countsByFingerprint.get(fingerprint);
+        if (counts == null) {
+            counts = new FingerprintCounts(fingerprint, newSignature.get());
+            countsByFingerprint.put(fingerprint, counts);
+            indexBands(counts);
+        }
+        counts.messageCount++;
     }
 
-    private void trimHistory() {
-        while (recentMessages.size() > maxHistory) {
+    private void prune(long nowMs) {
+        while (size > 0 && nowMs - timestamps[head] > windowMs) {
             removeOldestRecord();
         }
     }
 
     private void removeOldestRecord() {
-        TrendRecord oldestRecord = recentMessages.pollFirst();
-        if (oldestRecord == null) {
+        int senderId = senderIds[head];
+        long fingerprint = fingerprints[head];
+        head = (head + 1) % timestamps.length;
+        size--;
+
+        FingerprintCounts counts = countsByFingerprint.get(fingerprint);
+        if (counts != null && --counts.messageCount == 0) {
+            countsByFingerprint.remove(fingerprint);
+            unindexBands(counts);
+        }
+        senders.release(senderId);
+    }
+
+    private int collectMatchedFingerprints(ChatEvent chatEvent, long fingerprint) {
+        int matchedCount = 0;
+        FingerprintCounts exactMatch = countsByFingerprint.get(fingerprint);
+        if (exactMatch != null) {
+            matchedFingerprints[matchedCount++] = fingerprint;
+        }
+        if (nearDuplicateSimilarityPercent <= 0 || fingerprintsByBand.size() == 0) {
+            return matchedCount;
+        }
+
+        // A candidate can share several bands with the message; the epoch marks it as verified once.
+        long epoch = ++lookupEpoch;
+        if (exactMatch != null) {
+            exactMatch.checkedEpoch = epoch;
+        }
+        int[] signature = signatureFor(chatEvent);
+        for (int band = 0; band < MinHashSignature.BANDS; band++) {
+            List<FingerprintCounts> bucket = fingerprintsByBand.get(MinHashSignature.bandKey(signature, band));
+            if (bucket == null) {
+                continue;
+            }
+
+            for (int index = 0; index < bucket.size(); index++) {
+                FingerprintCounts candidate = bucket.get(index);
+                if (candidate.checkedEpoch == epoch) {
+                    continue;
+                }
+                candidate.checkedEpoch = epoch;
+                if (MinHashSignature.similarityPercent(signature, candidate.signature) >= nearDuplicateSimilarityPercent) {
+                    matchedFingerprints[matchedCount++] = candidate.fingerprint;
+                }
+            }
+        }
+
+        return matchedCount;
+    }
+
+    private boolean isMatched(long fingerprint, int matchedFingerprintCount) {
+        for (int index = 0; index < matchedFingerprintCount; index++) {
+            if (matchedFingerprints[index] == fingerprint) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int[] signatureFor(ChatEvent chatEvent) {
+        // snapshotFor and record run back to back for the same event, so compute the signature once.
+        if (chatEvent != signatureEvent) {
+            signatureEvent = chatEvent;
+            signature = MinHashSignature.of(chatEvent.getSimilarityMessage());
+        }
+
+        return signature;
+    }
+
+    private void indexBands(FingerprintCounts counts) {
+        if (counts.signature == null) {
+            return;
+        }
+
+        for (int band = 0; band < MinHashSignature.BANDS; band++) {
+            long bandKey = MinHashSignature.bandKey(counts.signature, band);
+            List<FingerprintCounts> bucket = fingerprintsByBand.get(bandKey);
+            if (bucket == null) {
+                bucket = new ArrayList<>(2);
+                fingerprintsByBand.put(bandKey, bucket);
+            }
+            bucket.add(counts);
+        }
+    }
+
+    private void unindexBands(FingerprintCounts counts) {
+        if (counts.signature == null) {
             return;
         }
 
-        Deque<TrendRecord> fingerprintRecords = recordsByFingerprint.get(oldestRecord.fingerprint());
-        if (fingerprintRecords == null || fingerprintRecords.isEmpty()) {
+        for (int band = 0; band < MinHashSignature.BANDS; band++) {
+            long bandKey = MinHashSignature.bandKey(counts.signature, band);
+            List<FingerprintCounts> bucket = fingerprintsByBand.get(bandKey);
+            if (bucket == null) {
+                continue;
+            }
+            bucket.removeIf(candidate -> candidate == counts);
+            if (bucket.isEmpty()) {
+                fingerprintsByBand.remove(bandKey);
+            }
+        }
+    }
+
+    private void resizeRing(int capacity) {
+        if (timestamps.length == capacity) {
             return;
         }
-        if (oldestRecord.equals(fingerprintRecords.peekFirst())) {
-            fingerprintRecords.removeFirst();
-        } else {
-            fingerprintRecords.remove(oldestRecord);
+
+        long[] resizedTimestamps = new long[capacity];
+        int[] resizedSenderIds = new int[capacity];
+        long[] resizedFingerprints = new long[capacity];
+        for (int index = 0; index < size; index++) {
+            int slot = (head + index) % timestamps.length;
+            resizedTimestamps[index] = timestamps[slot];
+            resizedSenderIds[index] = senderIds[slot];
+            resizedFingerprints[index] = fingerprints[slot];
         }
-        if (fingerprintRecords.isEmpty()) {
-            recordsByFingerprint.remove(oldestRecord.fingerprint());
+        timestamps = resizedTimestamps;
+        senderIds = resizedSenderIds;
+        fingerprints = resizedFingerprints;
+        matchedFingerprints = new long[capacity];
+        matchedSenderIds = new int[capacity];
+        head = 0;
+    }
+
+    /**
+     * Incremental message count and near-duplicate signature of one fingerprint inside the current window.
+     */
+    private static final class FingerprintCounts {
+        private final long fingerprint;
+        private final int[] signature;
+        private int messageCount;
+        private long checkedEpoch;
+
+        private FingerprintCounts(long fingerprint, int[] signature) {
+            this.fingerprint = fingerprint;
+            this.signature = signature;
         }
     }
 
-    private record TrendRecord(long timestampMs, String senderKey, String normalizedMessage, String fingerprint) {
+    /**
+     * Open-addressing hash table keyed by primitive {@code long}, so lookups do not box.
+     *
+     * <p>Slots are probed linearly and removals shift the following entries back, so the table
+     * never needs tombstones.
+     */
+    private static final class LongTable<V> {
+        private long[] keys = new long[16];
+        private Object[] values = new Object[16];
+        private int size;
+
+        private V get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slotOf(key, mask); values[slot] != null; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return valueAt(slot);
+                }
+            }
+
+            return null;
+        }
+
+        private void put(long key, V value) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+
+            int mask = keys.length - 1;
+            int slot = slotOf(key, mask);
+            while (values[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == null) {
+                size++;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+        }
+
+        private void remove(long key) {
+            int mask = keys.length - 1;
+            int slot = slotOf(key, mask);
+            while (values[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (values[slot] == null) {
+                return;
+            }
+
+            values[slot] = null;
+            size--;
+            for (int next = (slot + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+                // Move an entry back when the freed slot lies between its home slot and where it sits.
+                int home = slotOf(keys[next], mask);
+                if (((next - home) & mask) >= ((next - slot) & mask)) {
+                    keys[slot] = keys[next];
+                    values[slot] = values[next];
+                    values[next] = null;
+                    slot = next;
+                }
+            }
+        }
+
+        private int size() {
+            return size;
+        }
+
+        private int capacity() {
+            return values.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        private V valueAt(int slot) {
+            return (V) values[slot];
+        }
+
+        private void clear() {
+            Arrays.fill(values, null);
+            size = 0;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Object[oldValues.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldValues.length; slot++) {
+                if (oldValues[slot] != null) {
+                    @SuppressWarnings("unchecked")
+                    V value = (V) oldValues[slot];
+                    put(oldKeys[slot], value);
+                }
+            }
+        }
+
+        private static int slotOf(long key, int mask) {
+            long mixed = key * 0x9E3779B97F4A7C15L;
+            return (int) (mixed ^ (mixed >>> 32)) & mask;
+        }
+    }
+
+    /**
+     * Interns sender keys into small reusable ids, reference counted by ring slots.
+     */
+    private static final class SenderIds {
+        private final Map<String, Integer> idsByKey = new HashMap<>();
+        private String[] keys = new String[16];
+        private int[] references = new int[16];
+        private long[] marks = new long[16];
+        private int[] freeIds = new int[16];
+        private int freeIdCount;
+        private int nextId;
+
+        private int find(String senderKey) {
+            Integer senderId = idsByKey.get(senderKey);
+            return senderId == null ? -1 : senderId;
+        }
+
+        private String key(int senderId) {
+            return keys[senderId];
+        }
+
+        private int acquire(String senderKey) {
+            int senderId = find(senderKey);
+            if (senderId < 0) {
+                senderId = freeIdCount > 0 ? freeIds[--freeIdCount] : nextId++;
+                if (senderId == keys.length) {
+                    keys = Arrays.copyOf(keys, senderId * 2);
+                    references = Arrays.copyOf(references, senderId * 2);
+                    marks = Arrays.copyOf(marks, senderId * 2);
+                }
+                keys[senderId] = senderKey;
+                idsByKey.put(senderKey, senderId);
+            }
+            references[senderId]++;
+            return senderId;
+        }
+
+        /**
+         * Marks a sender as seen during one lookup.
+         *
+         * @return {@code true} the first time the sender is marked for that lookup
+         */
+        private boolean mark(int senderId, long epoch) {
+            if (marks[senderId] == epoch) {
+                return false;
+            }
+
+            marks[senderId] = epoch;
+            return true;
+        }
+
+        private void release(int senderId) {
+            if (--references[senderId] > 0) {
+                return;
+            }
+
+            idsByKey.remove(keys[senderId]);
+            keys[senderId] = null;
+            if (freeIdCount == freeIds.length) {
+                freeIds = Arrays.copyOf(freeIds, freeIdCount * 2);
+            }
+            freeIds[freeIdCount++] = senderId;
+        }
+
+        private void clear() {
+            idsByKey.clear();
+            Arrays.fill(keys, null);
+            Arrays.fill(references, 0);
+            freeIdCount = 0;
+            nextId = 0;
+        }
+    }
+
+    private static final class SenderKeyView extends AbstractList<String> implements RandomAccess {
+        private final String[] senderKeys;
+
+        private SenderKeyView(String[] senderKeys) {
+            this.senderKeys = senderKeys;
+        }
+
+        @Override
+        public String get(int index) {
+            return senderKeys[index];
+        }
+
+        @Override
+        public int size() {
+            return senderKeys.length;
+        }
     }
 
     /**
@@ -0,0 +1,147 @@
+package eu.tango.scamscreener.pipeline.state;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary encoding shared by the warm-state snapshots of the detection stores.
+ *
+ * <p>Values are written big-endian; strings are a length-prefixed UTF-8 byte run. The reader
+ * works on a {@link ByteBuffer}, so one file buffer can be sliced into per-store sections.
+ */
+public final class WarmStateCodec {
+    private WarmStateCodec() {
+    }
+
+    /**
+     * Growing in-memory writer for one snapshot section.
+     */
+    public static final class Writer {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream output = new DataOutputStream(bytes);
+
+        /**
+         * Writes one int.
+         *
+         * @param value the value to write
+         */
+        public void writeInt(int value) {
+            try {
+                output.writeInt(value);
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        /**
+         * Writes one long.
+         *
+         * @param value the value to write
+         */
+        public void writeLong(long value) {
+            try {
+                output.writeLong(value);
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        /**
+         * Writes one string, with {@code null} stored as an empty string.
+         *
+         * @param value the value to write
+         */
+        public void writeString(String value) {
+            byte[] encoded = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+            writeInt(encoded.length);
+            try {
+                output.write(encoded);
+            } catch (IOException exception) {
+                throw new IllegalStateException(exception);
+            }
+        }
+
+        /**
+         * Returns everything written so far.
+         *
+         * @return the encoded bytes
+         */
+        public byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Reader over one snapshot section.
+     *
+     * <p>Truncated or malformed input fails with an {@link IllegalStateException}.
+     */
+    public static final class Reader {
+        private final ByteBuffer buffer;
+
+        /**
+         * Creates a reader over the remaining bytes of a buffer.
+         *
+         * @param buffer the buffer to read; its position advances while reading
+         */
+        public Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        /**
+         * Reads one int.
+         *
+         * @return the value
+         */
+        public int readInt() {
+            require(Integer.BYTES);
+            return buffer.getInt();
+        }
+
+        /**
+         * Reads a non-negative count that cannot exceed the remaining bytes.
+         *
+         * @param minBytesPerItem the smallest encoded size of one counted item
+         * @return the count
+         */
+        public int readCount(int minBytesPerItem) {
+            int count = readInt();
+            if (count < 0 || (long) count * Math.max(1, minBytesPerItem) > buffer.remaining()) {
+                throw new IllegalStateException("Invalid warm-state count: " + count);
+            }
+
+            return count;
+        }
+
+        /**
+         * Reads one long.
+         *
+         * @return the value
+         */
+        public long readLong() {
+            require(Long.BYTES);
+            return buffer.getLong();
+        }
+
+        /**
+         * Reads one string.
+         *
+         * @return the value, never {@code null}
+         */
+        public String readString() {
+            int length = readCount(1);
+            byte[] encoded = new byte[length];
+            buffer.get(encoded);
+            return new String(encoded, StandardCharsets.UTF_8);
+        }
+
+        private void require(int byteCount) {
+            if (buffer.remaining() < byteCount) {
+                throw new IllegalStateException("Truncated warm-state section.");
+            }
+        }
+    }
+}
@@ -2,6 +2,9 @@ package eu.tango.scamscreener.profiler;
 
 import eu.tango.scamscreener.ScamScreenerMod;
 import eu.tango.scamscreener.ScamScreenerRuntime;
+import eu.tango.scamscreener.chat.ChatLineAnalysisCache;
+import eu.tango.scamscreener.chat.ChatPipelineListener;
+import eu.tango.scamscreener.chat.RecentChatCache;
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.PipelineDecision;
 import eu.tango.scamscreener.training.TrainingCaseMappings;
@@ -271,6 +274,23 @@ public final class ScamScreenerProfiler {
             lines.add(new HudLine("Last: " + truncate(snapshot.eventSummary(), 72), 0xFFBFBFBF));
         }
 
+        RecentChatCache.Stats chatCache = ScamScreenerRuntime.getInstance().recentChatCache().stats();
+        lines.add(new HudLine(
+            "Chat cache: " + chatCache.entryCount() + " lines"
+                + " | " + chatCache.senderCount() + " senders"
+                + " | " + formatKilobytes(chatCache.estimatedBytes()) + " / " + formatKilobytes(chatCache.maxMemoryBytes()),
+            0xFFBFBFBF
+        ));
+
+        ChatLineAnalysisCache.Stats lineCache = ChatPipelineListener.lineAnalysisCacheStats();
+        lines.add(new HudLine(
+            "Line cache: " + lineCache.entryCount() + " / " + lineCache.maxEntries() + " lines"
+                + " | " + lineCache.hits() + " hits"
+                + " | " + lineCache.misses() + " misses"
+                + " | " + formatPercent(lineCache.hitRate()),
+            0xFFBFBFBF
+        ));
+
         for (ModProfilerCore.PhaseView phase : snapshot.phases()) {
             lines.add(new HudLine(
                 truncate(
@@ -301,6 +321,14 @@ public final class ScamScreenerProfiler {
         return String.format(Locale.ROOT, "%.2f ms", nanos / 1_000_000.0D);
     }
 
+    private static String formatKilobytes(long bytes) {
+        return String.format(Locale.ROOT, "%.0f KB", bytes / 1024.0D);
+    }
+
+    private static String formatPercent(double ratio) {
+        return String.format(Locale.ROOT, "%.0f%%", ratio * 100.0D);
+    }
+
     private static String truncate(String value, int maxLength) {
         if (value == null || value.isBlank()) {
             return "";
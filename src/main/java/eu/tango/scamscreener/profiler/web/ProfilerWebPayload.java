@@ -1,6 +1,8 @@
 package eu.tango.scamscreener.profiler.web;
 
 import com.google.gson.Gson;
+import eu.tango.scamscreener.ScamScreenerRuntime;
+import eu.tango.scamscreener.chat.RecentChatCache;
 import eu.tango.scamscreener.profiler.ModProfilerCore;
 import eu.tango.scamscreener.profiler.ScamScreenerProfiler;
 
@@ -65,6 +67,17 @@ final class ProfilerWebPayload {
             ));
         }
 
+        RecentChatCache.Stats chatCacheStats = ScamScreenerRuntime.getInstance().recentChatCache().stats();
+        ChatCachePayload chatCache = new ChatCachePayload(
+            chatCacheStats.entryCount(),
+            chatCacheStats.senderCount(),
+            chatCacheStats.estimatedBytes(),
+            chatCacheStats.maxMemoryBytes(),
+            chatCacheStats.expiredEvictions(),
+            chatCacheStats.quotaEvictions(),
+            chatCacheStats.capacityEvictions()
+        );
+
         double currentMspt = nanosToMillis(snapshot.lastTickDurationNanos());
         double averageMspt = nanosToMillis(snapshot.averageTickDurationNanos());
         double maxMspt = nanosToMillis(snapshot.maxTickDurationNanos());
@@ -100,7 +113,8 @@ final class ProfilerWebPayload {
             snapshot.lifetimeActiveTickCount(),
             snapshot.eventSummary() == null ? "" : snapshot.eventSummary(),
             phases,
-            events
+            events,
+            chatCache
         ));
     }
 
@@ -146,7 +160,19 @@ final class ProfilerWebPayload {
         int lifetimeActiveTickCount,
         String eventSummary,
         List<PhasePayload> phases,
-        List<EventPayload> events
+        List<EventPayload> events,
+        ChatCachePayload chatCache
+    ) {
+    }
+
+    private record ChatCachePayload(
+        int entryCount,
+        int senderCount,
+        long estimatedBytes,
+        long maxMemoryBytes,
+        long expiredEvictions,
+        long quotaEvictions,
+        long capacityEvictions
     ) {
     }
 
@@ -0,0 +1,69 @@
+package eu.tango.scamscreener.chat;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ChatLineAnalysisCacheTest {
+    @Test
+    void answersRepeatedLinesFromTheCache() {
+        ChatLineAnalysisCache cache = new ChatLineAnalysisCache(4);
+
+        ChatLineClassifier.Analysis first = cache.analyze("[NPC] Baker: Happy New Year!");
+        ChatLineClassifier.Analysis second = cache.analyze("[NPC] Baker: Happy New Year!");
+
+        assertSame(first, second);
+        assertEquals(ChatLineClassifier.analyze("[NPC] Baker: Happy New Year!"), first);
+        ChatLineAnalysisCache.Stats stats = cache.stats();
+        assertEquals(1, stats.entryCount());
+        assertEquals(1L, stats.hits());
+        assertEquals(1L, stats.misses());
+        assertEquals(0.5D, stats.hitRate());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedLinesAtCapacity() {
+        ChatLineAnalysisCache cache = new ChatLineAnalysisCache(2);
+
+        ChatLineClassifier.Analysis lobby = cache.analyze("Sam joined the lobby!");
+        cache.analyze("Cara joined the lobby!");
+        cache.analyze("Sam joined the lobby!");
+        ChatLineClassifier.Analysis party = cache.analyze("Party > [MVP+] Sam: hi");
+
+        assertEquals(2, cache.stats().entryCount());
+        assertSame(lobby, cache.analyze("Sam joined the lobby!"));
+        assertSame(party, cache.analyze("Party > [MVP+] Sam: hi"));
+        assertEquals(3L, cache.stats().misses());
+        cache.analyze("Cara joined the lobby!");
+        assertEquals(4L, cache.stats().misses());
+    }
+
+    @Test
+    void classifiesButDoesNotStoreLongLines() {
+        ChatLineAnalysisCache cache = new ChatLineAnalysisCache();
+        String longLine = "[12] Sam: " + "x".repeat(ChatLineAnalysisCache.MAX_CACHED_LINE_LENGTH);
+
+        ChatLineClassifier.Analysis first = cache.analyze(longLine);
+        ChatLineClassifier.Analysis second = cache.analyze(longLine);
+
+        assertEquals(ChatLineClassifier.ChatLineType.PLAYER, first.type());
+        assertNotSame(first, second);
+        assertEquals(0, cache.stats().entryCount());
+        assertEquals(2L, cache.stats().misses());
+    }
+
+    @Test
+    void clearDropsEntriesAndCounters() {
+        ChatLineAnalysisCache cache = new ChatLineAnalysisCache();
+        cache.analyze("Welcome to Hypixel SkyBlock!");
+        cache.analyze("Welcome to Hypixel SkyBlock!");
+        cache.analyze(null);
+
+        cache.clear();
+
+        assertEquals(new ChatLineAnalysisCache.Stats(0, ChatLineAnalysisCache.DEFAULT_MAX_ENTRIES, 0L, 0L), cache.stats());
+        assertEquals(0.0D, cache.stats().hitRate());
+    }
+}
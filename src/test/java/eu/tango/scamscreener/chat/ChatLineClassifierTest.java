@@ -110,4 +110,37 @@ class ChatLineClassifierTest {
         assertEquals("use /ah to bid", ChatLineClassifier.displayMessageOnly("Auction expires in 5m: use /ah to bid"));
         assertEquals("plain message", ChatLineClassifier.displayMessageOnly("plain message"));
     }
+
+    @Test
+    void matchesKnownPrefixesIgnoringCaseAndFormatting() {
+        ChatLineClassifier.Analysis guildLine = ChatLineClassifier.analyze("§2GUILD > §b[MVP+] Sam§f: invite me");
+        assertEquals(ChatLineClassifier.ChatLineType.PLAYER, guildLine.type());
+        assertEquals("Sam", guildLine.parsedPlayerLine().senderName());
+        assertEquals("invite me", guildLine.parsedPlayerLine().message());
+        assertEquals("GUILD > [MVP+] Sam: invite me", guildLine.cleanedLine());
+
+        assertEquals(ChatLineClassifier.ChatLineType.SYSTEM, ChatLineClassifier.classify("§c[Auction] Bid placed"));
+        assertEquals(ChatLineClassifier.ChatLineType.SYSTEM, ChatLineClassifier.classify("[SkyHanni]: tracker reset"));
+        assertEquals(ChatLineClassifier.ChatLineType.IGNORED, ChatLineClassifier.classify("Party >"));
+    }
+
+    @Test
+    void classifiesBracketAndSpeakerShapesWithoutAPlayerMatch() {
+        assertEquals(ChatLineClassifier.ChatLineType.SYSTEM, ChatLineClassifier.classify("[Mayor] Diana is now in office"));
+        assertEquals(ChatLineClassifier.ChatLineType.IGNORED, ChatLineClassifier.classify("[a:b] tagged"));
+        assertEquals(ChatLineClassifier.ChatLineType.UNKNOWN, ChatLineClassifier.classify("[]: x"));
+        assertEquals(ChatLineClassifier.ChatLineType.IGNORED, ChatLineClassifier.classify("Co-op > Sam: hi"));
+        assertEquals(ChatLineClassifier.ChatLineType.UNKNOWN, ChatLineClassifier.classify("Sam: hi"));
+        assertEquals(ChatLineClassifier.ChatLineType.UNKNOWN, ChatLineClassifier.classify("ends with colon:"));
+        assertEquals(ChatLineClassifier.ChatLineType.SYSTEM, ChatLineClassifier.classify("Wide\u2003spaced speaker: text"));
+    }
+
+    @Test
+    void rejectsSenderSectionsWithNonMetadataTokens() {
+        assertEquals(ChatLineClassifier.ChatLineType.PLAYER, ChatLineClassifier.classify("[12] ✦ [MVP++] Sam_01: hi"));
+        assertEquals(ChatLineClassifier.ChatLineType.IGNORED, ChatLineClassifier.classify("[12] guild Sam: hi"));
+        assertEquals(ChatLineClassifier.ChatLineType.IGNORED, ChatLineClassifier.classify("[12] Sa: hi"));
+        assertEquals(ChatLineClassifier.ChatLineType.IGNORED, ChatLineClassifier.classify("[12] Sam:   "));
+        assertEquals(ChatLineClassifier.ChatLineType.IGNORED, ChatLineClassifier.classify("[12] Sam\u2003: hi"));
+    }
 }
@@ -0,0 +1,92 @@
+package eu.tango.scamscreener.chat;
+
+import net.minecraft.network.chat.ClickEvent;
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.Style;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InboundChatTextTest {
+    @Test
+    void flattensTextAndFindsSenderFromClickCommand() {
+        Style senderStyle = Style.EMPTY.withClickEvent(new ClickEvent.SuggestCommand("/msg Sam_01 "));
+        Component message = Component.literal("[12] ")
+            .append(Component.literal("[MVP+] ").setStyle(senderStyle))
+            .append(Component.literal("Sam_01").setStyle(senderStyle))
+            .append(Component.literal(": trade me"));
+
+        InboundChatText extracted = InboundChatText.extract(message);
+
+        assertEquals(message.getString(), extracted.text());
+        assertTrue(extracted.hasSender());
+        assertEquals("Sam_01", extracted.senderName());
+        assertEquals(12, extracted.senderStart());
+        assertEquals(18, extracted.senderEnd());
+    }
+
+    @Test
+    void ignoresClickEventsThatDoNotNameAPlayer() {
+        Component message = Component.literal("Click ")
+            .append(Component.literal("here").setStyle(Style.EMPTY.withClickEvent(new ClickEvent.RunCommand("/warp hub"))))
+            .append(Component.literal(" to visit Samuel"))
+            .append(Component.literal(" now").setStyle(Style.EMPTY.withClickEvent(new ClickEvent.RunCommand("/viewprofile Sam"))));
+
+        InboundChatText extracted = InboundChatText.extract(message);
+
+        assertEquals("Click here to visit Samuel now", extracted.text());
+        assertFalse(extracted.hasSender());
+        assertEquals("", extracted.senderName());
+    }
+
+    @Test
+    void cutsTextLikeGetStringWithALimit() {
+        Component message = Component.literal("abc").append(Component.literal("def"));
+        InboundChatText extracted = InboundChatText.extract(message);
+
+        assertEquals(message.getString(4), extracted.text(4));
+        assertEquals("abcdef", extracted.text(32767));
+        assertEquals("", extracted.text(0));
+    }
+
+    @Test
+    void reusesTheSharedExtractionUntilItIsReleased() {
+        Component message = Component.literal("Welcome to Hypixel SkyBlock!");
+        Component other = Component.literal("Welcome to Hypixel SkyBlock!");
+
+        InboundChatText shared = InboundChatText.share(message);
+
+        assertSame(shared, InboundChatText.of(message));
+        assertNotSame(shared, InboundChatText.of(other));
+        InboundChatText.release(other);
+        assertSame(shared, InboundChatText.of(message));
+        InboundChatText.release(message);
+        assertNotSame(shared, InboundChatText.of(message));
+        assertEquals("", InboundChatText.of(null).text());
+    }
+
+    @Test
+    void doesNotReadReplyCommandsAsSenders() {
+        // "/r" answers the last conversation, so its first argument is message text, not a name.
+        Component message = Component.literal("Reply")
+            .append(Component.literal(" thanks").setStyle(Style.EMPTY.withClickEvent(new ClickEvent.RunCommand("/r thanks"))));
+
+        assertEquals("", InboundChatText.commandTarget("/r thanks"));
+        assertFalse(InboundChatText.extract(message).hasSender());
+    }
+
+    @Test
+    void readsTheTargetOfKnownSenderCommands() {
+        assertEquals("Sam", InboundChatText.commandTarget("/msg Sam"));
+        assertEquals("Sam", InboundChatText.commandTarget("/VIEWPROFILE Sam extra"));
+        assertEquals("Sam", InboundChatText.commandTarget("socialoptions Sam"));
+        assertEquals("", InboundChatText.commandTarget("/viewprofile 123e4567-e89b-12d3-a456-426614174000"));
+        assertEquals("", InboundChatText.commandTarget("/warp Sam"));
+        assertEquals("", InboundChatText.commandTarget("/msg"));
+        assertEquals("", InboundChatText.commandTarget(null));
+    }
+}
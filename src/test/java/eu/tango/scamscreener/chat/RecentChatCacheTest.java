@@ -2,11 +2,18 @@ package eu.tango.scamscreener.chat;
 
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.ChatSourceType;
+import eu.tango.scamscreener.pipeline.state.WarmStateCodec;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class RecentChatCacheTest {
     @Test
@@ -25,4 +32,224 @@ class RecentChatCacheTest {
         assertEquals("second", entries.get(2).cleanText());
         assertEquals("System", entries.get(1).displaySender());
     }
+
+    @Test
+    void senderSignalsCoverOnlyTheNewestSenderMessages() {
+        RecentChatCache cache = new RecentChatCache(10);
+        RecentChatCache.SignalWindow window = cache.trackSenderSignals(2, memo -> memo.text().startsWith("sig") ? memo.text().length() : 0);
+
+        cache.record(new ChatEvent("sig1", null, "Alice", 1L, ChatSourceType.PLAYER));
+        cache.record(new ChatEvent("plain", null, "Alice", 2L, ChatSourceType.PLAYER));
+        cache.record(new ChatEvent("sig12", null, "Bob", 3L, ChatSourceType.PLAYER));
+        assertEquals(new RecentChatCache.SenderSignals(2, 1, 4), cache.senderSignals(window, "alice"));
+
+        cache.record(new ChatEvent("sig", null, "Alice", 4L, ChatSourceType.PLAYER));
+        assertEquals(new RecentChatCache.SenderSignals(2, 1, 3), cache.senderSignals(window, "Alice"));
+        assertEquals(new RecentChatCache.SenderSignals(1, 1, 5), cache.senderSignals(window, "Bob"));
+        assertEquals(3, cache.entriesForSender("Alice", 10).size());
+    }
+
+    @Test
+    void senderSignalsFollowCacheEvictionAndReplacement() {
+        RecentChatCache cache = new RecentChatCache(2);
+        cache.record(new ChatEvent("sig1", null, "Alice", 1L, ChatSourceType.PLAYER));
+        RecentChatCache.SignalWindow first = cache.trackSenderSignals(5, memo -> memo.text().startsWith("sig") ? 1 : 0);
+        assertEquals(new RecentChatCache.SenderSignals(1, 1, 1), cache.senderSignals(first, "Alice"));
+
+        cache.record(new ChatEvent("plain", null, "Alice", 2L, ChatSourceType.PLAYER));
+        cache.record(new ChatEvent("plain again", null, "Alice", 3L, ChatSourceType.PLAYER));
+        assertEquals(new RecentChatCache.SenderSignals(2, 0, 0), cache.senderSignals(first, "Alice"));
+
+        RecentChatCache.SignalWindow second = cache.trackSenderSignals(1, memo -> 2);
+        assertEquals(new RecentChatCache.SenderSignals(2, 0, 0), cache.senderSignals(first, "Alice"));
+        assertEquals(new RecentChatCache.SenderSignals(1, 1, 2), cache.senderSignals(second, "Alice"));
+        assertEquals(new RecentChatCache.SenderSignals(0, 0, 0), cache.senderSignals(second, "Nobody"));
+
+        cache.untrackSenderSignals(first);
+        assertNull(cache.senderSignals(first, "Alice"));
+        assertEquals(new RecentChatCache.SenderSignals(1, 1, 2), cache.senderSignals(second, "Alice"));
+    }
+
+    @Test
+    void windowsOfDifferentSizesKeepTheirOwnAggregatesThroughQuotaEvictions() {
+        RecentChatCache cache = new RecentChatCache(10, 0L, 3, Long.MAX_VALUE);
+        RecentChatCache.SignalWindow narrow = cache.trackSenderSignals(1, memo -> memo.text().startsWith("sig") ? 1 : 0);
+        RecentChatCache.SignalWindow wide = cache.trackSenderSignals(3, memo -> memo.text().startsWith("sig") ? 1 : 0);
+
+        cache.record(new ChatEvent("sig1", null, "Alice", 1L, ChatSourceType.PLAYER));
+        cache.record(new ChatEvent("sig2", null, "Alice", 2L, ChatSourceType.PLAYER));
+        cache.record(new ChatEvent("plain", null, "Alice", 3L, ChatSourceType.PLAYER));
+        assertEquals(new RecentChatCache.SenderSignals(1, 0, 0), cache.senderSignals(narrow, "Alice"));
+        assertEquals(new RecentChatCache.SenderSignals(3, 2, 1), cache.senderSignals(wide, "Alice"));
+
+        cache.record(new ChatEvent("plain again", null, "Alice", 4L, ChatSourceType.PLAYER));
+        cache.record(new ChatEvent("sig3", null, "Alice", 5L, ChatSourceType.PLAYER));
+        assertEquals(new RecentChatCache.SenderSignals(1, 1, 1), cache.senderSignals(narrow, "Alice"));
+        assertEquals(new RecentChatCache.SenderSignals(3, 1, 1), cache.senderSignals(wide, "Alice"));
+        assertEquals(3, cache.entriesForSender("Alice", 10).size());
+
+        cache.clear();
+        assertEquals(new RecentChatCache.SenderSignals(0, 0, 0), cache.senderSignals(wide, "Alice"));
+    }
+
+    @Test
+    void snapshotsStayUnchangedWhileTheCacheKeepsRecording() {
+        RecentChatCache cache = new RecentChatCache(3);
+        cache.record(new ChatEvent("first", null, "Alice", 1L, ChatSourceType.PLAYER));
+        cache.record(new ChatEvent("second", null, "Alice", 2L, ChatSourceType.PLAYER));
+        RecentChatCache.Snapshot snapshot = cache.snapshot();
+        List<RecentChatCache.CachedChatMessage> senderEntries = cache.entriesForSender("Alice", 5);
+
+        for (int index = 0; index < 50; index++) {
+            cache.record(new ChatEvent("line " + index, null, "Alice", 10L + index, ChatSourceType.PLAYER));
+        }
+
+        assertEquals(2L, snapshot.version());
+        assertEquals(List.of("second", "first"), snapshot.entries().stream().map(RecentChatCache.CachedChatMessage::cleanText).toList());
+        assertEquals(List.of("second", "first"), senderEntries.stream().map(RecentChatCache.CachedChatMessage::cleanText).toList());
+        assertEquals(senderEntries, snapshot.entriesForSender("alice", 5));
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.entries().remove(0));
+        assertEquals(52L, cache.version());
+        assertEquals(
+            List.of("line 49", "line 48", "line 47"),
+            cache.entries().stream().map(RecentChatCache.CachedChatMessage::cleanText).toList()
+        );
+        assertEquals(2, cache.entriesForSender("alice", 2).size());
+    }
+
+    @Test
+    void clearPublishesAnEmptySnapshot() {
+        RecentChatCache cache = new RecentChatCache(3);
+        cache.record(new ChatEvent("first", null, "Alice", 1L, ChatSourceType.PLAYER));
+        RecentChatCache.Snapshot before = cache.snapshot();
+
+        cache.clear();
+
+        assertEquals(1, before.entries().size());
+        assertEquals(0, cache.entries().size());
+        assertEquals(0, cache.entriesForSender("Alice", 5).size());
+        assertEquals(2L, cache.version());
+    }
+
+    @Test
+    void perSenderQuotaKeepsOtherSendersFromBeingPushedOut() {
+        RecentChatCache cache = new RecentChatCache(5, 0L, 2, Long.MAX_VALUE);
+        cache.record(new ChatEvent("hello", null, "Alice", 1L, ChatSourceType.PLAYER));
+        for (int index = 0; index < 10; index++) {
+            cache.record(new ChatEvent("spam " + index, null, "Spammer", 10L + index, ChatSourceType.PLAYER));
+        }
+
+        assertEquals(
+            List.of("spam 9", "spam 8", "hello"),
+            cache.entries().stream().map(RecentChatCache.CachedChatMessage::cleanText).toList()
+        );
+        assertEquals(2, cache.entriesForSender("Spammer", 10).size());
+        assertEquals(8L, cache.stats().quotaEvictions());
+        assertEquals(0L, cache.stats().capacityEvictions());
+    }
+
+    @Test
+    void quotaEvictionsInsideTheWindowKeepTheRemainingOrder() {
+        RecentChatCache cache = new RecentChatCache(100, 0L, 2, Long.MAX_VALUE);
+        for (int index = 0; index < 60; index++) {
+            cache.record(new ChatEvent("spam " + index, null, "Spammer", index * 2L, ChatSourceType.PLAYER));
+            cache.record(new ChatEvent("chat " + index, null, "Sender" + index, index * 2L + 1L, ChatSourceType.PLAYER));
+        }
+
+        List<String> texts = cache.entries().stream().map(RecentChatCache.CachedChatMessage::cleanText).toList();
+        assertEquals(62, texts.size());
+        assertEquals(List.of("chat 59", "spam 59", "chat 58", "spam 58", "chat 57"), texts.subList(0, 5));
+        assertEquals("chat 0", texts.get(texts.size() - 1));
+        assertEquals(58L, cache.stats().quotaEvictions());
+        assertEquals(62, cache.stats().entryCount());
+        assertEquals(61, cache.stats().senderCount());
+        assertEquals(
+            List.of("spam 59", "spam 58"),
+            cache.entriesForSender("Spammer", 5).stream().map(RecentChatCache.CachedChatMessage::cleanText).toList()
+        );
+    }
+
+    @Test
+    void snapshotIsBuiltOncePerVersionAndStatsFollowEveryChange() {
+        RecentChatCache cache = new RecentChatCache(3);
+        cache.record(new ChatEvent("first", null, "Alice", 1L, ChatSourceType.PLAYER));
+        assertEquals(1, cache.stats().entryCount());
+
+        RecentChatCache.Snapshot snapshot = cache.snapshot();
+        assertSame(snapshot, cache.snapshot());
+
+        cache.record(new ChatEvent("second", null, "Bob", 2L, ChatSourceType.PLAYER));
+        assertEquals(2, cache.stats().entryCount());
+        assertEquals(2, cache.stats().senderCount());
+        assertNotSame(snapshot, cache.snapshot());
+        assertEquals(cache.version(), cache.snapshot().version());
+    }
+
+    @Test
+    void retentionDropsLinesOlderThanTheConfiguredAge() {
+        RecentChatCache cache = new RecentChatCache(10, 1_000L, 10, Long.MAX_VALUE);
+        cache.record(new ChatEvent("old", null, "Alice", 1_000L, ChatSourceType.PLAYER));
+        cache.record(new ChatEvent("new", null, "Bob", 1_800L, ChatSourceType.PLAYER));
+        long versionBefore = cache.version();
+
+        cache.expire(2_500L);
+
+        assertEquals(List.of("new"), cache.entries().stream().map(RecentChatCache.CachedChatMessage::cleanText).toList());
+        assertEquals(0, cache.entriesForSender("Alice", 5).size());
+        assertEquals(versionBefore + 1, cache.version());
+        assertEquals(1L, cache.stats().expiredEvictions());
+
+        cache.expire(2_600L);
+        assertEquals(versionBefore + 1, cache.version());
+    }
+
+    @Test
+    void memoryBudgetBoundsTheEstimatedFootprint() {
+        RecentChatCache cache = new RecentChatCache(1_000, 0L, 1_000, 4_096L);
+        for (int index = 0; index < 200; index++) {
+            cache.record(new ChatEvent("message number " + index, null, "Sender" + (index % 7), index, ChatSourceType.PLAYER));
+        }
+
+        RecentChatCache.Stats stats = cache.stats();
+        assertTrue(stats.estimatedBytes() <= 4_096L);
+        assertTrue(stats.entryCount() > 1 && stats.entryCount() < 200);
+        assertEquals(200L - stats.entryCount(), stats.capacityEvictions());
+
+        cache.clear();
+        assertEquals(0L, cache.stats().estimatedBytes());
+    }
+
+    @Test
+    void configureTrimsExistingLinesToTheNewLimits() {
+        RecentChatCache cache = new RecentChatCache(10);
+        for (int index = 0; index < 6; index++) {
+            cache.record(new ChatEvent("line " + index, null, "Alice", index + 1L, ChatSourceType.PLAYER));
+        }
+
+        cache.configure(10, 0L, 3, Long.MAX_VALUE);
+
+        assertEquals(
+            List.of("line 5", "line 4", "line 3"),
+            cache.entriesForSender("Alice", 10).stream().map(RecentChatCache.CachedChatMessage::cleanText).toList()
+        );
+        assertEquals(3, cache.entries().size());
+    }
+
+    @Test
+    void warmStateRoundTripKeepsLinesInsideTheRetention() {
+        RecentChatCache source = new RecentChatCache(10, 5_000L, 10, Long.MAX_VALUE);
+        source.record(new ChatEvent("old", null, "Alice", 1_000L, ChatSourceType.PLAYER));
+        source.record(new ChatEvent("new", null, "Bob", 4_000L, ChatSourceType.PLAYER));
+        source.record(new ChatEvent("server notice", null, "", 4_500L, ChatSourceType.SYSTEM));
+        WarmStateCodec.Writer writer = new WarmStateCodec.Writer();
+        source.writeState(writer);
+
+        RecentChatCache restored = new RecentChatCache(10, 5_000L, 10, Long.MAX_VALUE);
+        restored.readState(new WarmStateCodec.Reader(ByteBuffer.wrap(writer.toByteArray())), 7_000L);
+
+        List<RecentChatCache.CachedChatMessage> entries = restored.entries();
+        assertEquals(List.of("server notice", "new"), entries.stream().map(RecentChatCache.CachedChatMessage::cleanText).toList());
+        assertEquals(ChatSourceType.SYSTEM, entries.get(0).sourceType());
+        assertEquals(1, restored.entriesForSender("Bob", 5).size());
+    }
 }
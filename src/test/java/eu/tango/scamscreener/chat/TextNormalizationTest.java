@@ -0,0 +1,92 @@
+package eu.tango.scamscreener.chat;
+
+import eu.tango.scamscreener.pipeline.data.ChatEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextNormalizationTest {
+    @Test
+    void singlePassMatchesTheDedicatedHelpers() {
+        List<String> samples = new ArrayList<>(List.of(
+            "",
+            "   ",
+            "  Hello   World  ",
+            "FR33 c0iiins @ discord.gg/abc!!!",
+            "sooooo   goood...",
+            "İstanbul ΣΟΦΟΣ",
+            "emoji 😀 here",
+            " spaced "
+        ));
+        Random random = new Random(42L);
+        String alphabet = "aAbB01345 7@$.!-_\tİΣσßÉ😀";
+        for (int sample = 0; sample < 500; sample++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int index = 0; index < length; index++) {
+                builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            samples.add(builder.toString());
+        }
+
+        for (String sample : samples) {
+            TextNormalization.NormalizedText text = TextNormalization.normalize(sample);
+            String similarity = TextNormalization.normalizeForSimilarity(sample);
+
+            assertEquals(sample.trim().toLowerCase(Locale.ROOT), text.lowercase(), sample);
+            assertEquals(ChatEvent.normalizeMessage(sample), text.lowercase(), sample);
+            assertEquals(similarity, text.similarity(), sample);
+            assertEquals(TextNormalization.fingerprintHash(similarity), text.fingerprint(), sample);
+            assertArrayEquals(whitespaceTokenBounds(similarity), text.tokenBounds(), sample);
+        }
+    }
+
+    @Test
+    void tokenBoundsPointIntoTheSimilarityText() {
+        TextNormalization.NormalizedText text = TextNormalization.normalize("Add me on D1sc0rd!!");
+
+        assertEquals("add me on discord", text.similarity());
+        assertEquals(4, text.tokenCount());
+        assertArrayEquals(new int[] {0, 3, 4, 6, 7, 9, 10, 17}, text.tokenBounds());
+    }
+
+    @Test
+    void foldsHomoglyphsAndStylingToAscii() {
+        assertEquals("free coins", TextNormalization.normalizeForSimilarity("frее соins"));
+        assertEquals("discord", TextNormalization.normalizeForSimilarity("ＤＩＳＣＯＲＤ"));
+        assertEquals("paypal", TextNormalization.normalizeForSimilarity("ρаyρаl"));
+        assertEquals("cafe", TextNormalization.normalizeForSimilarity("café"));
+        assertEquals("cafe", TextNormalization.normalizeForSimilarity("cafe\u0301"));
+        assertEquals("scam", TextNormalization.normalizeForSimilarity("\uD835\uDC2C\uD835\uDC1C\uD835\uDC1A\uD835\uDC26"));
+    }
+
+    @Test
+    void invisibleCharactersDoNotSplitWords() {
+        assertEquals("free coins", TextNormalization.normalizeForSimilarity("fr\u200Bee\u00AD co\u200Dins\uFEFF"));
+        assertEquals("hi there", TextNormalization.normalizeForSimilarity("hi 😀 there"));
+        assertEquals("a", TextNormalization.normalizeForSimilarity("\uD835a"));
+    }
+
+    private static int[] whitespaceTokenBounds(String text) {
+        List<Integer> bounds = new ArrayList<>();
+        int start = -1;
+        for (int index = 0; index <= text.length(); index++) {
+            boolean separator = index == text.length() || text.charAt(index) == ' ';
+            if (separator && start >= 0) {
+                bounds.add(start);
+                bounds.add(index);
+                start = -1;
+            } else if (!separator && start < 0) {
+                start = index;
+            }
+        }
+
+        return bounds.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
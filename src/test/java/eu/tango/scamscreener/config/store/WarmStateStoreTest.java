@@ -0,0 +1,95 @@
+package eu.tango.scamscreener.config.store;
+
+import eu.tango.scamscreener.chat.RecentChatCache;
+import eu.tango.scamscreener.chat.TextNormalization;
+import eu.tango.scamscreener.pipeline.data.ChatEvent;
+import eu.tango.scamscreener.pipeline.data.ChatSourceType;
+import eu.tango.scamscreener.pipeline.state.BehaviorStore;
+import eu.tango.scamscreener.pipeline.state.FunnelStore;
+import eu.tango.scamscreener.pipeline.state.TrendStore;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WarmStateStoreTest {
+    @Test
+    void snapshotRestoresEveryStore() throws Exception {
+        WarmStateStore.Stores source = populatedStores();
+        Path directory = Files.createTempDirectory("scamscreener-warm-state");
+        WarmStateStore store = new WarmStateStore(directory.resolve("warm-state.bin"));
+
+        store.saveAsync(source, 5_000L).join();
+        WarmStateStore.Stores restored = emptyStores();
+
+        assertTrue(store.loadInto(restored, 6_000L));
+        assertEquals(2, restored.behaviorStore().trackedMessageCount());
+        assertEquals(2, restored.trendStore().trackedMessageCount());
+        assertEquals(1, restored.funnelStore().trackedStepCount());
+        assertEquals(2, restored.recentChatCache().entries().size());
+
+        assertTrue(store.deleteAsync().join());
+        assertFalse(store.loadInto(emptyStores(), 6_000L));
+    }
+
+    @Test
+    void damagedSectionOnlyLeavesItsOwnStoreCold() {
+        byte[] encoded = WarmStateStore.encode(populatedStores(), 5_000L);
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        int behaviorLength = buffer.getInt(WarmStateStore.HEADER_BYTES);
+        int trendSection = WarmStateStore.HEADER_BYTES + Integer.BYTES + behaviorLength;
+        // Claim one more fingerprint than the trend section actually holds.
+        buffer.putInt(trendSection + Integer.BYTES, buffer.getInt(trendSection + Integer.BYTES) + 1);
+        WarmStateStore.Stores restored = emptyStores();
+
+        assertTrue(WarmStateStore.decodeInto(ByteBuffer.wrap(encoded), restored, 6_000L));
+        assertEquals(2, restored.behaviorStore().trackedMessageCount());
+        assertEquals(0, restored.trendStore().trackedMessageCount());
+        assertEquals(1, restored.funnelStore().trackedStepCount());
+        assertEquals(2, restored.recentChatCache().entries().size());
+    }
+
+    @Test
+    void snapshotFromAnotherNormalizationVersionStartsCold() {
+        byte[] encoded = WarmStateStore.encode(populatedStores(), 5_000L);
+        ByteBuffer.wrap(encoded).putInt(Integer.BYTES * 2, TextNormalization.SIMILARITY_VERSION - 1);
+        WarmStateStore.Stores restored = emptyStores();
+
+        assertFalse(WarmStateStore.decodeInto(ByteBuffer.wrap(encoded), restored, 6_000L));
+        assertEquals(0, restored.behaviorStore().trackedMessageCount());
+        assertEquals(0, restored.trendStore().trackedMessageCount());
+        assertEquals(0, restored.recentChatCache().entries().size());
+    }
+
+    @Test
+    void foreignFileIsIgnored() {
+        WarmStateStore.Stores restored = emptyStores();
+
+        assertFalse(WarmStateStore.decodeInto(ByteBuffer.wrap(new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16}), restored, 1_000L));
+        assertEquals(0, restored.recentChatCache().entries().size());
+    }
+
+    private static WarmStateStore.Stores populatedStores() {
+        WarmStateStore.Stores stores = emptyStores();
+        UUID senderUuid = UUID.randomUUID();
+        ChatEvent first = new ChatEvent("add me on discord", senderUuid, "Alpha", 1_000L, ChatSourceType.PLAYER);
+        ChatEvent second = new ChatEvent("add me on discord", null, "Beta", 2_000L, ChatSourceType.PLAYER);
+        for (ChatEvent event : new ChatEvent[] {first, second}) {
+            stores.behaviorStore().record(event);
+            stores.trendStore().record(event);
+            stores.recentChatCache().record(event);
+        }
+        stores.funnelStore().recordStep(first, FunnelStore.FunnelStep.EXTERNAL_PLATFORM, "discord");
+        return stores;
+    }
+
+    private static WarmStateStore.Stores emptyStores() {
+        return new WarmStateStore.Stores(new BehaviorStore(), new TrendStore(), new FunnelStore(), new RecentChatCache());
+    }
+}
@@ -0,0 +1,75 @@
+package eu.tango.scamscreener.pipeline.core;
+
+import eu.tango.scamscreener.pipeline.data.ChatEvent;
+import eu.tango.scamscreener.pipeline.data.PipelineDecision;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncPipelineExecutorTest {
+    @Test
+    void deliversDecisionsInSubmissionOrderOffTheCallerThread() {
+        List<String> evaluatedOn = new ArrayList<>();
+        List<String> delivered = new ArrayList<>();
+        try (AsyncPipelineExecutor executor = new AsyncPipelineExecutor("test-pipeline")) {
+            for (int index = 0; index < 200; index++) {
+                executor.submit(ChatEvent.messageOnly("message " + index), chatEvent -> {
+                    evaluatedOn.add(Thread.currentThread().getName());
+                    return decision(chatEvent.getRawMessage());
+                });
+            }
+
+            assertTrue(executor.awaitIdle(5_000L));
+            assertTrue(executor.hasPending());
+            assertEquals(200, executor.drain((chatEvent, decision) -> delivered.add(decision.getReasons().get(0))));
+            assertFalse(executor.hasPending());
+        }
+
+        for (int index = 0; index < 200; index++) {
+            assertEquals("message " + index, delivered.get(index));
+        }
+        assertTrue(evaluatedOn.stream().allMatch("test-pipeline"::equals));
+        assertNotEquals("test-pipeline", Thread.currentThread().getName());
+    }
+
+    @Test
+    void failedEvaluationYieldsNullDecisionWithoutStallingLaterEvents() {
+        List<PipelineDecision> delivered = new ArrayList<>();
+        try (AsyncPipelineExecutor executor = new AsyncPipelineExecutor()) {
+            executor.submit(ChatEvent.messageOnly("boom"), chatEvent -> {
+                throw new IllegalStateException("stage failure");
+            });
+            executor.submit(ChatEvent.messageOnly("fine"), chatEvent -> decision(chatEvent.getRawMessage()));
+
+            assertTrue(executor.awaitIdle(5_000L));
+            executor.drain((chatEvent, decision) -> delivered.add(decision));
+        }
+
+        assertEquals(2, delivered.size());
+        assertNull(delivered.get(0));
+        assertEquals(List.of("fine"), delivered.get(1).getReasons());
+    }
+
+    @Test
+    void evaluatesOnCallerAfterClose() {
+        List<String> delivered = new ArrayList<>();
+        AsyncPipelineExecutor executor = new AsyncPipelineExecutor();
+        executor.close();
+
+        executor.submit(ChatEvent.messageOnly("late"), chatEvent -> decision(chatEvent.getRawMessage()));
+
+        assertEquals(1, executor.drain((chatEvent, decision) -> delivered.add(decision.getReasons().get(0))));
+        assertEquals(List.of("late"), delivered);
+    }
+
+    private static PipelineDecision decision(String reason) {
+        return new PipelineDecision(PipelineDecision.Outcome.IGNORE, 0, "", List.of(), List.of(reason));
+    }
+}
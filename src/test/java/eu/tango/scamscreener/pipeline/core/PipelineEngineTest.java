@@ -6,9 +6,13 @@ import eu.tango.scamscreener.pipeline.data.StageResult;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PipelineEngineTest {
@@ -112,12 +116,213 @@ class PipelineEngineTest {
         assertEquals(List.of("rule-hit", "behavior-block"), decision.getReasons());
     }
 
+    @Test
+    void evaluateAllMatchesSequentialEvaluationAndSkipsStagesAfterTerminalResults() {
+        List<String> callOrder = new ArrayList<>();
+        PipelineEngine engine = new PipelineEngine(List.of(
+            new RecordingStage("MuteStage", callOrder, (name, message) -> message.startsWith("spam")
+                ? StageResult.mute(name, "muted")
+                : StageResult.pass(name)),
+            new RecordingStage("RuleStage", callOrder, (name, message) -> message.contains("discord")
+                ? StageResult.score(name, 4, "rule-hit")
+                : StageResult.pass(name))
+        ), 3);
+        List<ChatEvent> events = List.of(
+            ChatEvent.messageOnly("add me on discord"),
+            ChatEvent.messageOnly("spam spam"),
+            ChatEvent.messageOnly(" "),
+            ChatEvent.messageOnly("gg")
+        );
+
+        List<PipelineDecision> batch = engine.evaluateAll(events);
+
+        assertEquals(List.of("MuteStage", "MuteStage", "MuteStage", "RuleStage", "RuleStage"), callOrder);
+        assertEquals(4, batch.size());
+        for (int index = 0; index < events.size(); index++) {
+            PipelineDecision single = engine.evaluate(events.get(index));
+            assertEquals(single.getOutcome(), batch.get(index).getOutcome());
+            assertEquals(single.getTotalScore(), batch.get(index).getTotalScore());
+            assertEquals(single.getDecidedByStage(), batch.get(index).getDecidedByStage());
+            assertEquals(single.getReasons(), batch.get(index).getReasons());
+            assertEquals(single.getStageResults().size(), batch.get(index).getStageResults().size());
+        }
+        assertEquals(PipelineDecision.Outcome.REVIEW, batch.get(0).getOutcome());
+        assertEquals(PipelineDecision.Outcome.MUTED, batch.get(1).getOutcome());
+        assertTrue(engine.evaluateAll(List.of()).isEmpty());
+    }
+
+    @Test
+    void parallelStatelessStagesMergeInStageOrder() {
+        List<String> callOrder = Collections.synchronizedList(new ArrayList<>());
+        PipelineEngine engine = new PipelineEngine(List.of(
+            new RecordingStage("BehaviorStage", callOrder, (name, message) -> StageResult.score(name, 1, "behavior")),
+            new StatelessStage("RuleStage", 30L, 2),
+            new StatelessStage("LevenshteinStage", 0L, 3),
+            new RecordingStage("ContextStage", callOrder, (name, message) -> StageResult.score(name, 4, "context"))
+        ), 5, true);
+
+        PipelineDecision decision = engine.evaluate("hello world");
+
+        assertTrue(engine.isParallelStatelessStages());
+        assertEquals(PipelineDecision.Outcome.REVIEW, decision.getOutcome());
+        assertEquals(10, decision.getTotalScore());
+        assertEquals(List.of("behavior", "RuleStage", "LevenshteinStage", "context"), decision.getReasons());
+        assertEquals(List.of("BehaviorStage", "ContextStage"), callOrder);
+    }
+
+    @Test
+    void parallelModeKeepsTerminalShortCircuit() {
+        List<String> callOrder = new ArrayList<>();
+        PipelineEngine engine = new PipelineEngine(List.of(
+            new RecordingStage("MuteStage", callOrder, (name, message) -> StageResult.mute(name, "muted")),
+            new StatelessStage("RuleStage", 0L, 50),
+            new RecordingStage("ContextStage", callOrder, (name, message) -> StageResult.score(name, 4, "should-not-run"))
+        ), 1, true);
+
+        PipelineDecision decision = engine.evaluate("hello world");
+
+        assertEquals(PipelineDecision.Outcome.MUTED, decision.getOutcome());
+        assertEquals(0, decision.getTotalScore());
+        assertEquals(1, decision.getStageResults().size());
+        assertEquals(List.of("MuteStage"), callOrder);
+        assertFalse(new PipelineEngine(List.of(new RecordingStage("MuteStage", null, (name, message) -> StageResult.pass(name))), 1, true)
+            .isParallelStatelessStages());
+    }
+
+    @Test
+    void parallelModeStartsNoWorkerTasksForMessagesEndedBeforeTheStatelessStages() {
+        StatelessStage ruleStage = new StatelessStage("RuleStage", 0L, 2);
+        StatelessStage levenshteinStage = new StatelessStage("LevenshteinStage", 0L, 3);
+        PipelineEngine engine = new PipelineEngine(List.of(
+            new RecordingStage("MuteStage", null, (name, message) -> StageResult.mute(name, "muted")),
+            ruleStage,
+            levenshteinStage
+        ), 1, true);
+
+        for (int index = 0; index < 20; index++) {
+            assertEquals(PipelineDecision.Outcome.MUTED, engine.evaluate("hello world").getOutcome());
+        }
+
+        assertEquals(0, ruleStage.calls.get());
+        assertEquals(0, levenshteinStage.calls.get());
+    }
+
+    @Test
+    void parallelModeDoesNotForkStagesThatFastDecisionsSkip() {
+        StatelessStage ruleStage = new StatelessStage("RuleStage", 0L, 2);
+        StatelessStage levenshteinStage = new StatelessStage("LevenshteinStage", 0L, 3);
+        PipelineEngine engine = new PipelineEngine(List.of(
+            new RecordingStage("BehaviorStage", null, (name, message) -> StageResult.score(name, 10, "behavior")),
+            ruleStage,
+            levenshteinStage
+        ), 5, true, true);
+
+        PipelineDecision decision = engine.evaluate("hello world");
+
+        assertEquals(PipelineDecision.Outcome.REVIEW, decision.getOutcome());
+        assertEquals(List.of("RuleStage", "LevenshteinStage"), decision.getSkippedStages());
+        assertEquals(0, ruleStage.calls.get());
+        assertEquals(0, levenshteinStage.calls.get());
+    }
+
+    @Test
+    void closeClosesEveryStage() {
+        List<String> closed = new ArrayList<>();
+        PipelineEngine engine = new PipelineEngine(List.of(
+            new RecordingStage("RuleStage", null, (name, message) -> StageResult.pass(name)) {
+                @Override
+                public void close() {
+                    closed.add(name());
+                }
+            },
+            new RecordingStage("ContextStage", null, (name, message) -> StageResult.pass(name)) {
+                @Override
+                public void close() {
+                    closed.add(name());
+                }
+            }
+        ));
+
+        engine.close();
+
+        assertEquals(List.of("RuleStage", "ContextStage"), closed);
+    }
+
+    @Test
+    void fastDecisionsSkipSkippableStagesOnceReviewIsCertain() {
+        List<String> callOrder = new ArrayList<>();
+        PipelineEngine engine = new PipelineEngine(List.of(
+            new BoundedStage("RuleStage", callOrder, 10, true, 6),
+            new BoundedStage("BehaviorStage", callOrder, 1, false, 0),
+            new BoundedStage("LevenshteinStage", callOrder, 10, true, 10)
+        ), 5, false, true);
+
+        PipelineDecision decision = engine.evaluate("hello world");
+
+        assertEquals(List.of("RuleStage", "BehaviorStage"), callOrder);
+        assertEquals(PipelineDecision.Outcome.REVIEW, decision.getOutcome());
+        assertEquals(6, decision.getTotalScore());
+        assertTrue(decision.isFastDecision());
+        assertEquals(List.of("LevenshteinStage"), decision.getSkippedStages());
+    }
+
+    @Test
+    void fastDecisionsSkipWhenThresholdIsOutOfReach() {
+        List<String> callOrder = new ArrayList<>();
+        PipelineEngine engine = new PipelineEngine(List.of(
+            new BoundedStage("RuleStage", callOrder, 3, true, 0),
+            new BoundedStage("LevenshteinStage", callOrder, 4, true, 1),
+            new BoundedStage("ContextStage", callOrder, 2, true, 2)
+        ), 5, false, true);
+
+        PipelineDecision decision = engine.evaluate("hello world");
+        List<PipelineDecision> batch = engine.evaluateAll(List.of(ChatEvent.messageOnly("hello world")));
+
+        // 0 + 4 + 2 could still reach 5 before the similarity stage, but 1 + 2 cannot after it ran.
+        assertEquals(List.of("RuleStage", "LevenshteinStage", "RuleStage", "LevenshteinStage"), callOrder);
+        assertEquals(PipelineDecision.Outcome.IGNORE, decision.getOutcome());
+        assertEquals(List.of("ContextStage"), decision.getSkippedStages());
+        assertEquals(decision.getSkippedStages(), batch.get(0).getSkippedStages());
+        assertEquals(decision.getTotalScore(), batch.get(0).getTotalScore());
+    }
+
+    @Test
+    void fastDecisionsNeverSkipPastUnboundedStages() {
+        List<String> callOrder = new ArrayList<>();
+        PipelineEngine engine = new PipelineEngine(List.of(
+            new BoundedStage("RuleStage", callOrder, 10, true, 10),
+            new BoundedStage("LevenshteinStage", callOrder, 10, true, 0),
+            new RecordingStage("AddonStage", callOrder, (name, message) -> StageResult.allow(name, "addon"))
+        ), 5, false, true);
+
+        PipelineDecision decision = engine.evaluate("hello world");
+
+        assertEquals(List.of("RuleStage", "LevenshteinStage", "AddonStage"), callOrder);
+        assertEquals(PipelineDecision.Outcome.ALLOW, decision.getOutcome());
+        assertFalse(decision.isFastDecision());
+    }
+
+    @Test
+    void batchStagesMustReturnOneResultPerEvent() {
+        Stage truncating = new RecordingStage("RuleStage", null, (name, message) -> StageResult.score(name, 1, "rule-hit")) {
+            @Override
+            protected List<StageResult> evaluateAll(List<ChatEvent> chatEvents) {
+                return super.evaluateAll(chatEvents).subList(0, chatEvents.size() - 1);
+            }
+        };
+        PipelineEngine engine = new PipelineEngine(List.of(truncating), 5);
+        List<ChatEvent> batch = List.of(ChatEvent.messageOnly("first"), ChatEvent.messageOnly(""), ChatEvent.messageOnly("second"));
+
+        assertThrows(IllegalStateException.class, () -> truncating.applyAll(batch));
+        assertThrows(IllegalStateException.class, () -> engine.evaluateAll(batch));
+    }
+
     @FunctionalInterface
     private interface ResultFactory {
         StageResult create(String stageName, String message);
     }
 
-    private static final class RecordingStage extends Stage {
+    private static class RecordingStage extends Stage {
         private final String stageName;
         private final List<String> callOrder;
         private final ResultFactory resultFactory;
@@ -143,4 +348,84 @@ class PipelineEngineTest {
             return resultFactory.create(stageName, chatEvent == null ? "" : chatEvent.getRawMessage());
         }
     }
+
+    private static final class StatelessStage extends Stage {
+        private final String stageName;
+        private final long delayMs;
+        private final int score;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private StatelessStage(String stageName, long delayMs, int score) {
+            this.stageName = stageName;
+            this.delayMs = delayMs;
+            this.score = score;
+        }
+
+        @Override
+        public String name() {
+            return stageName;
+        }
+
+        @Override
+        public boolean isStateless() {
+            return true;
+        }
+
+        @Override
+        public int maxScoreDelta() {
+            return score;
+        }
+
+        @Override
+        protected StageResult evaluate(ChatEvent chatEvent) {
+            calls.incrementAndGet();
+            if (delayMs > 0L) {
+                try {
+                    // Finish later than the following stateless stage to prove the merge ignores timing.
+                    Thread.sleep(delayMs);
+                } catch (InterruptedException ignored) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            return StageResult.score(stageName, score, stageName);
+        }
+    }
+
+    private static final class BoundedStage extends Stage {
+        private final String stageName;
+        private final List<String> callOrder;
+        private final int maxScoreDelta;
+        private final boolean skippable;
+        private final int score;
+
+        private BoundedStage(String stageName, List<String> callOrder, int maxScoreDelta, boolean skippable, int score) {
+            this.stageName = stageName;
+            this.callOrder = callOrder;
+            this.maxScoreDelta = maxScoreDelta;
+            this.skippable = skippable;
+            this.score = score;
+        }
+
+        @Override
+        public String name() {
+            return stageName;
+        }
+
+        @Override
+        public int maxScoreDelta() {
+            return maxScoreDelta;
+        }
+
+        @Override
+        public boolean isSkippable() {
+            return skippable;
+        }
+
+        @Override
+        protected StageResult evaluate(ChatEvent chatEvent) {
+            callOrder.add(stageName);
+            return score > 0 ? StageResult.score(stageName, score, stageName) : StageResult.pass(stageName);
+        }
+    }
 }
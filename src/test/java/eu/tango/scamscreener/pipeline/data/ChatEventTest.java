@@ -0,0 +1,49 @@
+package eu.tango.scamscreener.pipeline.data;
+
+import eu.tango.scamscreener.pipeline.rule.TokenView;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChatEventTest {
+    @Test
+    void exposesNormalizedForms() {
+        ChatEvent event = new ChatEvent("  Add Me On D1sc0rd  ", null, "Alpha", 1_000L, ChatSourceType.PLAYER);
+
+        assertEquals("add me on d1sc0rd", event.getNormalizedMessage());
+        assertEquals("add me on discord", event.getSimilarityMessage());
+        assertNotEquals(0L, event.getMessageFingerprint());
+        assertEquals("add me on d1sc0rd", event.getSignalMemo().text());
+
+        TokenView tokens = event.loadSimilarityTokens(new TokenView());
+        assertEquals(4, tokens.count());
+        assertTrue(tokens.tokenEquals(3, "discord"));
+    }
+
+    @Test
+    void reclassifiedEventSharesTheNormalizedText() {
+        UUID senderUuid = UUID.randomUUID();
+        ChatEvent inbound = new ChatEvent("free coins", senderUuid, "Alpha", 1_000L, ChatSourceType.UNKNOWN);
+
+        ChatEvent player = inbound.withSourceType(ChatSourceType.PLAYER);
+
+        assertTrue(player.isPlayerSource());
+        assertEquals(senderUuid.toString(), player.getSenderKey());
+        assertEquals(1_000L, player.getTimestampMs());
+        assertSame(inbound.getSignalMemo(), player.getSignalMemo());
+        assertSame(inbound.getSimilarityMessage(), player.getSimilarityMessage());
+    }
+
+    @Test
+    void systemReclassificationDropsTheSenderKey() {
+        ChatEvent event = new ChatEvent("hello", null, "Alpha", 1_000L, ChatSourceType.PLAYER);
+
+        assertEquals("", event.withSourceType(ChatSourceType.SYSTEM).getSenderKey());
+        assertEquals("alpha", event.getSenderKey());
+    }
+}
@@ -0,0 +1,49 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EditDistancePatternTest {
+    @Test
+    void computesExactDistancesForShortPhrases() {
+        EditDistancePattern pattern = EditDistancePattern.compile("add me on discord");
+
+        assertEquals(0, pattern.distance("add me on discord", 100));
+        assertEquals(1, pattern.distance("add me on disc0rd", 100));
+        assertEquals(3, pattern.distance("ad me on disc0rd!", 100));
+        assertEquals(17, pattern.distance("", 100));
+        assertEquals(1, EditDistancePattern.compile("kitten").distance("kittän", 100));
+    }
+
+    @Test
+    void handlesPhrasesAtTheSixtyFourCharacterBoundary() {
+        String phrase = "a".repeat(63) + "b";
+        EditDistancePattern pattern = EditDistancePattern.compile(phrase);
+
+        assertEquals(0, pattern.distance(phrase, 100));
+        assertEquals(1, pattern.distance("a".repeat(64), 100));
+        assertEquals(64, pattern.distance("", 100));
+    }
+
+    @Test
+    void fallsBackToBandedDistanceForLongPhrases() {
+        String phrase = "please send the coins first and i will give you the item right after that trade";
+        EditDistancePattern pattern = EditDistancePattern.compile(phrase);
+
+        assertEquals(0, pattern.distance(phrase, 10));
+        assertEquals(2, pattern.distance(phrase.replace("coins", "c0ins").replace("item", "itam"), 10));
+        assertTrue(pattern.distance("completely unrelated text", 5) > 5);
+    }
+
+    @Test
+    void stopsEarlyOnceTheBoundIsExceeded() {
+        EditDistancePattern pattern = EditDistancePattern.compile("free coins");
+
+        int bounded = pattern.distance("zzzzzzzzzzzzzzzzzzzz", 2);
+
+        assertTrue(bounded > 2);
+        assertTrue(bounded <= pattern.distance("zzzzzzzzzzzzzzzzzzzz", 100));
+    }
+}
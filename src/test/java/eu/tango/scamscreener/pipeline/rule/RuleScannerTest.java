@@ -0,0 +1,95 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import eu.tango.scamscreener.config.data.RulesConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleScannerTest {
+    private static final List<String> CORPUS = List.of(
+        "add me on discord test#1234 and pay first for free rank right now",
+        "selling hyperion, pm me with offers",
+        "https://discord.gg/abc join for free coins",
+        "i have proof, trusted middleman here, send coins first",
+        "you will not get your items back unless you join vc",
+        "what is your microsoft account email and the 2fa code",
+        "gg wp",
+        "anyone want to party for dungeons?",
+        "trust me its legit, @scammer.guy on telegram",
+        "lf carry, paying 2m coins"
+    );
+
+    @Test
+    void extractsLiteralAnchorsForDefaultPatterns() {
+        RulesConfig.RuleStageSettings settings = new RulesConfig().ruleStage();
+
+        assertEquals(Set.of("#", "@"), PatternPrefilter.requiredLiterals(settings.getDiscordHandlePattern()));
+        assertTrue(PatternPrefilter.requiredLiterals(settings.getSuspiciousLinkPattern()).contains("https://"));
+        assertTrue(PatternPrefilter.requiredLiterals(settings.getUpfrontPaymentPattern()).contains("vorkasse"));
+        assertNotNull(PatternPrefilter.requiredLiterals(settings.getCoercionThreatPattern()));
+        assertEquals(Set.of("middleman"), PatternPrefilter.requiredLiterals(settings.getMiddlemanClaimPattern()));
+    }
+
+    @Test
+    void leavesUnsupportedPatternsUnfiltered() {
+        assertNull(PatternPrefilter.requiredLiterals("(?i)discord"));
+        assertNull(PatternPrefilter.requiredLiterals("\\p{L}+"));
+        assertNull(PatternPrefilter.requiredLiterals("a*b?"));
+    }
+
+    @Test
+    void matchesDirectRegexEvaluationForDefaultCatalog() {
+        RuleCatalog catalog = new RuleCatalog(new RulesConfig());
+        List<Rule> patternRules = List.of(
+            catalog.suspiciousLink(),
+            catalog.externalPlatform(),
+            catalog.upfrontPayment(),
+            catalog.accountData(),
+            catalog.tooGood(),
+            catalog.coercionThreat(),
+            catalog.urgencyAllowlist(),
+            catalog.tradeContextAllowlist(),
+            catalog.trustAllowlist(),
+            catalog.middleman(),
+            catalog.middlemanClaim(),
+            catalog.proofBait(),
+            catalog.trustSignal(),
+            catalog.discordHandle()
+        );
+
+        for (String message : CORPUS) {
+            RuleHits hits = catalog.scan(message);
+            for (Rule rule : patternRules) {
+                assertEquals(rule.firstPatternMatch(message), hits.firstMatch(rule), rule.id() + " on: " + message);
+            }
+        }
+    }
+
+    @Test
+    void evaluatesUnfilteredRulesOnEveryScan() {
+        Rule caseInsensitive = Rule.pattern("CASE", "(?i)DISCORD", 1);
+        Rule anchored = Rule.pattern("ANCHORED", "\\bfree\\s+coins\\b", 1);
+        RuleScanner scanner = new RuleScanner(List.of(caseInsensitive, anchored));
+
+        RuleHits hits = scanner.scan("join my discord for free   coins");
+
+        assertEquals("discord", hits.firstMatch(caseInsensitive));
+        assertEquals("free   coins", hits.firstMatch(anchored));
+        assertFalse(scanner.scan("nothing to see here").matches(anchored));
+    }
+
+    @Test
+    void fallsBackToDirectMatchingForUnregisteredRules() {
+        Rule unregistered = Rule.pattern("OTHER", "\\bvouch\\b", 1);
+        RuleHits hits = new RuleScanner(List.of()).scan("can you vouch for me");
+
+        assertEquals("vouch", hits.firstMatch(unregistered));
+    }
+}
@@ -0,0 +1,64 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import eu.tango.scamscreener.chat.RecentChatCache;
+import eu.tango.scamscreener.config.data.RulesConfig;
+import eu.tango.scamscreener.pipeline.data.ChatEvent;
+import eu.tango.scamscreener.pipeline.data.ChatSourceType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SignalMemoTest {
+    @Test
+    void computesSignalsOncePerCatalog() {
+        RuleCatalog catalog = new RuleCatalog(new RulesConfig());
+        ChatEvent event = new ChatEvent("Add me on Discord and pay first", null, "Alice", 1L, ChatSourceType.PLAYER);
+
+        MessageSignals first = catalog.signals(event.getSignalMemo());
+        MessageSignals second = catalog.signals(event.getSignalMemo());
+        MessageSignals reloaded = new RuleCatalog(new RulesConfig()).signals(event.getSignalMemo());
+
+        assertSame(first, second);
+        assertNotSame(first, reloaded);
+        assertEquals(first.mask(), reloaded.mask());
+        assertTrue(first.has(RuleSignal.EXTERNAL_PLATFORM));
+        assertTrue(first.has(RuleSignal.PAYMENT));
+        assertFalse(first.has(RuleSignal.ACCOUNT_DATA));
+    }
+
+    @Test
+    void matchesDirectRuleEvaluation() {
+        RuleCatalog catalog = new RuleCatalog(new RulesConfig());
+        String message = "trust me, send your 2fa code on discord or you will not get your items back";
+
+        MessageSignals signals = catalog.signals(message);
+
+        assertEquals(catalog.accountData().patternMatches(message), signals.has(RuleSignal.ACCOUNT_DATA));
+        assertEquals(catalog.externalPlatform().patternMatches(message), signals.has(RuleSignal.EXTERNAL_PLATFORM));
+        assertEquals(catalog.coercionThreat().patternMatches(message), signals.has(RuleSignal.THREAT));
+        assertEquals(catalog.trustSignal().patternMatches(message), signals.has(RuleSignal.TRUST_SIGNAL));
+        assertEquals(
+            catalog.trust().phraseMatch(message).score() >= catalog.trust().threshold(),
+            signals.has(RuleSignal.TRUST)
+        );
+        assertEquals(0, catalog.signals("   ").mask());
+    }
+
+    @Test
+    void recentChatCacheSharesTheEventMemo() {
+        RecentChatCache cache = new RecentChatCache();
+        ChatEvent event = new ChatEvent("  Pay First please ", null, "Alice", 1L, ChatSourceType.PLAYER);
+        ChatEvent multiLine = new ChatEvent("pay\nfirst", null, "Alice", 2L, ChatSourceType.PLAYER);
+
+        cache.record(event);
+        cache.record(multiLine);
+
+        assertSame(event.getSignalMemo(), cache.entries().get(1).signalMemo());
+        assertNotSame(multiLine.getSignalMemo(), cache.entries().get(0).signalMemo());
+        assertEquals("pay first", cache.entries().get(0).signalMemo().text());
+    }
+}
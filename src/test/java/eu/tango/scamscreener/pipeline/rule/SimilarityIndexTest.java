@@ -0,0 +1,42 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import eu.tango.scamscreener.config.data.RulesConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimilarityIndexTest {
+    @Test
+    void keepsFuzzyVariantsAsCandidates() {
+        RuleCatalog catalog = new RuleCatalog(new RulesConfig());
+
+        List<SimilarityRule> candidates = catalog.similarityCandidates("if you want pleaze add me on discord later");
+
+        assertTrue(candidates.stream().anyMatch(rule -> rule.normalizedPhrase().equals("add me on discord")));
+    }
+
+    @Test
+    void prunesPhrasesWithoutEnoughSharedBigrams() {
+        SimilarityRule discord = new SimilarityRule("SIM_EXTERNAL_PLATFORM", "add me on discord", "add me on discord", 10, 0.8, 4);
+        SimilarityRule coins = new SimilarityRule("SIM_TOO_GOOD", "free coins", "free coins", 8, 0.8, 2);
+        SimilarityIndex index = new SimilarityIndex(List.of(discord, coins));
+
+        assertEquals(List.of(coins), index.candidates("anyone want free coins"));
+        assertTrue(index.candidates("gg wp").isEmpty());
+    }
+
+    @Test
+    void keepsCatalogOrderAndUnfilterableRules() {
+        SimilarityRule loose = new SimilarityRule("LOOSE", "xyz", "xyz", 1, 0.0, 1);
+        SimilarityRule strict = new SimilarityRule("STRICT", "trusted middleman", "trusted middleman", 1, 0.8, 2);
+        SimilarityIndex index = new SimilarityIndex(List.of(strict, loose));
+
+        assertEquals(List.of(strict, loose), index.candidates("trustet midleman here"));
+        assertEquals(List.of(loose), index.candidates("hello"));
+        assertFalse(index.candidates("").contains(loose));
+    }
+}
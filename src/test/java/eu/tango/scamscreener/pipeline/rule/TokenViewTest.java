@@ -0,0 +1,46 @@
+package eu.tango.scamscreener.pipeline.rule;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenViewTest {
+    @Test
+    void exposesWhitespaceTokensAndWindowsInPlace() {
+        TokenView tokens = new TokenView().splitOnWhitespace("add me on discord");
+
+        assertEquals(4, tokens.count());
+        assertTrue(tokens.singleSpaced());
+        assertTrue(tokens.tokenEquals(3, "discord"));
+        assertEquals("me on", tokens.window(1, 2).toString());
+        assertFalse(new TokenView().splitOnWhitespace("add  me").singleSpaced());
+    }
+
+    @Test
+    void splitsOnNonAlphanumericRuns() {
+        TokenView tokens = new TokenView().splitOnNonAlphanumeric("trust me,  i'm legit!!");
+
+        assertEquals(5, tokens.count());
+        assertTrue(tokens.containsSequence(new String[] { "trust", "me" }));
+        assertTrue(tokens.containsSequence(new String[] { "m", "legit" }));
+        assertFalse(tokens.containsSequence(new String[] { "me", "trust" }));
+    }
+
+    @Test
+    void phraseMatchKeepsKeywordAndPhraseScoring() {
+        Rule rule = Rule.phrase("TRUST", List.of("legit", "trust"), List.of("trust me", "it's legit"), 1, 2);
+
+        Rule.PhraseScore score = rule.phraseMatch("Trust me, its legit and legit");
+        Rule.PhraseScore none = rule.phraseMatch("gg wp");
+
+        assertEquals(5, score.score());
+        assertEquals("trust me", score.match());
+        assertEquals(0, none.score());
+        assertSame(none, rule.phraseMatch("nothing here"));
+    }
+}
@@ -0,0 +1,87 @@
+package eu.tango.scamscreener.pipeline.stage;
+
+import eu.tango.scamscreener.chat.RecentChatCache;
+import eu.tango.scamscreener.config.data.RulesConfig;
+import eu.tango.scamscreener.pipeline.data.ChatEvent;
+import eu.tango.scamscreener.pipeline.data.ChatSourceType;
+import eu.tango.scamscreener.pipeline.data.StageResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContextStageTest {
+    @Test
+    void scoresSignalBlendAcrossRecentSenderMessages() {
+        RecentChatCache cache = new RecentChatCache();
+        ContextStage stage = new ContextStage(cache);
+
+        StageResult first = record(cache, stage, "trust me", 1_000L);
+        StageResult second = record(cache, stage, "add me on discord", 2_000L);
+
+        assertEquals(0, first.getScoreDelta());
+        assertTrue(second.getScoreDelta() > 0);
+        assertTrue(second.getReason().startsWith("Context signal blend: "));
+    }
+
+    @Test
+    void signalsLeaveTheBlendOnceOutsideTheContextWindow() {
+        RecentChatCache cache = new RecentChatCache();
+        RulesConfig rulesConfig = new RulesConfig();
+        rulesConfig.contextStage().setMaxContextMessages(2);
+        ContextStage stage = new ContextStage(cache, rulesConfig);
+
+        record(cache, stage, "trust me", 1_000L);
+        assertTrue(record(cache, stage, "add me on discord", 2_000L).getScoreDelta() > 0);
+        record(cache, stage, "hello there", 3_000L);
+
+        assertEquals(0, record(cache, stage, "how are you", 4_000L).getScoreDelta());
+    }
+
+    @Test
+    void rebuildsTheBlendWhenAnotherStageTookOverTheCache() {
+        RecentChatCache cache = new RecentChatCache();
+        ContextStage stage = new ContextStage(cache);
+        record(cache, stage, "trust me", 1_000L);
+
+        new ContextStage(cache);
+        StageResult result = record(cache, stage, "add me on discord", 2_000L);
+
+        assertTrue(result.getScoreDelta() > 0);
+    }
+
+    @Test
+    void tracksNoSignalWindowWhileDisabled() {
+        RecentChatCache cache = new RecentChatCache();
+        RulesConfig rulesConfig = new RulesConfig();
+        rulesConfig.setContextStageEnabled(false);
+        ContextStage stage = new ContextStage(cache, rulesConfig);
+
+        record(cache, stage, "trust me", 1_000L);
+        record(cache, stage, "add me on discord", 2_000L);
+
+        assertEquals(0, cache.trackedSignalWindowCount());
+    }
+
+    @Test
+    void closeReleasesTheSignalWindow() {
+        RecentChatCache cache = new RecentChatCache();
+        ContextStage stage = new ContextStage(cache);
+        assertEquals(0, cache.trackedSignalWindowCount());
+
+        record(cache, stage, "trust me", 1_000L);
+        assertEquals(1, cache.trackedSignalWindowCount());
+
+        stage.close();
+        StageResult afterClose = record(cache, stage, "add me on discord", 2_000L);
+
+        assertEquals(0, cache.trackedSignalWindowCount());
+        assertEquals(0, afterClose.getScoreDelta());
+    }
+
+    private static StageResult record(RecentChatCache cache, ContextStage stage, String message, long timestampMs) {
+        ChatEvent chatEvent = new ChatEvent(message, null, "Alpha", timestampMs, ChatSourceType.PLAYER);
+        cache.record(chatEvent);
+        return stage.apply(chatEvent);
+    }
+}
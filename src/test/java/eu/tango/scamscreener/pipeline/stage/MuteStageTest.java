@@ -1,5 +1,6 @@
 package eu.tango.scamscreener.pipeline.stage;
 
+import eu.tango.scamscreener.config.data.RulesConfig;
 import eu.tango.scamscreener.pipeline.core.PipelineEngine;
 import eu.tango.scamscreener.pipeline.core.Stage;
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
@@ -60,6 +61,39 @@ class MuteStageTest {
         assertEquals("MUTE_DUPLICATE_BYPASS", second.getReason());
     }
 
+    @Test
+    void duplicateCacheKeepsRecentlyRepeatedLinesAndExpiresOldOnes() {
+        RulesConfig rulesConfig = new RulesConfig();
+        rulesConfig.muteStage().setDuplicateCacheSize(3);
+        MuteStage stage = new MuteStage(rulesConfig);
+
+        stage.apply(unknownLine("Server restart soon", 1_000L));
+        for (int index = 0; index < 2; index++) {
+            stage.apply(unknownLine("Lobby notice " + index, 1_100L + index));
+        }
+        // Repeating the first line refreshes it, so the next new line evicts "Lobby notice 0" instead.
+        assertEquals(Stage.Decision.ALLOW, stage.apply(unknownLine("Server restart soon", 2_000L)).getDecision());
+        stage.apply(unknownLine("Lobby notice 2", 2_100L));
+
+        assertEquals(Stage.Decision.ALLOW, stage.apply(unknownLine("Server restart soon", 3_000L)).getDecision());
+        assertEquals(Stage.Decision.PASS, stage.apply(unknownLine("Lobby notice 0", 3_100L)).getDecision());
+        assertEquals(Stage.Decision.PASS, stage.apply(unknownLine("Server restart soon", 60_000L)).getDecision());
+    }
+
+    @Test
+    void symbolOnlyLinesAreStillDeduplicated() {
+        MuteStage stage = new MuteStage();
+
+        assertEquals(Stage.Decision.PASS, stage.apply(unknownLine("!!!!!", 1_000L)).getDecision());
+        assertEquals(Stage.Decision.ALLOW, stage.apply(unknownLine("!!!!!", 1_100L)).getDecision());
+        assertEquals(Stage.Decision.PASS, stage.apply(unknownLine("???", 1_200L)).getDecision());
+        assertEquals(Stage.Decision.ALLOW, stage.apply(unknownLine("???", 1_300L)).getDecision());
+    }
+
+    private static ChatEvent unknownLine(String message, long timestampMs) {
+        return new ChatEvent(message, null, "", timestampMs, ChatSourceType.UNKNOWN);
+    }
+
     private static final class TrackingStage extends Stage {
         private final AtomicBoolean called;
 
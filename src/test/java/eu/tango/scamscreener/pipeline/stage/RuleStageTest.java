@@ -1,13 +1,19 @@
 package eu.tango.scamscreener.pipeline.stage;
 
+import eu.tango.scamscreener.config.data.RulesConfig;
 import eu.tango.scamscreener.pipeline.core.Stage;
 import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.ChatSourceType;
 import eu.tango.scamscreener.pipeline.data.StageResult;
+import eu.tango.scamscreener.pipeline.rule.MessageSignals;
+import eu.tango.scamscreener.pipeline.rule.RuleCatalog;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class RuleStageTest {
@@ -29,6 +35,36 @@ class RuleStageTest {
         assertTrue(result.getReason().contains("Discord handle with platform mention"));
     }
 
+    @Test
+    void batchEvaluationReusesResultsForRepeatedLines() {
+        RuleStage stage = new RuleStage();
+        ChatEvent risky = ChatEvent.messageOnly("Add me on Discord test#1234 and pay first", ChatSourceType.PLAYER);
+        ChatEvent repeated = ChatEvent.messageOnly("add me on discord TEST#1234 and pay first", ChatSourceType.PLAYER);
+        ChatEvent benign = ChatEvent.messageOnly("gg wp", ChatSourceType.PLAYER);
+
+        List<StageResult> results = stage.applyAll(List.of(risky, benign, repeated, ChatEvent.messageOnly("")));
+
+        assertEquals(4, results.size());
+        assertEquals(stage.apply(risky).getScoreDelta(), results.get(0).getScoreDelta());
+        assertSame(results.get(0), results.get(2));
+        assertEquals(0, results.get(1).getScoreDelta());
+        assertEquals(Stage.Decision.PASS, results.get(3).getDecision());
+    }
+
+    @Test
+    void batchRepeatsCarryTheSignalsOfTheirFirstOccurrence() {
+        RuleCatalog catalog = new RuleCatalog(new RulesConfig());
+        RuleStage stage = new RuleStage(catalog);
+        ChatEvent first = ChatEvent.messageOnly("Add me on Discord test#1234 and pay first", ChatSourceType.PLAYER);
+        ChatEvent repeated = ChatEvent.messageOnly("add me on discord TEST#1234 and pay first", ChatSourceType.PLAYER);
+
+        stage.applyAll(List.of(first, repeated));
+
+        MessageSignals firstSignals = catalog.signals(first.getSignalMemo());
+        assertSame(firstSignals, catalog.signals(repeated.getSignalMemo()));
+        assertTrue(firstSignals.mask() != 0);
+    }
+
     @Test
     void ignoresPlainUrgencyWithoutOtherRiskSignals() {
         ChatEvent event = ChatEvent.messageOnly("I need this right now please", ChatSourceType.PLAYER);
@@ -127,4 +127,40 @@ class TrendStageTest {
         assertEquals(10, result.getScoreDelta());
         assertTrue(result.getReason().contains("Cross-sender repeat"));
     }
+
+    @Test
+    void detectsWavesWhereEachSenderChangesOneWordWhenNearDuplicatesAreEnabled() {
+        RulesConfig rulesConfig = new RulesConfig();
+        rulesConfig.trendStage().setNearDuplicateSimilarityPercent(60);
+        TrendStage stage = new TrendStage(new TrendStore(), rulesConfig);
+
+        stage.apply(new ChatEvent("quick, send 10m coins now or the offer is gone", UUID.randomUUID(), "Alpha", 1_000L, ChatSourceType.PLAYER));
+        stage.apply(new ChatEvent("quick, send 20m coins now or the offer is gone", UUID.randomUUID(), "Beta", 2_000L, ChatSourceType.PLAYER));
+        StageResult result = stage.apply(new ChatEvent(
+            "quick, send 30m coins now or the offer is gone",
+            UUID.randomUUID(),
+            "Gamma",
+            3_000L,
+            ChatSourceType.PLAYER
+        ));
+
+        assertEquals(Stage.Decision.PASS, result.getDecision());
+        assertTrue(result.getReason().contains("Trend wave"));
+    }
+
+    @Test
+    void nearDuplicateMatchingIsOffByDefault() {
+        TrendStage stage = new TrendStage(new TrendStore());
+
+        stage.apply(new ChatEvent("quick, send 10m coins now or the offer is gone", UUID.randomUUID(), "Alpha", 1_000L, ChatSourceType.PLAYER));
+        StageResult result = stage.apply(new ChatEvent(
+            "quick, send 20m coins now or the offer is gone",
+            UUID.randomUUID(),
+            "Beta",
+            2_000L,
+            ChatSourceType.PLAYER
+        ));
+
+        assertEquals(0, result.getScoreDelta());
+    }
 }
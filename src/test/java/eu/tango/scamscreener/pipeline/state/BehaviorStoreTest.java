@@ -4,9 +4,16 @@ import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.ChatSourceType;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class BehaviorStoreTest {
@@ -60,4 +67,153 @@ class BehaviorStoreTest {
         assertEquals(2, snapshot.recentMessageCount());
         assertEquals(2, snapshot.recentMessages().size());
     }
+
+    @Test
+    void snapshotMessagesStayStableWhenSenderKeepsTalking() {
+        BehaviorStore store = new BehaviorStore(90_000L, 2);
+        UUID senderUuid = UUID.randomUUID();
+        store.record(new ChatEvent("one", senderUuid, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("two", senderUuid, "Alpha", 2_000L, ChatSourceType.PLAYER));
+
+        BehaviorStore.BehaviorSnapshot snapshot = store.snapshotFor(
+            new ChatEvent("three", senderUuid, "Alpha", 3_000L, ChatSourceType.PLAYER)
+        );
+        store.record(new ChatEvent("three", senderUuid, "Alpha", 3_000L, ChatSourceType.PLAYER));
+
+        assertEquals(List.of("one", "two"), snapshot.recentMessages());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.recentMessages().add("four"));
+        assertEquals(List.of("two", "three"), store.snapshotFor(
+            new ChatEvent("four", senderUuid, "Alpha", 4_000L, ChatSourceType.PLAYER)
+        ).recentMessages());
+    }
+
+    @Test
+    void lookupsIgnoreExpiredHistoryWithoutDroppingIt() {
+        BehaviorStore store = new BehaviorStore(5_000L, 8);
+        UUID senderUuid = UUID.randomUUID();
+        store.record(new ChatEvent("hello", senderUuid, "Alpha", 1_000L, ChatSourceType.PLAYER));
+
+        BehaviorStore.BehaviorSnapshot snapshot = store.snapshotFor(
+            new ChatEvent("hello", senderUuid, "Alpha", 10_000L, ChatSourceType.PLAYER)
+        );
+
+        assertEquals(0, snapshot.recentMessageCount());
+        assertEquals(1, store.trackedSenderCount());
+
+        store.record(new ChatEvent("hi", UUID.randomUUID(), "Beta", 10_000L, ChatSourceType.PLAYER));
+        assertEquals(1, store.trackedSenderCount());
+    }
+
+    @Test
+    void concurrentSendersKeepTheirOwnHistory() throws Exception {
+        BehaviorStore store = new BehaviorStore(90_000L, 8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int sender = 0; sender < 16; sender++) {
+                String senderName = "Sender" + sender;
+                futures.add(executor.submit(() -> {
+                    for (int index = 0; index < 500; index++) {
+                        ChatEvent chatEvent = new ChatEvent("spam", null, senderName, 1_000L + index, ChatSourceType.PLAYER);
+                        store.snapshotFor(chatEvent);
+                        store.record(chatEvent);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(16, store.trackedSenderCount());
+        assertEquals(16 * 8, store.trackedMessageCount());
+        BehaviorStore.BehaviorSnapshot snapshot = store.snapshotFor(
+            new ChatEvent("spam", null, "Sender3", 2_000L, ChatSourceType.PLAYER)
+        );
+        assertEquals(8, snapshot.sameMessageCount());
+    }
+
+    @Test
+    void idleSendersAreSweptWhenOthersRecord() {
+        BehaviorStore store = new BehaviorStore(5_000L, 8, 100);
+        for (int sender = 0; sender < 50; sender++) {
+            store.record(new ChatEvent("hello", null, "Idle" + sender, 1_000L + sender, ChatSourceType.PLAYER));
+        }
+
+        store.record(new ChatEvent("hello", null, "Active", 20_000L, ChatSourceType.PLAYER));
+
+        assertEquals(1, store.trackedSenderCount());
+        assertEquals(1, store.trackedMessageCount());
+        assertEquals(50, store.idleEvictionCount());
+        assertEquals(0, store.capacityEvictionCount());
+    }
+
+    @Test
+    void senderCapEvictsLeastRecentlyActiveSender() {
+        BehaviorStore store = new BehaviorStore(90_000L, 8, 2);
+        store.record(new ChatEvent("one", null, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("two", null, "Beta", 2_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("three", null, "Alpha", 3_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("four", null, "Gamma", 4_000L, ChatSourceType.PLAYER));
+
+        assertEquals(2, store.trackedSenderCount());
+        assertEquals(1, store.capacityEvictionCount());
+        assertEquals(0, store.snapshotFor(new ChatEvent("five", null, "Beta", 5_000L, ChatSourceType.PLAYER)).recentMessageCount());
+        assertEquals(2, store.snapshotFor(new ChatEvent("five", null, "Alpha", 5_000L, ChatSourceType.PLAYER)).recentMessageCount());
+    }
+
+    @Test
+    void sameMessageCountMatchesOnTheMessageFingerprint() {
+        BehaviorStore store = new BehaviorStore();
+        UUID senderUuid = UUID.randomUUID();
+        store.record(new ChatEvent("Add me on Discord!!", senderUuid, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("add me on discord", senderUuid, "Alpha", 2_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("add me on skype", senderUuid, "Alpha", 3_000L, ChatSourceType.PLAYER));
+
+        BehaviorStore.BehaviorSnapshot snapshot = store.snapshotFor(
+            new ChatEvent("add me on discord.", senderUuid, "Alpha", 4_000L, ChatSourceType.PLAYER)
+        );
+
+        assertEquals(3, snapshot.recentMessageCount());
+        assertEquals(2, snapshot.sameMessageCount());
+    }
+
+    @Test
+    void warmStateRoundTripDropsRecordsThatLeftTheWindow() {
+        BehaviorStore source = new BehaviorStore(10_000L, 10);
+        UUID senderUuid = UUID.randomUUID();
+        source.record(new ChatEvent("old", senderUuid, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        source.record(new ChatEvent("recent", senderUuid, "Alpha", 5_000L, ChatSourceType.PLAYER));
+        WarmStateCodec.Writer writer = new WarmStateCodec.Writer();
+        source.writeState(writer);
+
+        BehaviorStore restored = new BehaviorStore(10_000L, 10);
+        restored.readState(new WarmStateCodec.Reader(ByteBuffer.wrap(writer.toByteArray())), 12_000L);
+        BehaviorStore.BehaviorSnapshot snapshot = restored.snapshotFor(
+            new ChatEvent("recent", senderUuid, "Alpha", 12_000L, ChatSourceType.PLAYER)
+        );
+
+        assertEquals(1, restored.trackedSenderCount());
+        assertEquals(List.of("recent"), snapshot.recentMessages());
+        assertEquals(1, snapshot.sameMessageCount());
+    }
+
+    @Test
+    void malformedWarmStateLeavesHistoryUntouched() {
+        BehaviorStore store = new BehaviorStore(90_000L, 10);
+        store.record(new ChatEvent("hello", null, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        WarmStateCodec.Writer writer = new WarmStateCodec.Writer();
+        store.writeState(writer);
+        byte[] encoded = writer.toByteArray();
+        ByteBuffer truncated = ByteBuffer.wrap(encoded, 0, encoded.length - 3).slice();
+
+        BehaviorStore target = new BehaviorStore(90_000L, 10);
+        target.record(new ChatEvent("kept", null, "Beta", 2_000L, ChatSourceType.PLAYER));
+
+        assertThrows(IllegalStateException.class, () -> target.readState(new WarmStateCodec.Reader(truncated), 3_000L));
+        assertEquals(1, target.trackedSenderCount());
+        assertEquals(1, target.snapshotFor(new ChatEvent("x", null, "Beta", 3_000L, ChatSourceType.PLAYER)).recentMessageCount());
+    }
 }
@@ -4,6 +4,7 @@ import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.ChatSourceType;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -66,4 +67,57 @@ class FunnelStoreTest {
         assertEquals(2, snapshot.recentSteps().size());
         assertEquals(2, snapshot.evidences().size());
     }
+
+    @Test
+    void idleSendersAreSweptWhenOthersRecord() {
+        FunnelStore store = new FunnelStore(5_000L, 8, 100);
+        for (int sender = 0; sender < 50; sender++) {
+            store.record(new ChatEvent("hello", null, "Idle" + sender, 1_000L + sender, ChatSourceType.PLAYER));
+        }
+
+        store.record(new ChatEvent("hello", null, "Active", 20_000L, ChatSourceType.PLAYER));
+
+        assertEquals(1, store.trackedSenderCount());
+        assertEquals(1, store.trackedStepCount());
+        assertEquals(50, store.idleEvictionCount());
+        assertEquals(0, store.capacityEvictionCount());
+    }
+
+    @Test
+    void senderCapEvictsLeastRecentlyActiveSender() {
+        FunnelStore store = new FunnelStore(90_000L, 8, 2);
+        store.record(new ChatEvent("one", null, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("two", null, "Beta", 2_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("three", null, "Alpha", 3_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("four", null, "Gamma", 4_000L, ChatSourceType.PLAYER));
+
+        assertEquals(2, store.trackedSenderCount());
+        assertEquals(1, store.capacityEvictionCount());
+        assertEquals(0, store.snapshotFor(new ChatEvent("five", null, "Beta", 5_000L, ChatSourceType.PLAYER)).recentSteps().size());
+        assertEquals(2, store.snapshotFor(new ChatEvent("five", null, "Alpha", 5_000L, ChatSourceType.PLAYER)).recentSteps().size());
+    }
+
+    @Test
+    void warmStateRoundTripRestoresStepsInsideTheWindow() {
+        FunnelStore source = new FunnelStore(10_000L, 8);
+        UUID senderUuid = UUID.randomUUID();
+        source.record(new ChatEvent("hi", senderUuid, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        source.recordStep(
+            new ChatEvent("pay first", senderUuid, "Alpha", 6_000L, ChatSourceType.PLAYER),
+            FunnelStore.FunnelStep.PAYMENT,
+            "pay first"
+        );
+        WarmStateCodec.Writer writer = new WarmStateCodec.Writer();
+        source.writeState(writer);
+
+        FunnelStore restored = new FunnelStore(10_000L, 8);
+        restored.readState(new WarmStateCodec.Reader(ByteBuffer.wrap(writer.toByteArray())), 12_000L);
+        FunnelStore.FunnelSnapshot snapshot = restored.snapshotFor(
+            new ChatEvent("later", senderUuid, "Alpha", 12_000L, ChatSourceType.PLAYER)
+        );
+
+        assertEquals(1, restored.trackedStepCount());
+        assertEquals(FunnelStore.FunnelStep.PAYMENT, snapshot.recentSteps().get(0));
+        assertEquals("pay first", snapshot.evidences().get(0));
+    }
 }
@@ -4,6 +4,7 @@ import eu.tango.scamscreener.pipeline.data.ChatEvent;
 import eu.tango.scamscreener.pipeline.data.ChatSourceType;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -59,4 +60,112 @@ class TrendStoreTest {
         assertEquals(2, snapshot.matchingMessageCount());
         assertEquals(2, snapshot.distinctSenderCount());
     }
+
+    @Test
+    void countsFollowTheRingAsOldRecordsAreOverwritten() {
+        TrendStore store = new TrendStore(120_000L, 3);
+        for (int index = 0; index < 10; index++) {
+            store.record(new ChatEvent("filler " + index, null, "Filler" + index, 1_000L + index, ChatSourceType.PLAYER));
+        }
+        store.record(new ChatEvent("add me on discord", null, "Alpha", 2_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("add me on discord", null, "Beta", 2_001L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("add me on discord", null, "Alpha", 2_002L, ChatSourceType.PLAYER));
+
+        TrendStore.TrendSnapshot snapshot = store.snapshotFor(
+            new ChatEvent("add me on discord", null, "Gamma", 2_003L, ChatSourceType.PLAYER)
+        );
+        assertEquals(3, store.trackedMessageCount());
+        assertEquals(3, snapshot.matchingMessageCount());
+        assertEquals(2, snapshot.distinctSenderCount());
+
+        store.record(new ChatEvent("something else", null, "Delta", 2_004L, ChatSourceType.PLAYER));
+        snapshot = store.snapshotFor(new ChatEvent("add me on discord", null, "Beta", 2_005L, ChatSourceType.PLAYER));
+        assertEquals(1, snapshot.matchingMessageCount());
+        assertEquals(1, snapshot.distinctSenderCount());
+    }
+
+    @Test
+    void configureShrinksTheRingToTheNewestRecords() {
+        TrendStore store = new TrendStore(120_000L, 10);
+        store.record(new ChatEvent("free coins", null, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("free coins", null, "Beta", 2_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("free coins", null, "Gamma", 3_000L, ChatSourceType.PLAYER));
+
+        store.configure(120_000L, 2);
+        TrendStore.TrendSnapshot snapshot = store.snapshotFor(
+            new ChatEvent("free coins", null, "Delta", 4_000L, ChatSourceType.PLAYER)
+        );
+
+        assertEquals(2, store.trackedMessageCount());
+        assertEquals(2, snapshot.distinctSenderCount());
+        assertEquals(1, store.snapshotFor(
+            new ChatEvent("free coins", null, "Beta", 4_000L, ChatSourceType.PLAYER)
+        ).distinctSenderCount());
+    }
+
+    @Test
+    void nearDuplicateMatchingCountsSendersWhoChangedOneWord() {
+        TrendStore store = new TrendStore(120_000L, 200);
+        store.configure(120_000L, 200, 60);
+        store.record(new ChatEvent("join my discord server for free coins discord.gg/abc123", null, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("join my discord server for cheap coins discord.gg/abc123", null, "Beta", 2_000L, ChatSourceType.PLAYER));
+        store.record(new ChatEvent("anyone doing f7 carries later?", null, "Gamma", 3_000L, ChatSourceType.PLAYER));
+
+        TrendStore.TrendSnapshot snapshot = store.snapshotFor(
+            new ChatEvent("join my discord server for fast coins discord.gg/abc123", null, "Delta", 4_000L, ChatSourceType.PLAYER)
+        );
+
+        assertEquals(2, snapshot.matchingMessageCount());
+        assertEquals(2, snapshot.distinctSenderCount());
+    }
+
+    @Test
+    void exactMatchingStaysTheDefault() {
+        TrendStore store = new TrendStore();
+        store.record(new ChatEvent("join my discord server for free coins", null, "Alpha", 1_000L, ChatSourceType.PLAYER));
+
+        TrendStore.TrendSnapshot snapshot = store.snapshotFor(
+            new ChatEvent("join my discord server for cheap coins", null, "Beta", 2_000L, ChatSourceType.PLAYER)
+        );
+
+        assertFalse(snapshot.hasTrend());
+    }
+
+    @Test
+    void warmStateRoundTripKeepsNearDuplicateSignatures() {
+        TrendStore source = new TrendStore(120_000L, 200);
+        source.configure(120_000L, 200, 60);
+        source.record(new ChatEvent("join my discord server for free coins discord.gg/abc123", null, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        source.record(new ChatEvent("join my discord server for cheap coins discord.gg/abc123", null, "Beta", 2_000L, ChatSourceType.PLAYER));
+        WarmStateCodec.Writer writer = new WarmStateCodec.Writer();
+        source.writeState(writer);
+
+        TrendStore restored = new TrendStore(120_000L, 200);
+        restored.configure(120_000L, 200, 60);
+        restored.readState(new WarmStateCodec.Reader(ByteBuffer.wrap(writer.toByteArray())), 3_000L);
+        TrendStore.TrendSnapshot snapshot = restored.snapshotFor(
+            new ChatEvent("join my discord server for fast coins discord.gg/abc123", null, "Delta", 4_000L, ChatSourceType.PLAYER)
+        );
+
+        assertEquals(2, restored.trackedMessageCount());
+        assertEquals(2, snapshot.matchingMessageCount());
+        assertEquals(2, snapshot.distinctSenderCount());
+    }
+
+    @Test
+    void warmStateLoadDropsRecordsOutsideTheWindow() {
+        TrendStore source = new TrendStore(10_000L, 50);
+        source.record(new ChatEvent("free coins", null, "Alpha", 1_000L, ChatSourceType.PLAYER));
+        source.record(new ChatEvent("free coins", null, "Beta", 8_000L, ChatSourceType.PLAYER));
+        WarmStateCodec.Writer writer = new WarmStateCodec.Writer();
+        source.writeState(writer);
+
+        TrendStore restored = new TrendStore(10_000L, 50);
+        restored.readState(new WarmStateCodec.Reader(ByteBuffer.wrap(writer.toByteArray())), 15_000L);
+
+        assertEquals(1, restored.trackedMessageCount());
+        assertEquals(1, restored.snapshotFor(
+            new ChatEvent("free coins", null, "Gamma", 15_000L, ChatSourceType.PLAYER)
+        ).matchingMessageCount());
+    }
 }
@@ -2,6 +2,7 @@ plugins {
     id("dev.kikugie.stonecutter")
     id("net.fabricmc.fabric-loom") version "1.15.5" apply false
     id("me.modmuss50.mod-publish-plugin") version "1.0.+" apply false
+    id("me.champeau.jmh") version "0.7.3" apply false
 }
 
 stonecutter active "26.1"